@@ -0,0 +1,113 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.Move;
+import com.webcheckers.model.MoveValidator;
+import com.webcheckers.model.Player;
+import com.webcheckers.model.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of playing and replaying a game
+ *
+ * @author Chris Piccoli
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLobbyBenchmark {
+    // the opening of a game with captures and a crowning, red and white taking turns, each move from the side of the
+    // player making it; red's last turn jumps three pieces. Nobody has won by the end, so playing it never saves a
+    // replay.
+    private static final List<List<Move>> TURNS = takingTurns(List.of(
+            List.of(move(5, 6, 4, 7)), List.of(move(2, 1, 3, 0)), List.of(move(5, 0, 4, 1)),
+            List.of(move(2, 5, 3, 4)), List.of(move(6, 5, 5, 6)), List.of(move(1, 4, 2, 5)),
+            List.of(move(7, 4, 6, 5)), List.of(move(0, 3, 1, 4)), List.of(move(6, 1, 5, 0)),
+            List.of(move(2, 5, 3, 6)), List.of(move(4, 7, 2, 5), move(2, 5, 0, 3), move(0, 3, 2, 1))));
+
+    private final Player red = new Player("red");
+    private final Player white = new Player("white");
+
+    private GameLobby played;
+    private GameReplay replay;
+
+    @Setup
+    public void setup() {
+        played = playGame();
+        replay = new GameReplay(played);
+    }
+
+    private static Move move(int startRow, int startCell, int endRow, int endCell) {
+        return new Move(new Position(startRow, startCell), new Position(endRow, endCell));
+    }
+
+    /**
+     * Turns a game written from red's side into the moves each player sends, white's seen from white's side
+     */
+    private static List<List<Move>> takingTurns(List<List<Move>> fromRed) {
+        List<List<Move>> turns = new ArrayList<>(fromRed.size());
+        for (int i = 0; i < fromRed.size(); i++) {
+            List<Move> turn = fromRed.get(i);
+            if (i % 2 == 1) {
+                List<Move> reflected = new ArrayList<>(turn.size());
+                for (Move move : turn)
+                    reflected.add(move.reflect());
+                turn = reflected;
+            }
+            turns.add(turn);
+        }
+        return turns;
+    }
+
+    /**
+     * Plays the game on a new lobby turn by turn, ending each turn and checking for a winner like the server does
+     */
+    @Benchmark
+    public GameLobby playGame() {
+        GameLobby game = new GameLobby(0, red, white, new MoveValidator());
+        for (List<Move> turn : TURNS) {
+            for (Move move : turn)
+                game.makeMove(move);
+            game.endTurn();
+            game.checkForVictory();
+        }
+        return game;
+    }
+
+    @Benchmark
+    public void kingPieces() {
+        played.kingPieces();
+    }
+
+    @Benchmark
+    public boolean checkForVictory() {
+        return played.checkForVictory();
+    }
+
+    /**
+     * Steps through the whole replay and back to the start
+     */
+    @Benchmark
+    public GameReplay replayGame() {
+        while (replay.hasNext())
+            replay.nextMove();
+        while (replay.hasPrevious())
+            replay.lastMove();
+        return replay;
+    }
+}
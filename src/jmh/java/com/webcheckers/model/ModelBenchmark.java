@@ -0,0 +1,99 @@
+package com.webcheckers.model;
+
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the board and the rules engine
+ *
+ * @author Chris Piccoli
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+    private final Gson gson = new Gson();
+    private final MoveList moves = new MoveList();
+
+    private BoardView start;
+    private BoardView startCopy;
+    private BoardView middlegame;
+    private MoveValidator validator;
+    private Move opening;
+    private OpeningBook book;
+    private final Random random = new Random();
+
+    @Setup
+    public void setup() throws IOException {
+        start = new BoardView(Piece.COLOR.RED);
+        startCopy = new BoardView(Piece.COLOR.RED);
+        // a position from the middle of a game where red has a capture
+        middlegame = new BoardView(new Board(0xF5040040, 0x0000888B, 0), Piece.COLOR.RED);
+        validator = new MoveValidator();
+        opening = new Move(new Position(5, 0), new Position(4, 1));
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(OpeningBookBuilder.DEFAULT_PLIES);
+        builder.addGame(Arrays.asList("11-15", "23-19", "8-11", "22-17"));
+        builder.addGame(Arrays.asList("10-14", "22-18", "11-16", "24-20"));
+        Path file = Files.createTempFile("book", ".bin");
+        file.toFile().deleteOnExit();
+        builder.write(file);
+        book = new OpeningBook(file);
+    }
+
+    @Benchmark
+    public ValidationResult validateMove() {
+        ValidationResult result = validator.ValidateMove(opening, Piece.COLOR.RED, start);
+        validator.turnDone();
+        return result;
+    }
+
+    @Benchmark
+    public boolean isAvailableCapture() {
+        return validator.isAvailableCapture(middlegame, Piece.COLOR.RED);
+    }
+
+    @Benchmark
+    public int generateMoves() {
+        return MoveGenerator.generate(middlegame.getBoard(), Piece.COLOR.RED, true, moves);
+    }
+
+    @Benchmark
+    public boolean boardViewEquals() {
+        return start.equals(startCopy);
+    }
+
+    @Benchmark
+    public String boardViewToString() {
+        return start.toString();
+    }
+
+    @Benchmark
+    public String boardViewToJson() {
+        return gson.toJson(start);
+    }
+
+    @Benchmark
+    public long openingBookLookup() {
+        return book.lookup(start.getBoard(), Piece.COLOR.RED, true, random);
+    }
+}
@@ -0,0 +1,69 @@
+package com.webcheckers.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks how long the computer's search takes to reach a fixed depth with more threads; the speedup for n
+ * threads is the time for one thread over the time for n
+ *
+ * @author Chris Piccoli
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+    private static final int DEPTH = 12;
+    // long enough that every search reaches the depth
+    private static final long NO_LIMIT = 600_000;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    private int threads;
+
+    private ExecutorService pool;
+    private TranspositionTable table;
+    private ParallelSearch search;
+    private Board start;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pool = Executors.newFixedThreadPool(threads);
+        table = new TranspositionTable(64);
+        search = new ParallelSearch(table, threads, pool);
+        start = new Board(Piece.COLOR.RED);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        // every search starts cold, as the first move of a game does
+        table.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public long searchToDepth() {
+        return search.search(start, Piece.COLOR.RED, true, NO_LIMIT, DEPTH);
+    }
+}
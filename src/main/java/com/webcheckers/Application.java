@@ -2,12 +2,17 @@ package com.webcheckers;
 
 import com.google.gson.Gson;
 import com.webcheckers.application.AccountManager;
+import com.webcheckers.application.ComputerPlayer;
 import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.EndgameTablebase;
+import com.webcheckers.model.OpeningBook;
+import com.webcheckers.ui.WebCheckersTemplateEngine;
 import com.webcheckers.ui.WebServer;
 import spark.TemplateEngine;
-import spark.template.freemarker.FreeMarkerEngine;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Paths;
 import java.util.Objects;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
@@ -40,6 +45,14 @@ public final class Application {
     return inDemoMode;
   }
   private static final String DEMO_MODE_PROPERTY = "demoMode";
+  // the megabytes the computer player's searches share, e.g. -DcomputerTableMB=256
+  private static final String COMPUTER_TABLE_PROPERTY = "computerTableMB";
+  // how many threads may search one of the computer player's moves, e.g. -DcomputerThreads=8
+  private static final String COMPUTER_THREADS_PROPERTY = "computerThreads";
+  // the opening book the computer player plays its first moves from, e.g. -DopeningBook=book.bin
+  private static final String OPENING_BOOK_PROPERTY = "openingBook";
+  // the tablebase the computer player plays its last moves from, e.g. -DendgameTablebase=endgame.tb
+  private static final String TABLEBASE_PROPERTY = "endgameTablebase";
   private static Boolean inDemoMode = null;
 
   /**
@@ -60,6 +73,46 @@ public final class Application {
     }
   }
 
+  /**
+   * Opens the opening book named by the 'openingBook' property.
+   *
+   * @return the book, or null if the property isn't set or the book can't
+   * be opened
+   */
+  private static OpeningBook openingBook() {
+    final String file = System.getProperty(OPENING_BOOK_PROPERTY);
+    if (file == null) {
+      return null;
+    }
+    try {
+      return new OpeningBook(Paths.get(file));
+    } catch (IOException e) {
+      LOG.warning(String.format("Bad '%s' value, '%s'; %s The computer will play without a book.",
+          OPENING_BOOK_PROPERTY, file, e.getMessage()));
+      return null;
+    }
+  }
+
+  /**
+   * Opens the endgame tablebase named by the 'endgameTablebase' property.
+   *
+   * @return the tablebase, or null if the property isn't set or the
+   * tablebase can't be opened
+   */
+  private static EndgameTablebase endgameTablebase() {
+    final String file = System.getProperty(TABLEBASE_PROPERTY);
+    if (file == null) {
+      return null;
+    }
+    try {
+      return new EndgameTablebase(Paths.get(file));
+    } catch (IOException e) {
+      LOG.warning(String.format("Bad '%s' value, '%s'; %s The computer will play without a tablebase.",
+          TABLEBASE_PROPERTY, file, e.getMessage()));
+      return null;
+    }
+  }
+
   //
   // Application Launch method
   //
@@ -88,8 +141,8 @@ public final class Application {
 
     // The application uses FreeMarker templates to generate the HTML
     // responses sent back to the client. This will be the engine processing
-    // the templates and associated data.
-    final TemplateEngine templateEngine = new FreeMarkerEngine();
+    // the templates and associated data. The templates are loaded here, once.
+    final TemplateEngine templateEngine = new WebCheckersTemplateEngine();
 
     // The application uses Gson to generate JSON representations of Java objects.
     // This should be used by your Ajax Routes to generate JSON for the HTTP
@@ -98,6 +151,10 @@ public final class Application {
 
     // The application uses a PlayerLobby to keep track of signed-in players.
     final PlayerLobby playerLobby = new PlayerLobby();
+    // A computer player is always signed in, so there is someone to play at any hour.
+    playerLobby.addComputerPlayer(new ComputerPlayer(Integer.getInteger(COMPUTER_TABLE_PROPERTY,
+        ComputerPlayer.TABLE_MEGABYTES), Integer.getInteger(COMPUTER_THREADS_PROPERTY, ComputerPlayer.THREADS_PER_MOVE),
+        openingBook(), endgameTablebase()));
 
     // The application uses an AccountManager to keep track of all use accounts, signed-in or not
     final AccountManager accountManager = new AccountManager();
@@ -0,0 +1,238 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.Board;
+import com.webcheckers.model.EndgameTablebase;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.MoveGenerator;
+import com.webcheckers.model.MoveSearch;
+import com.webcheckers.model.OpeningBook;
+import com.webcheckers.model.ParallelSearch;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Player;
+import com.webcheckers.model.TranspositionTable;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A player the computer plays, which signed-in users can challenge like anyone else.
+ * <p>
+ * The computer is never busy: it plays every game it is challenged to at once. It watches each game's snapshots, and
+ * when it is its turn a {@link MoveSearch} picks its move on a fixed pool of search threads, so searches never hold up
+ * the web server's threads or a game's mailbox. The move is then played in the game's mailbox like any other turn.
+ * Each game waits on at most one search at a time, but a search queues its helpers on the pool as well as itself,
+ * so one search can have up to its quota of tasks queued. Helpers a search skipped stay queued after it has
+ * finished, alongside the game's next search, until a pool thread takes each one and finds it has nothing to do.
+ * <p>
+ * Every search shares one {@link TranspositionTable}, whose size is set when the computer is created, so however
+ * many games the computer plays its searches never hold more memory than that. The table's generations tick once
+ * a move time, so games searching at the same time don't age each other's entries. Boards are always searched from
+ * the red player's perspective, as the table needs.
+ * <p>
+ * Each move is searched by a {@link ParallelSearch} with a quota of threads from the same pool. The quota keeps one
+ * game from taking the whole pool: at most that many threads ever search one game's move, and helpers the pool
+ * can't start in time are skipped rather than waited for, so a busy pool costs a game depth, never time.
+ * <p>
+ * With an {@link OpeningBook}, the computer plays the book's moves while the game is in the book, without searching.
+ * With an {@link EndgameTablebase}, it plays perfectly once few enough pieces are left, again without searching, and
+ * its searches score the positions with few pieces they reach from the tablebase.
+ *
+ * @author Chris Piccoli
+ */
+public class ComputerPlayer extends Player {
+    private static final Logger LOG = Logger.getLogger(ComputerPlayer.class.getName());
+
+    /**
+     * The name the computer signs in with
+     */
+    public static final String NAME = "Computer";
+    /**
+     * How long the computer thinks about each move, in milliseconds
+     */
+    public static final long MOVE_MILLIS = 1000;
+    /**
+     * How much memory the searches share by default, in megabytes
+     */
+    public static final int TABLE_MEGABYTES = 64;
+
+    // half the processors, so searches leave room for the web server and the game mailboxes
+    private static final int SEARCH_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final ExecutorService SEARCH_POOL = Executors.newFixedThreadPool(SEARCH_THREADS,
+            new SearchThreadFactory());
+
+    /**
+     * How many threads search each move by default; a quarter of the pool, so four games can search at full depth at
+     * once
+     */
+    public static final int THREADS_PER_MOVE = Math.max(1, SEARCH_THREADS / 4);
+
+    private final Executor pool;
+    private final long moveMillis;
+    // null when the computer has no book
+    private final OpeningBook book;
+    // null when the computer has no tablebase
+    private final EndgameTablebase tablebase;
+    // each search thread keeps its own search, all of them on the one table and helped from the same pool
+    private final ThreadLocal<ParallelSearch> search;
+
+    /**
+     * Creates the computer player, searching on the shared search pool with a table and quota of the default size
+     */
+    public ComputerPlayer() {
+        this(TABLE_MEGABYTES, THREADS_PER_MOVE, null, null);
+    }
+
+    /**
+     * Creates the computer player, searching on the shared search pool
+     *
+     * @param tableMegabytes how much memory the computer's searches share, in megabytes
+     * @param threadsPerMove how many of the pool's threads may search one move
+     * @param book           the book to play the first moves from, or null to search every move
+     * @param tablebase      the tablebase to play the last moves from, or null to search every move
+     */
+    public ComputerPlayer(int tableMegabytes, int threadsPerMove, OpeningBook book, EndgameTablebase tablebase) {
+        this(NAME, SEARCH_POOL, MOVE_MILLIS, new TranspositionTable(tableMegabytes, MOVE_MILLIS), threadsPerMove,
+                book, tablebase);
+    }
+
+    /**
+     * Creates a computer player
+     *
+     * @param name           the name it plays under
+     * @param pool           runs its searches
+     * @param moveMillis     how long it thinks about each move, in milliseconds
+     * @param table          the table its searches share
+     * @param threadsPerMove how many of the pool's threads may search one move
+     * @param book           the book to play the first moves from, or null to search every move
+     * @param tablebase      the tablebase to play the last moves from, or null to search every move
+     * @throws IllegalArgumentException if threadsPerMove is less than one
+     */
+    public ComputerPlayer(String name, Executor pool, long moveMillis, TranspositionTable table,
+                          int threadsPerMove, OpeningBook book, EndgameTablebase tablebase) {
+        super(name);
+        this.pool = Objects.requireNonNull(pool, "pool is required");
+        this.moveMillis = moveMillis;
+        this.book = book;
+        this.tablebase = tablebase;
+        Objects.requireNonNull(table, "table is required");
+        if (threadsPerMove < 1)
+            throw new IllegalArgumentException("The computer needs at least one thread per move.");
+        this.search = ThreadLocal.withInitial(() -> new ParallelSearch(table, tablebase, threadsPerMove, pool));
+    }
+
+    /**
+     * Starts playing a game. The computer moves whenever it is its turn, until the game is over.
+     *
+     * @param game        the game
+     * @param playerLobby the lobby the game is in, which is told when the computer's move ends the game
+     */
+    public void join(GameLobby game, PlayerLobby playerLobby) {
+        Seat seat = new Seat(game, playerLobby);
+        game.addListener(seat);
+        // the computer may have the first move
+        game.call(() -> {
+            seat.accept(game.getSnapshot());
+            return null;
+        });
+    }
+
+    /**
+     * The computer's place in one game
+     */
+    private class Seat implements Consumer<GameSnapshot> {
+        private final GameLobby game;
+        private final PlayerLobby playerLobby;
+        // the version of the snapshot a search was last started for; only used in the game's mailbox
+        private long searched;
+
+        Seat(GameLobby game, PlayerLobby playerLobby) {
+            this.game = game;
+            this.playerLobby = playerLobby;
+        }
+
+        /**
+         * Starts a search when a snapshot shows it is the computer's turn. Called in the game's mailbox.
+         */
+        @Override
+        public void accept(GameSnapshot snapshot) {
+            if (snapshot.isGameDone()) {
+                game.removeListener(this);
+            } else if (snapshot.getActivePlayer().equals(ComputerPlayer.this) && snapshot.getVersion() != searched) {
+                searched = snapshot.getVersion();
+                pool.execute(() -> play(snapshot));
+            }
+        }
+
+        /**
+         * Picks a move on the snapshot's board, then plays it if the game hasn't changed since
+         */
+        private void play(GameSnapshot snapshot) {
+            Piece.COLOR color = snapshot.getActiveColor();
+            Board board = snapshot.getBoard();
+            long move;
+            try {
+                move = choose(board, color);
+            } catch (RuntimeException e) {
+                LOG.log(Level.SEVERE, "The computer could not pick a move in game " + game.getGameID(), e);
+                return;
+            }
+            if (move == MoveSearch.NO_MOVE)
+                return;
+            game.call(() -> {
+                if (game.getSnapshot() != snapshot)
+                    return null;
+                for (Move step : MoveGenerator.steps(board, move))
+                    // moves are made from the active player's perspective
+                    game.makeMove(color == Piece.COLOR.WHITE ? step.reflect() : step);
+                game.endTurn();
+                if (game.checkForVictory())
+                    playerLobby.endGame(game.getGameID(), game.getGameOverReason());
+                return null;
+            });
+        }
+
+        /**
+         * Plays from the book while the game is in it and from the tablebase once it is in that, and searches
+         * in between
+         */
+        private long choose(Board board, Piece.COLOR color) {
+            // red's single pieces move toward row 0 of the board
+            boolean movesUp = color == Piece.COLOR.RED;
+            if (book != null) {
+                long move = book.lookup(board, color, movesUp, ThreadLocalRandom.current());
+                if (move != MoveSearch.NO_MOVE)
+                    return move;
+            }
+            if (tablebase != null) {
+                long move = tablebase.bestMove(board, color);
+                if (move != MoveSearch.NO_MOVE)
+                    return move;
+            }
+            return search.get().search(board, color, movesUp, moveMillis);
+        }
+    }
+
+    /**
+     * Names the search pool's threads and keeps them from holding the server open
+     */
+    private static class SearchThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "computer-player-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            // searches are background work next to answering requests
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    }
+}
@@ -1,22 +1,37 @@
 package com.webcheckers.application;
 
+import com.webcheckers.model.Board;
 import com.webcheckers.model.BoardView;
 import com.webcheckers.model.Move;
+import com.webcheckers.model.MoveGenerator;
 import com.webcheckers.model.MoveValidator;
 import com.webcheckers.model.Piece;
 import com.webcheckers.model.Player;
-import com.webcheckers.model.Position;
-import com.webcheckers.model.Row;
-import com.webcheckers.model.Space;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * GameLobby represents the data for an individual game, including its players, its board, and its completion status.
  * <p>
  * A conglomeration of all the pertinent game information
  * </p>
+ * <p>
+ * Requests change a game through {@link #call(Supplier)}, which runs them one at a time in the game's
+ * {@link GameMailbox}. Once each change is done the game publishes a {@link GameSnapshot}, which requests that only
+ * read the game can use without waiting, and which {@link #awaitChange(GameSnapshot, long, TimeUnit)} hands to
+ * requests waiting for the game to change. A change that leaves the game as it was publishes nothing, so the
+ * snapshot's version only goes up when the game really changes.
+ * </p>
  *
  * @author Chris Piccoli
  */
@@ -28,15 +43,35 @@ public class GameLobby {
     private boolean isGameDone = false;
     private String gameOverReason;
 
-    // This is a memory inefficient way to do this, but its also very easy
-    // for making move purposes use the indices of the redBoard serverSide
-    private BoardView redBoard;
-    private BoardView whiteBoard;
+    // the only copy of the pieces, from reds perspective; each player is shown a view of it
+    private final Board board;
 
     private MoveValidator validator;
     // list of moves from reds perspective
     private List<Move> moves = new ArrayList<>();
 
+    // the game is drawn once this many turns, forty each, go by without a capture or a single piece moving
+    static final int DRAW_TURNS = 80;
+    // the game is drawn once the same position comes up this many times with the same player to move
+    static final int REPETITIONS = 3;
+    // the hash of the position after each turn since the last capture or single piece move, oldest first; a position
+    // from before that can't come up again, so no more than DRAW_TURNS + 1 are ever needed
+    private final long[] positions = new long[DRAW_TURNS + 1];
+    private int quietTurns;
+    // the board as it was after the last turn
+    private final Board lastTurn;
+
+    private final GameMailbox mailbox = new GameMailbox();
+    private volatile GameSnapshot snapshot;
+    // only changed in the mailbox
+    private long version;
+    // the last few snapshots, by version, so a browser can be sent just what changed since the one it has
+    static final int HISTORY = 64;
+    private final AtomicReferenceArray<GameSnapshot> history = new AtomicReferenceArray<>(HISTORY);
+    // completed with the next snapshot when it is published
+    private volatile CompletableFuture<GameSnapshot> nextChange = new CompletableFuture<>();
+    private final List<Consumer<GameSnapshot>> listeners = new CopyOnWriteArrayList<>();
+
     /**
      * Constructor. Creates a GameLobby with the given GameID and the two Players.
      *
@@ -51,8 +86,126 @@ public class GameLobby {
         this.GameID = GameID;
         this.redPlayer = redPlayer;
         this.whitePlayer = whitePlayer;
-        redBoard = new BoardView(Piece.COLOR.RED);
-        whiteBoard = new BoardView(Piece.COLOR.WHITE);
+        board = new Board(Piece.COLOR.RED);
+        lastTurn = new Board(board);
+        positions[0] = board.getHash(activePlayer);
+        publish();
+    }
+
+    /**
+     * Runs an action in this game's mailbox and waits for its result. Actions on the same game run one at a time, in
+     * the order they were called, and a new snapshot is published after each one.
+     * <p>
+     * An action that calls this again runs straight away, as part of the action already running.
+     *
+     * @param action the action, which may read and change this game
+     * @param <T>    the type of the action's result
+     * @return the action's result
+     */
+    public <T> T call(Supplier<T> action) {
+        if (mailbox.isRunningOnCurrentThread())
+            return action.get();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return action.get();
+                } finally {
+                    publish();
+                }
+            }, mailbox).join();
+        } catch (CompletionException e) {
+            // rethrow what the action threw
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the state of the game as of the end of its last change
+     *
+     * @return the latest snapshot
+     */
+    public GameSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Gets a recent snapshot by its version
+     *
+     * @param version the state version
+     * @return the snapshot, or null if the game has changed too often since then or never had that version
+     */
+    public GameSnapshot getSnapshot(long version) {
+        if (version < 1)
+            return null;
+        GameSnapshot kept = history.get((int) (version % HISTORY));
+        return kept != null && kept.getVersion() == version ? kept : null;
+    }
+
+    /**
+     * Waits until a snapshot newer than the given one is published, or the timeout elapses
+     *
+     * @param seen    the snapshot the caller already has
+     * @param timeout how long to wait
+     * @param unit    the unit of the timeout
+     * @return the latest snapshot, which is the one given if nothing changed in time
+     */
+    public GameSnapshot awaitChange(GameSnapshot seen, long timeout, TimeUnit unit) {
+        // read the signal before the snapshot, so a change published in between still completes it
+        CompletableFuture<GameSnapshot> next = nextChange;
+        GameSnapshot latest = snapshot;
+        if (latest != seen)
+            return latest;
+        try {
+            return next.get(timeout, unit);
+        } catch (TimeoutException | ExecutionException e) {
+            return snapshot;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return snapshot;
+        }
+    }
+
+    /**
+     * Adds a listener that is given every snapshot published from now on. Listeners are called in the game's mailbox,
+     * so they must be quick and must not throw.
+     *
+     * @param listener the listener
+     */
+    public void addListener(Consumer<GameSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added with {@link #addListener(Consumer)}
+     *
+     * @param listener the listener
+     */
+    public void removeListener(Consumer<GameSnapshot> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Publishes the current state of the game for readers, and wakes anyone waiting for it to change. Nothing is
+     * published if the game is as it was in the last snapshot.
+     */
+    protected void publish() {
+        GameSnapshot last = snapshot;
+        GameSnapshot published = new GameSnapshot(activePlayer, getActivePlayer(), isGameDone, getGameOverReason(),
+                new Board(board), version + 1);
+        if (last != null && published.sameStateAs(last))
+            return;
+        version = published.getVersion();
+        history.set((int) (version % HISTORY), published);
+        snapshot = published;
+        CompletableFuture<GameSnapshot> waiting = nextChange;
+        nextChange = new CompletableFuture<>();
+        waiting.complete(published);
+        for (Consumer<GameSnapshot> listener : listeners)
+            listener.accept(published);
     }
 
     /**
@@ -61,32 +214,16 @@ public class GameLobby {
      * @param move the move that is being made
      */
     public void makeMove(Move move) {
-        Move moveReflected = move.reflect();
-        Position middle = move.getMiddle();
+        // moves come from the active player's perspective
+        if (getActiveColor() == Piece.COLOR.WHITE)
+            move = move.reflect();
 
-        if (getActiveColor() == Piece.COLOR.RED) {
-            redBoard.makeMove(move);
-            whiteBoard.makeMove(moveReflected);
-            // removes pieces for capture
-            if (middle != null) {
-                Position middleReflected = moveReflected.getMiddle();
-                getRedBoard().removePiece(middle.getRow(), middle.getCell());
-                getWhiteBoard().removePiece(middleReflected.getRow(), middleReflected.getCell());
-            }
-
-            moves.add(move);
-        } else {
-            whiteBoard.makeMove(move);
-            redBoard.makeMove(moveReflected);
-            // removes pieces for capture
-            if (middle != null) {
-                Position middleReflected = moveReflected.getMiddle();
-                getWhiteBoard().removePiece(middle.getRow(), middle.getCell());
-                getRedBoard().removePiece(middleReflected.getRow(), middleReflected.getCell());
-            }
-
-            moves.add(moveReflected);
-        }
+        board.move(Board.square(move.getStart()), Board.square(move.getEnd()));
+        // removes pieces for capture
+        if (!move.isAdjacentMove())
+            board.remove(Board.square(move.getMiddle()));
+
+        moves.add(move);
         kingPieces();
     }
 
@@ -94,29 +231,7 @@ public class GameLobby {
      * Makes pieces that have reached the opposite end of the board kings
      */
     protected void kingPieces() {
-        Row firstRowRed = redBoard.getLastRow();
-        Row firstRowWhite = whiteBoard.getLastRow();
-
-        for (Space space : firstRowRed) {
-            Piece piece = space.getPiece();
-            if (piece != null)
-                if (piece.getColor() == Piece.COLOR.WHITE) {
-                    if (piece.getType() == Piece.TYPE.SINGLE) {
-                        redBoard.kingPiece(firstRowRed.getIndex(), space.getCellIdx());
-                        whiteBoard.kingPiece(7 - firstRowRed.getIndex(), 7 - space.getCellIdx());
-                    }
-                }
-        }
-        for (Space space : firstRowWhite) {
-            Piece piece = space.getPiece();
-            if (piece != null)
-                if (piece.getColor() == Piece.COLOR.RED) {
-                    if (piece.getType() == Piece.TYPE.SINGLE) {
-                        redBoard.kingPiece(7 - firstRowWhite.getIndex(), 7 - space.getCellIdx());
-                        whiteBoard.kingPiece(firstRowWhite.getIndex(), space.getCellIdx());
-                    }
-                }
-        }
+        board.crownPieces(Piece.COLOR.RED);
     }
 
 
@@ -193,45 +308,80 @@ public class GameLobby {
     /**
      * Checks through this GameLobby's board to see if a victory condition has been reached for either side.
      * <p>
-     * If either player has won, marks this GameLobby as "complete", setting an appropriate "game over" message.
+     * If either player has won, marks this GameLobby as "complete", setting an appropriate "game over" message. A
+     * player wins by capturing all of the other player's pieces, or by leaving the player whose turn it is with no
+     * move to make. Both are read straight off the board's masks, so the check costs the same however full it is.
      * <p>
-     * TODO: Currently, this only checks for capturing all the pieces. We also need to check for no more possible moves.
+     * Otherwise the game is drawn if {@value #DRAW_TURNS} turns have gone by without a capture or a single piece
+     * moving, or if the same position has come up {@value #REPETITIONS} times with the same player to move. Only the
+     * positions since the last capture or single piece move are looked at, as no earlier one can come up again.
      */
     public boolean checkForVictory() {
-        // keep track of whether we have seen any pieces of either color.
-        boolean anyWhitePieces = false;
-        boolean anyRedPieces = false;
-        // iterate through each row
-        for (Row row : this.redBoard) {
-            // whether we iterate through the red or white board does not matter; they contain the same pieces, just
-            // in a different layout
-            // iterate through each space in a row
-            for (Space space : row) {
-                // if there is a piece on this space
-                if (space.getPiece() != null) {
-                    if (space.getPiece().getColor() == Piece.COLOR.RED) {
-                        // and if it's red, we have now seen at least one red piece
-                        anyRedPieces = true;
-                    } else if (space.getPiece().getColor() == Piece.COLOR.WHITE) {
-                        // and if it's white, we have now seen at least one white piece
-                        anyWhitePieces = true;
-                    }
-                }
-            }
-        }
-        // if we haven't seen any pieces of a color, then the other player has won
-        if (!anyRedPieces) {
+        // if there are no pieces of a color left, then the other player has won
+        if (board.getPieces(Piece.COLOR.RED) == 0) {
             // white player has won
             markGameAsDone(getWhitePlayer().getName() + " has captured all the pieces.");
             return true;
-        } else if (!anyWhitePieces) {
+        } else if (board.getPieces(Piece.COLOR.WHITE) == 0) {
             // red player has won
             markGameAsDone(getRedPlayer().getName() + " has captured all the pieces.");
             return true;
+        } else if (!MoveGenerator.hasMove(board, getActiveColor(), getActiveColor() == Piece.COLOR.RED)) {
+            // red moves toward row 0; the player who can't move has lost
+            markGameAsDone(getInactivePlayer().getName() + " has blocked all of " + getActivePlayer().getName()
+                    + "'s pieces.");
+            return true;
+        } else if (getQuietTurns() >= DRAW_TURNS) {
+            markGameAsDone("The game is a draw: " + DRAW_TURNS / 2
+                    + " moves each went by without a capture or a single piece moving.");
+            return true;
+        } else if (countRepetitions() >= REPETITIONS) {
+            markGameAsDone("The game is a draw: the same position came up " + REPETITIONS + " times.");
+            return true;
         }
         return false;
     }
 
+    /**
+     * Counts the turns since the last capture or single piece move
+     *
+     * @return the number of turns
+     */
+    int getQuietTurns() {
+        return quietTurns;
+    }
+
+    /**
+     * Counts how many times the position after the last turn has come up with the same player to move
+     *
+     * @return the number of times, including the last turn
+     */
+    int countRepetitions() {
+        long latest = positions[quietTurns];
+        int count = 0;
+        // the hash includes the player to move, but that player can only be the same every other turn
+        for (int i = quietTurns; i >= 0; i -= 2)
+            if (positions[i] == latest)
+                count++;
+        return count;
+    }
+
+    /**
+     * Keeps the hash of the position after a turn. If the turn captured a piece or moved a single piece, it can't be
+     * undone by later turns, so the positions before it are dropped.
+     */
+    private void recordPosition() {
+        int piecesBefore = lastTurn.getPieces(Piece.COLOR.RED) | lastTurn.getPieces(Piece.COLOR.WHITE);
+        int piecesAfter = board.getPieces(Piece.COLOR.RED) | board.getPieces(Piece.COLOR.WHITE);
+        if (Integer.bitCount(piecesBefore) != Integer.bitCount(piecesAfter)
+                || (piecesBefore & ~lastTurn.getKings()) != (piecesAfter & ~board.getKings()))
+            quietTurns = 0;
+        else if (quietTurns < DRAW_TURNS)
+            quietTurns++;
+        positions[quietTurns] = board.getHash(activePlayer);
+        lastTurn.set(board);
+    }
+
     /**
      * call to get the game over reason
      *
@@ -255,21 +405,30 @@ public class GameLobby {
     }
 
     /**
-     * Gets the board from the red player's perspective
+     * Gets the board of this game, laid out from the red player's perspective
+     *
+     * @return the board
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets a view of the board from the red player's perspective
      *
      * @return the board from the red player's perspective
      */
     public BoardView getRedBoard() {
-        return redBoard;
+        return new BoardView(board, Piece.COLOR.RED);
     }
 
     /**
-     * Gets the board from the white player's perspective
+     * Gets a view of the board from the white player's perspective
      *
      * @return the board from the white player's perspective
      */
     public BoardView getWhiteBoard() {
-        return whiteBoard;
+        return new BoardView(board, Piece.COLOR.WHITE);
     }
 
     /**
@@ -302,6 +461,7 @@ public class GameLobby {
         } else {
             setActivePlayer(Piece.COLOR.RED);
         }
+        recordPosition();
     }
 
     /**
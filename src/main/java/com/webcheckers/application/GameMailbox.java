@@ -0,0 +1,103 @@
+package com.webcheckers.application;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the tasks sent to one game one at a time, in the order they were sent, on a pool shared by every game.
+ * <p>
+ * Every change to a {@link GameLobby} goes through its mailbox, so a game never needs a lock and its tasks never run
+ * at the same time, while different games run in parallel on the pool. A mailbox only holds a pool thread while it
+ * has tasks, and gives it back after a few of them so one busy game can't starve the others.
+ *
+ * @author Chris Piccoli
+ */
+public class GameMailbox implements Executor {
+    // how many tasks run before the mailbox lets other games have the thread
+    private static final int BATCH_SIZE = 16;
+
+    private static final ExecutorService SHARED_POOL = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), new MailboxThreadFactory());
+
+    private final Executor pool;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile Thread runner;
+
+    /**
+     * Creates a mailbox on the pool shared by all games
+     */
+    public GameMailbox() {
+        this(SHARED_POOL);
+    }
+
+    /**
+     * Creates a mailbox on the given pool
+     *
+     * @param pool runs the mailbox's tasks
+     */
+    public GameMailbox(Executor pool) {
+        this.pool = Objects.requireNonNull(pool, "pool is required");
+    }
+
+    /**
+     * Queues a task to run after every task sent before it
+     *
+     * @param task the task
+     */
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(Objects.requireNonNull(task, "task is required"));
+        schedule();
+    }
+
+    /**
+     * @return true if the current thread is running a task from this mailbox
+     */
+    public boolean isRunningOnCurrentThread() {
+        return runner == Thread.currentThread();
+    }
+
+    private void schedule() {
+        if (!tasks.isEmpty() && scheduled.compareAndSet(false, true))
+            pool.execute(this::drain);
+    }
+
+    private void drain() {
+        runner = Thread.currentThread();
+        try {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Runnable task = tasks.poll();
+                if (task == null)
+                    break;
+                task.run();
+            }
+        } finally {
+            runner = null;
+            scheduled.set(false);
+            // pick up anything queued while the batch ran
+            schedule();
+        }
+    }
+
+    /**
+     * Names the shared pool's threads and keeps them from holding the server open
+     */
+    private static class MailboxThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "game-mailbox-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package com.webcheckers.application;
 
+import com.webcheckers.model.Board;
 import com.webcheckers.model.Move;
 import com.webcheckers.model.MoveValidator;
-import com.webcheckers.model.Position;
 
 
 /**
@@ -31,26 +31,22 @@ public class GameReplay extends GameLobby {
      */
     @Override
     public void makeMove(Move move) {
-        Move moveReflected = move.reflect();
-        Position middle = move.getMiddle();
+        Board board = getBoard();
+        int from = Board.square(move.getStart());
 
-        // This monstrosity sets the active player to the one moving
-        setActivePlayer(getRedBoard().getPiece(move.getStart()).getColor());
+        // sets the active player to the one moving
+        setActivePlayer(board.getColor(from));
 
-        getRedBoard().makeMove(move);
-        getWhiteBoard().makeMove(moveReflected);
+        board.move(from, Board.square(move.getEnd()));
 
-        if (middle != null) {
-            if (getRedBoard().pieceAt(middle)) {
-                // removes piece back on the board
-                Position middleReflected = moveReflected.getMiddle();
-                getRedBoard().placePiece(getInactiveColor(), middle.getRow(), middle.getCell());
-                getWhiteBoard().placePiece(getInactiveColor(), middleReflected.getRow(), middleReflected.getCell());
-            } else {
+        if (!move.isAdjacentMove()) {
+            int over = Board.square(move.getMiddle());
+            if (board.isOccupied(over)) {
                 // removes pieces for capture
-                Position middleReflected = moveReflected.getMiddle();
-                getRedBoard().removePiece(middle.getRow(), middle.getCell());
-                getWhiteBoard().removePiece(middleReflected.getRow(), middleReflected.getCell());
+                board.remove(over);
+            } else {
+                // puts the piece back on the board when backing up a capture
+                board.place(over, getInactiveColor(), false);
             }
         }
         kingPieces();
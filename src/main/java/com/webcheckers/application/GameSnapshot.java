@@ -0,0 +1,113 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.Board;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Player;
+
+import java.util.Objects;
+
+/**
+ * The state of a game at the end of its last change, published by {@link GameLobby} so requests that only read the
+ * game never have to wait for its mailbox.
+ * <p>
+ * Snapshots are never changed once published. The board belongs to the snapshot and must not be changed either.
+ * Each snapshot of a game carries a version, which goes up by one whenever the published state changes, so two
+ * snapshots of the same game with the same version show the same game.
+ *
+ * @author Chris Piccoli
+ */
+public final class GameSnapshot {
+    private final Piece.COLOR activeColor;
+    private final Player activePlayer;
+    private final boolean gameDone;
+    private final String gameOverReason;
+    private final Board board;
+    private final long version;
+
+    /**
+     * Creates a snapshot
+     *
+     * @param activeColor    the color whose turn it is
+     * @param activePlayer   the player whose turn it is
+     * @param gameDone       whether the game is over
+     * @param gameOverReason why the game ended
+     * @param board          a copy of the board, from the red player's perspective
+     * @param version        the game's state version
+     */
+    public GameSnapshot(Piece.COLOR activeColor, Player activePlayer, boolean gameDone, String gameOverReason,
+                        Board board, long version) {
+        this.activeColor = activeColor;
+        this.activePlayer = activePlayer;
+        this.gameDone = gameDone;
+        this.gameOverReason = gameOverReason;
+        this.board = board;
+        this.version = version;
+    }
+
+    /**
+     * @return the color whose turn it is
+     */
+    public Piece.COLOR getActiveColor() {
+        return activeColor;
+    }
+
+    /**
+     * @return the player whose turn it is
+     */
+    public Player getActivePlayer() {
+        return activePlayer;
+    }
+
+    /**
+     * @return true if the game is over
+     */
+    public boolean isGameDone() {
+        return gameDone;
+    }
+
+    /**
+     * @return the reason the game ended, or a note that it is still in progress
+     */
+    public String getGameOverReason() {
+        return gameOverReason;
+    }
+
+    /**
+     * @return the board from the red player's perspective; it must not be changed
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * @return how many pieces red has left, kings included
+     */
+    public int getRedPieces() {
+        return board.countPieces(Piece.COLOR.RED);
+    }
+
+    /**
+     * @return how many pieces white has left, kings included
+     */
+    public int getWhitePieces() {
+        return board.countPieces(Piece.COLOR.WHITE);
+    }
+
+    /**
+     * @return the game's state version, which is higher the later the state
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Checks whether another snapshot shows the same game state, ignoring its version
+     *
+     * @param other the other snapshot
+     * @return true if the turn, the end of the game and the board are all the same
+     */
+    public boolean sameStateAs(GameSnapshot other) {
+        return activeColor == other.activeColor && gameDone == other.gameDone
+                && Objects.equals(gameOverReason, other.gameOverReason) && board.equals(other.board);
+    }
+}
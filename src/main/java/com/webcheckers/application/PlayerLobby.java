@@ -4,25 +4,36 @@ import com.webcheckers.model.MoveValidator;
 import com.webcheckers.model.Player;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The PlayerLobby class keeps track of currently signed-in players.
+ * <p>
+ * Spark handles requests on many threads at once, so every map here is concurrent and a player is put into a game
+ * with a single atomic claim: a player is in a game exactly when they have an entry in playersToGames.
  *
  * @author Chris Piccoli, Halle Masaryk, Kushal Malhotra, Ben Coffta, Adam Densman
  */
 public class PlayerLobby {
 
-    private final HashMap<String, Player> users = new HashMap<>();
-    private final HashMap<Player, Boolean> usersInGame = new HashMap<>();
-    // List must be of only 2 players, the first is red, the second is white
-    private final HashMap<Player, GameLobby> playersToGames = new HashMap<>();
+    /**
+     * Returned by createGame when one of the players is already in a game
+     */
+    public static final int NO_GAME = -1;
 
-    private final HashMap<Integer, GameLobby> gameIDtoGames = new HashMap<>();
+    private final ConcurrentMap<String, Player> users = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Player, GameLobby> playersToGames = new ConcurrentHashMap<>();
 
-    // Set it to negative one so gameIds start at 0, weird but go with it
-    private int gameCounter = -1;
+    private final ConcurrentMap<Integer, GameLobby> gameIDtoGames = new ConcurrentHashMap<>();
+    // the games not yet ended, so listing the games to watch doesn't scan every game ever played
+    private final ConcurrentMap<Integer, GameLobby> liveGames = new ConcurrentHashMap<>();
+
+    // gameIds start at 0
+    private final AtomicInteger gameCounter = new AtomicInteger();
 
     /**
      * Returns whether or not a username is available.
@@ -57,49 +68,81 @@ public class PlayerLobby {
      * @param name the name to add
      */
     public void addUsername(String name) {
-        users.put(name, new Player(name));
-        usersInGame.put(new Player(name), false);
+        users.putIfAbsent(name, new Player(name));
     }
 
     /**
-     * Checks if the user is in a Game
+     * Signs in a computer player, which stays signed in and can be challenged by any number of players at once
      *
-     * @param user the person being checked
-     * @return True if user is in a game, False otherwise
+     * @param computer the computer player
      */
-    public boolean userInGame(Player user) {
-        return usersInGame.getOrDefault(user, false);
+    public void addComputerPlayer(ComputerPlayer computer) {
+        users.putIfAbsent(computer.getName(), computer);
     }
 
     /**
-     * Add the players to a game
+     * Checks if the user is in a Game
      *
-     * @param user1 the challenger
-     * @param user2 the challenged
+     * @param user the person being checked
+     * @return True if user is in a game, False otherwise
      */
-    public void addUserToGame(Player user1, Player user2) {
-        usersInGame.put(user1, true);
-        usersInGame.put(user2, true);
+    public boolean userInGame(Player user) {
+        return user != null && playersToGames.containsKey(user);
     }
 
     /**
      * Creates a game and assigns two players to the game
+     * <p>
+     * Both players are claimed for the game atomically, so two challengers can never pull the same opponent into two
+     * games. If either player is already in a game, no game is created. A {@link ComputerPlayer} is never claimed, as
+     * it plays every game it is challenged to; it joins the game once the game is created.
      *
      * @param redPlayer   the player that initiated the game, will be the red checkers
      * @param whitePlayer the player who recieved the game invitation, will be the white checkers
-     * @return the game ID
+     * @return the game ID, or NO_GAME if either player is already in a game
      */
     public int createGame(Player redPlayer, Player whitePlayer) {
+        if (redPlayer.equals(whitePlayer))
+            return NO_GAME;
+
+        int gameID = gameCounter.getAndIncrement();
+        GameLobby game = new GameLobby(gameID, redPlayer, whitePlayer, new MoveValidator());
+        // the game is findable by ID before either player can be sent to it
+        gameIDtoGames.put(gameID, game);
+        if (!claimPlayers(redPlayer, whitePlayer, game)) {
+            gameIDtoGames.remove(gameID);
+            return NO_GAME;
+        }
+        liveGames.put(gameID, game);
+        if (redPlayer instanceof ComputerPlayer)
+            ((ComputerPlayer) redPlayer).join(game, this);
+        if (whitePlayer instanceof ComputerPlayer)
+            ((ComputerPlayer) whitePlayer).join(game, this);
+
+        return gameID;
+    }
 
-        gameCounter++;
-        GameLobby game = new GameLobby(gameCounter, redPlayer, whitePlayer, new MoveValidator());
-        gameIDtoGames.put(gameCounter, game);
-        playersToGames.put(redPlayer, game);
-        playersToGames.put(whitePlayer, game);
-
-        addUserToGame(redPlayer, whitePlayer);
+    /**
+     * Puts both players into the game, or neither of them
+     *
+     * @return true if both players were free and are now in the game
+     */
+    private boolean claimPlayers(Player redPlayer, Player whitePlayer, GameLobby game) {
+        if (!claim(redPlayer, game))
+            return false;
+        if (!claim(whitePlayer, game)) {
+            // give back the red player, but only from this game
+            playersToGames.remove(redPlayer, game);
+            return false;
+        }
+        return true;
+    }
 
-        return gameCounter;
+    /**
+     * Puts a player into a game if they are free. The computer is always free and is never put into one game.
+     */
+    private boolean claim(Player player, GameLobby game) {
+        return player instanceof ComputerPlayer || playersToGames.putIfAbsent(player, game) == null;
     }
 
     /**
@@ -111,12 +154,11 @@ public class PlayerLobby {
     public void endGame(int gameId, String gameOverReason) {
         GameLobby game = gameIDtoGames.get(gameId);
         game.markGameAsDone(gameOverReason);
+        liveGames.remove(gameId);
 
-        playersToGames.remove(game.getRedPlayer());
-        usersInGame.remove(game.getRedPlayer());
-
-        playersToGames.remove(game.getWhitePlayer());
-        usersInGame.remove(game.getWhitePlayer());
+        // only remove the players from this game, in case they have already started another one
+        playersToGames.remove(game.getRedPlayer(), game);
+        playersToGames.remove(game.getWhitePlayer(), game);
     }
 
     /**
@@ -126,7 +168,7 @@ public class PlayerLobby {
      * @return the game the player is in
      */
     public GameLobby getGame(Player user) {
-        return playersToGames.get(user);
+        return user == null ? null : playersToGames.get(user);
     }
 
     /**
@@ -139,6 +181,21 @@ public class PlayerLobby {
         return gameIDtoGames.get(gameID);
     }
 
+    /**
+     * Gets the games still being played, which can be watched
+     *
+     * @return the games in progress, by game ID
+     */
+    public List<GameLobby> getGames() {
+        List<GameLobby> games = new ArrayList<>();
+        for (GameLobby game : liveGames.values())
+            // a game may have ended on its own and not yet been taken off the live games
+            if (!game.getSnapshot().isGameDone())
+                games.add(game);
+        games.sort(Comparator.comparingInt(GameLobby::getGameID));
+        return games;
+    }
+
     /**
      * Removes a user from the game
      *
@@ -146,7 +203,8 @@ public class PlayerLobby {
      */
     public void removeUserFromGame(String user) {
         Player player = users.get(user);
-        usersInGame.put(player, false);
+        if (player != null)
+            playersToGames.remove(player);
     }
 
     /**
@@ -0,0 +1,470 @@
+package com.webcheckers.model;
+
+import java.util.Base64;
+import java.util.SplittableRandom;
+
+/**
+ * The state of a checkers board, stored as three 32-bit masks over the 32 playable (dark) squares.
+ * <p>
+ * Square {@code s} is bit {@code s} of each mask. Squares are numbered left to right, top to bottom, four to a row,
+ * so row {@code r} holds squares {@code 4r} through {@code 4r + 3}. On even rows the playable cells are the odd
+ * columns and on odd rows they are the even columns, which matches the layout of {@link Row}.
+ * <p>
+ * Rotating the board half a turn maps square {@code s} to {@code 31 - s}, so flipping a whole mask to the other
+ * player's point of view is a single {@link Integer#reverse(int)}.
+ * <p>
+ * Each board also keeps a 64-bit Zobrist hash of its pieces: the XOR of a random key for each piece on each square.
+ * Every change XORs out the keys of the squares it changes and XORs in their new ones, so the hash is always up to
+ * date for the cost of the squares changed, and two boards are told apart by one comparison. The keys come from a
+ * fixed seed, so a position has the same hash in every run and hashes can be kept between runs.
+ *
+ * @author Chris Piccoli
+ */
+public class Board {
+    public static final int NUM_ROWS = 8;
+    public static final int NUM_SQUARES = 32;
+    public static final int ENCODED_LENGTH = 16;
+
+    // the squares on rows 0, 2, 4 and 6 and on rows 1, 3, 5 and 7
+    static final int EVEN_ROWS = 0x0F0F0F0F;
+    static final int ODD_ROWS = 0xF0F0F0F0;
+    // the squares in column 0 (only odd rows have one) and in column 7 (only even rows have one)
+    static final int LEFT_EDGE = 0x10101010;
+    static final int RIGHT_EDGE = 0x08080808;
+    // the squares on row 0 and on row 7
+    static final int TOP_ROW = 0x0000000F;
+    static final int BOTTOM_ROW = 0xF0000000;
+    // the squares each player starts on
+    static final int TOP_START = 0x00000FFF;
+    static final int BOTTOM_START = 0xFFF00000;
+
+    // the Zobrist keys: one per square for a red single, a red king, a white single and a white king, in that order
+    private static final long[] KEYS = new long[4 * NUM_SQUARES];
+    // XORed into a position's hash when white is to move
+    private static final long WHITE_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_C0DE_CAFEL);
+        for (int i = 0; i < KEYS.length; i++)
+            KEYS[i] = random.nextLong();
+        WHITE_TO_MOVE = random.nextLong();
+    }
+
+    private int red;
+    private int white;
+    private int kings;
+    private long hash;
+
+    /**
+     * Creates an empty board
+     */
+    public Board() {
+        this(0, 0, 0);
+    }
+
+    /**
+     * Creates a board in the starting position, with bottomColor's pieces on rows 5 to 7
+     *
+     * @param bottomColor the color of the player at the bottom of the board
+     */
+    public Board(Piece.COLOR bottomColor) {
+        if (bottomColor == Piece.COLOR.RED)
+            update(BOTTOM_START, TOP_START, 0);
+        else
+            update(TOP_START, BOTTOM_START, 0);
+    }
+
+    /**
+     * Creates a board from its masks
+     *
+     * @param red   the squares holding red pieces
+     * @param white the squares holding white pieces
+     * @param kings the squares holding kings of either color
+     */
+    public Board(int red, int white, int kings) {
+        update(red, white, kings & (red | white));
+    }
+
+    /**
+     * Copies another board
+     *
+     * @param other the board to copy
+     */
+    public Board(Board other) {
+        set(other);
+    }
+
+    /**
+     * Gets the square index of a cell on the board
+     *
+     * @param row  the row of the cell, 0 to 7
+     * @param cell the column of the cell, 0 to 7
+     * @return the square index, or -1 if the cell is off the board or is not a playable square
+     */
+    public static int square(int row, int cell) {
+        if (row < 0 || row >= NUM_ROWS || cell < 0 || cell >= NUM_ROWS || (row + cell) % 2 == 0)
+            return -1;
+        return row * 4 + cell / 2;
+    }
+
+    /**
+     * Gets the square index of a position on the board
+     *
+     * @param position the position
+     * @return the square index, or -1 if the position is not a playable square
+     */
+    public static int square(Position position) {
+        return square(position.getRow(), position.getCell());
+    }
+
+    /**
+     * Gets the row of a square
+     *
+     * @param square the square index
+     * @return the row the square is on
+     */
+    public static int row(int square) {
+        return square >> 2;
+    }
+
+    /**
+     * Gets the column of a square
+     *
+     * @param square the square index
+     * @return the column the square is in
+     */
+    public static int cell(int square) {
+        return 2 * (square & 3) + (1 - ((square >> 2) & 1));
+    }
+
+    //
+    // Direction shifts. Each moves every bit of the mask one step diagonally, dropping bits that would leave the board.
+    //
+
+    static int upLeft(int mask) {
+        return ((mask & EVEN_ROWS) >>> 4) | ((mask & ODD_ROWS & ~LEFT_EDGE) >>> 5);
+    }
+
+    static int upRight(int mask) {
+        return ((mask & EVEN_ROWS & ~RIGHT_EDGE) >>> 3) | ((mask & ODD_ROWS) >>> 4);
+    }
+
+    static int downLeft(int mask) {
+        return ((mask & EVEN_ROWS) << 4) | ((mask & ODD_ROWS & ~LEFT_EDGE) << 3);
+    }
+
+    static int downRight(int mask) {
+        return ((mask & EVEN_ROWS & ~RIGHT_EDGE) << 5) | ((mask & ODD_ROWS) << 4);
+    }
+
+    /**
+     * Gets the squares holding pieces of a color
+     *
+     * @param color the color of the pieces
+     * @return mask of the squares holding that color's pieces
+     */
+    public int getPieces(Piece.COLOR color) {
+        return color == Piece.COLOR.RED ? red : white;
+    }
+
+    /**
+     * @return mask of the squares holding kings of either color
+     */
+    public int getKings() {
+        return kings;
+    }
+
+    /**
+     * @return the Zobrist hash of the pieces on the board
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets the hash of the position with a player to move, so the same pieces with the other player to move hash
+     * differently
+     *
+     * @param toMove the color whose turn it is
+     * @return the Zobrist hash of the position
+     */
+    public long getHash(Piece.COLOR toMove) {
+        return toMove == Piece.COLOR.WHITE ? hash ^ WHITE_TO_MOVE : hash;
+    }
+
+    /**
+     * Counts the pieces of a color, kings included
+     *
+     * @param color the color of the pieces
+     * @return how many pieces that color has left
+     */
+    public int countPieces(Piece.COLOR color) {
+        return Integer.bitCount(getPieces(color));
+    }
+
+    /**
+     * Counts the kings of a color
+     *
+     * @param color the color of the kings
+     * @return how many kings that color has
+     */
+    public int countKings(Piece.COLOR color) {
+        return Integer.bitCount(getPieces(color) & kings);
+    }
+
+    /**
+     * @return mask of the playable squares without a piece on them
+     */
+    public int getEmpty() {
+        return ~(red | white);
+    }
+
+    /**
+     * Checks if there is a piece on a square
+     *
+     * @param square the square index
+     * @return true if a piece is on the square
+     */
+    public boolean isOccupied(int square) {
+        return ((red | white) & (1 << square)) != 0;
+    }
+
+    /**
+     * Gets the color of the piece on a square
+     *
+     * @param square the square index
+     * @return the color of the piece, or null if the square is empty
+     */
+    public Piece.COLOR getColor(int square) {
+        int bit = 1 << square;
+        if ((red & bit) != 0)
+            return Piece.COLOR.RED;
+        else if ((white & bit) != 0)
+            return Piece.COLOR.WHITE;
+        return null;
+    }
+
+    /**
+     * Checks if the piece on a square is a king
+     *
+     * @param square the square index
+     * @return true if there is a king on the square
+     */
+    public boolean isKing(int square) {
+        return (kings & (1 << square)) != 0;
+    }
+
+    /**
+     * Places a piece on a square, replacing whatever was there
+     *
+     * @param square the square index
+     * @param color  the color of the piece
+     * @param king   whether the piece is a king
+     */
+    public void place(int square, Piece.COLOR color, boolean king) {
+        int bit = 1 << square;
+        int keep = ~bit;
+        update(color == Piece.COLOR.RED ? red | bit : red & keep, color == Piece.COLOR.RED ? white & keep : white | bit,
+                king ? kings | bit : kings & keep);
+    }
+
+    /**
+     * Removes the piece from a square, if there is one
+     *
+     * @param square the square index
+     */
+    public void remove(int square) {
+        int keep = ~(1 << square);
+        update(red & keep, white & keep, kings & keep);
+    }
+
+    /**
+     * Makes the piece on a square a king
+     *
+     * @param square the square index
+     */
+    public void crown(int square) {
+        update(red, white, kings | ((1 << square) & (red | white)));
+    }
+
+    /**
+     * Moves the piece on one square to another, keeping its color and type. Anything on the destination is replaced.
+     *
+     * @param from the square the piece is on
+     * @param to   the square the piece moves to
+     */
+    public void move(int from, int to) {
+        Piece.COLOR color = getColor(from);
+        if (color == null)
+            throw new IllegalArgumentException("There is no piece on square " + from);
+        if (from == to)
+            return;
+        boolean king = isKing(from);
+        remove(from);
+        place(to, color, king);
+    }
+
+    /**
+     * Makes this board a copy of another one
+     *
+     * @param other the board to copy
+     */
+    public void set(Board other) {
+        red = other.red;
+        white = other.white;
+        kings = other.kings;
+        hash = other.hash;
+    }
+
+    /**
+     * Sets every square at once
+     *
+     * @param red   the squares holding red pieces
+     * @param white the squares holding white pieces
+     * @param kings the squares holding kings of either color
+     */
+    void set(int red, int white, int kings) {
+        update(red, white, kings & (red | white));
+    }
+
+    /**
+     * Plays a move produced by {@link MoveGenerator}, removing the pieces it captures
+     *
+     * @param move a move packed by {@link MoveList}
+     */
+    public void apply(long move) {
+        int captured = MoveList.captured(move);
+        update(red & ~captured, white & ~captured, kings & ~captured);
+        move(MoveList.from(move), MoveList.to(move));
+        if (MoveList.crowns(move))
+            crown(MoveList.to(move));
+    }
+
+    /**
+     * Kings every single piece that has reached the far side of the board
+     *
+     * @param bottomColor the color of the player whose pieces start at the bottom and move up
+     */
+    public void crownPieces(Piece.COLOR bottomColor) {
+        int bottom = getPieces(bottomColor);
+        int top = bottomColor == Piece.COLOR.RED ? white : red;
+        update(red, white, kings | (bottom & TOP_ROW) | (top & BOTTOM_ROW));
+    }
+
+    /**
+     * Changes the masks, updating the hash for just the squares that change
+     *
+     * @param newRed   the squares holding red pieces
+     * @param newWhite the squares holding white pieces
+     * @param newKings the squares holding kings
+     */
+    private void update(int newRed, int newWhite, int newKings) {
+        int changed = (red ^ newRed) | (white ^ newWhite) | (kings ^ newKings);
+        while (changed != 0) {
+            int square = Integer.numberOfTrailingZeros(changed);
+            hash ^= key(red, white, kings, square) ^ key(newRed, newWhite, newKings, square);
+            changed &= changed - 1;
+        }
+        red = newRed;
+        white = newWhite;
+        kings = newKings;
+    }
+
+    /**
+     * Gets the Zobrist key of the piece on a square
+     *
+     * @param red    the squares holding red pieces
+     * @param white  the squares holding white pieces
+     * @param kings  the squares holding kings
+     * @param square the square index
+     * @return the key, or 0 if the square is empty
+     */
+    private static long key(int red, int white, int kings, int square) {
+        int bit = 1 << square;
+        if (((red | white) & bit) == 0)
+            return 0;
+        int piece = ((white & bit) != 0 ? 2 : 0) + ((kings & bit) != 0 ? 1 : 0);
+        return KEYS[piece * NUM_SQUARES + square];
+    }
+
+    /**
+     * Finds every piece of a color that has a capture available. A handful of shifts covers the whole board.
+     *
+     * @param color   the color of the capturing pieces
+     * @param movesUp true if the single pieces of that color move toward row 0
+     * @return mask of the squares holding a piece that can capture
+     */
+    public int jumpers(Piece.COLOR color, boolean movesUp) {
+        int movers = getPieces(color);
+        int opponents = color == Piece.COLOR.RED ? white : red;
+        int empty = getEmpty();
+        // squares with an opponent one step away and an empty square right behind it, in each vertical direction
+        int upJumpers = downRight(downRight(empty) & opponents) | downLeft(downLeft(empty) & opponents);
+        int downJumpers = upRight(upRight(empty) & opponents) | upLeft(upLeft(empty) & opponents);
+        int singles = movers & ~kings;
+        return (singles & (movesUp ? upJumpers : downJumpers)) | (movers & kings & (upJumpers | downJumpers));
+    }
+
+    /**
+     * Finds the squares that differ between two boards
+     *
+     * @param other the other board
+     * @return mask of the squares whose piece, color or rank is not the same on both boards
+     */
+    public int changedSquares(Board other) {
+        return (red ^ other.red) | (white ^ other.white) | (kings ^ other.kings);
+    }
+
+    /**
+     * Writes the board for sending to the browser: its red, white and king masks as twelve big-endian bytes, in
+     * URL-safe base64. The result is always {@value #ENCODED_LENGTH} characters.
+     *
+     * @return the encoded board
+     */
+    public String encode() {
+        byte[] bytes = new byte[12];
+        int[] masks = {red, white, kings};
+        for (int i = 0; i < 12; i++)
+            bytes[i] = (byte) (masks[i >> 2] >>> (24 - 8 * (i & 3)));
+        return Base64.getUrlEncoder().encodeToString(bytes);
+    }
+
+    /**
+     * Reads a board written by {@link #encode()}
+     *
+     * @param encoded the encoded board
+     * @return the board
+     * @throws IllegalArgumentException if the text is not an encoded board
+     */
+    public static Board decode(String encoded) {
+        if (encoded.length() != ENCODED_LENGTH)
+            throw new IllegalArgumentException("An encoded board is " + ENCODED_LENGTH + " characters.");
+        byte[] bytes = Base64.getUrlDecoder().decode(encoded);
+        int[] masks = new int[3];
+        for (int i = 0; i < 12; i++)
+            masks[i >> 2] = (masks[i >> 2] << 8) | (bytes[i] & 0xFF);
+        return new Board(masks[0], masks[1], masks[2]);
+    }
+
+    /**
+     * Compares the boards. Boards are equal if they have the same pieces on the same squares
+     *
+     * @param o the other object to compare to
+     * @return True if the pieces are in the same places
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Board)) return false;
+        Board other = (Board) o;
+        return hash == other.hash && red == other.red && white == other.white && kings == other.kings;
+    }
+
+    /**
+     * @return A hashcode of type integer.
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+}
@@ -8,26 +8,75 @@ import java.util.function.Consumer;
 
 /**
  * View of the valid board
+ * <p>
+ * The pieces live in a {@link Board} laid out from the red player's perspective. This class shows that board from
+ * one player's perspective, flipping rows and columns for the white player, and builds the {@link Row}s and
+ * {@link Space}s that game.ftl renders.
  *
  * @author Chris Piccoli, Adam Densman
  */
-public class BoardView implements Iterable<Row>{
-    private static final int NUM_ROWS = 8;
-    ArrayList<Row> Rows = new ArrayList<>();
+public class BoardView implements Iterable<Row> {
+    private static final int NUM_ROWS = Board.NUM_ROWS;
+    private final Board board;
+    private final Piece.COLOR orientation;
+    private final boolean flipped;
 
     /**
-     * Makes a BoardView with the orientation of currentUserColor at the bottom
+     * Makes a view of a board with the orientation of currentUserColor at the bottom
+     *
+     * @param board            the board, from the red player's perspective
+     * @param currentUserColor the player the board is shown to
+     */
+    public BoardView(Board board, Piece.COLOR currentUserColor) {
+        this.board = board;
+        this.orientation = currentUserColor;
+        this.flipped = currentUserColor == Piece.COLOR.WHITE;
+    }
+
+    /**
+     * Makes a BoardView of a new game with the orientation of currentUserColor at the bottom
      *
      * @param currentUserColor the current player
      */
     public BoardView(Piece.COLOR currentUserColor) {
-        if (currentUserColor != null) {
-            for (int i = 0; i < NUM_ROWS; i++) {
-                Rows.add(new Row(i, currentUserColor));
+        this(currentUserColor != null ? new Board(Piece.COLOR.RED) : new Board(), currentUserColor);
+    }
+
+    /**
+     * Second constructor for testing purposes. The rows are read from the red player's perspective.
+     *
+     * @param rowIterable the iterable to build the board
+     */
+    public BoardView(List<Row> rowIterable) {
+        this(new Board(), Piece.COLOR.RED);
+        for (int row = 0; row < rowIterable.size(); row++) {
+            for (Space space : rowIterable.get(row)) {
+                Piece piece = space.getPiece();
+                int square = Board.square(row, space.getCellIdx());
+                if (piece != null && square >= 0)
+                    board.place(square, piece.getColor(), piece.getType() == Piece.TYPE.KING);
             }
         }
     }
 
+    /**
+     * Gets the board state behind this view
+     *
+     * @return the board
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the color of the player at the bottom of this view
+     *
+     * @return the color of the player this board is shown to
+     */
+    public Piece.COLOR getOrientation() {
+        return orientation;
+    }
+
     /**
      * Checks to see if a piece is on the board at row, col
      * indexing starts at 0 and goes to 7
@@ -37,7 +86,8 @@ public class BoardView implements Iterable<Row>{
      * @return True if a piece is there, false otherwise
      */
     public boolean pieceAt(int row, int col) {
-        return Rows.get(row).getSpace(col).getPiece() != null;
+        int square = square(row, col);
+        return square >= 0 && board.isOccupied(square);
     }
 
     /**
@@ -57,10 +107,28 @@ public class BoardView implements Iterable<Row>{
      *
      * @param row the piece is in
      * @param col the piece is in
-     * @return Piece at row col on board
+     * @return Piece at row col on board, or null if there is none
      */
     public Piece getPiece(int row, int col) {
-        return Rows.get(row).getSpace(col).getPiece();
+        int square = square(row, col);
+        if (square < 0 || !board.isOccupied(square))
+            return null;
+        Piece piece = new Piece(board.getColor(square));
+        if (board.isKing(square))
+            piece.kingPiece();
+        return piece;
+    }
+
+    /**
+     * Get the color of the piece at the row col of the board, without making a {@link Piece}
+     *
+     * @param row the piece is in
+     * @param col the piece is in
+     * @return the color of the piece at row col, or null if there is none
+     */
+    public Piece.COLOR getColor(int row, int col) {
+        int square = square(row, col);
+        return square < 0 ? null : board.getColor(square);
     }
 
     /**
@@ -81,7 +149,7 @@ public class BoardView implements Iterable<Row>{
      * @param col   cell of the board to place the piece
      */
     public void placePiece(Piece.COLOR color, int row, int col) {
-        Rows.get(row).getSpace(col).placePiece(color);
+        board.place(playableSquare(row, col), color, false);
     }
 
     /**
@@ -102,11 +170,8 @@ public class BoardView implements Iterable<Row>{
      * @return True if Piece is king at row, col
      */
     public boolean isKing(int row, int col) {
-        Piece piece = getPiece(row, col);
-        if (piece == null) {
-            return false;
-        }
-        return piece.getType() == Piece.TYPE.KING;
+        int square = square(row, col);
+        return square >= 0 && board.isKing(square);
     }
 
     /**
@@ -116,26 +181,38 @@ public class BoardView implements Iterable<Row>{
      * @param col col the piece is at
      */
     public void kingPiece(int row, int col) {
-        if (Rows.get(row).getSpace(col).getPiece() != null)
-            Rows.get(row).getSpace(col).getPiece().kingPiece();
+        int square = square(row, col);
+        if (square >= 0)
+            board.crown(square);
     }
 
     /**
-     * Second constructor for testing purposes
+     * Kings every single piece that has reached the far side of the board
+     */
+    public void kingPieces() {
+        board.crownPieces(Piece.COLOR.RED);
+    }
+
+    /**
+     * Checks if a piece of the given color can capture, assuming its single pieces move up this view
      *
-     * @param rowIterable the iterable to build the board
+     * @param color the color of the capturing side
+     * @return true if any piece of that color has a capture available
      */
-    public BoardView(List<Row> rowIterable) {
-        Rows = new ArrayList<>(rowIterable);
+    public boolean canCapture(Piece.COLOR color) {
+        return board.jumpers(color, !flipped) != 0;
     }
 
     /**
-     * Get the last row of the board
+     * Checks if the piece at position can capture, assuming single pieces move up this view
      *
-     * @return the last row of the Board
+     * @param color    the color of the capturing side
+     * @param position where the piece is
+     * @return true if there is a piece of that color at position and it has a capture available
      */
-    public Row getLastRow() {
-        return Rows.get(Rows.size() - 1);
+    public boolean canCapture(Piece.COLOR color, Position position) {
+        int square = square(position.getRow(), position.getCell());
+        return square >= 0 && (board.jumpers(color, !flipped) & (1 << square)) != 0;
     }
 
     /**
@@ -144,17 +221,62 @@ public class BoardView implements Iterable<Row>{
      * @param move the move to be made
      */
     public void makeMove(Move move) {
-        Position start = move.getStart();
-        // removes the piece from the starting square
-        Piece piece = new Piece(Rows.get(start.getRow()).getSpace(start.getCell()).getPiece());
-        Rows.get(start.getRow()).getSpace(start.getCell()).removePiece();
-
-        Position end = move.getEnd();
-        Rows.get(end.getRow()).getSpace(end.getCell()).placePiece(piece);
+        board.move(playableSquare(move.getStart().getRow(), move.getStart().getCell()),
+                playableSquare(move.getEnd().getRow(), move.getEnd().getCell()));
     }
 
+    /**
+     * Removes the piece at row, col if there is one
+     *
+     * @param row the row of the piece
+     * @param col the column of the piece
+     */
     public void removePiece(int row, int col) {
-        Rows.get(row).getSpace(col).removePiece();
+        int square = square(row, col);
+        if (square >= 0)
+            board.remove(square);
+    }
+
+    /**
+     * Looks up the board square shown at row, col of this view
+     *
+     * @return the square index, or -1 if row, col is not a playable space
+     */
+    private int square(int row, int col) {
+        int square = Board.square(row, col);
+        return flipped && square >= 0 ? Board.NUM_SQUARES - 1 - square : square;
+    }
+
+    /**
+     * Looks up the board square shown at row, col of this view, which must be one pieces can stand on
+     */
+    private int playableSquare(int row, int col) {
+        int square = square(row, col);
+        if (square < 0)
+            throw new IllegalArgumentException("(" + row + ", " + col + ") is not a playable space");
+        return square;
+    }
+
+    /**
+     * Turns a mask of board squares into the squares shown by this view
+     */
+    private int oriented(int mask) {
+        return flipped ? Integer.reverse(mask) : mask;
+    }
+
+    /**
+     * Builds the rows the template renders. A view without an orientation has nothing to show.
+     *
+     * @return the rows of the board, top to bottom
+     */
+    private List<Row> buildRows() {
+        List<Row> rows = new ArrayList<>(NUM_ROWS);
+        if (orientation != null) {
+            for (int i = 0; i < NUM_ROWS; i++) {
+                rows.add(new Row(i, this));
+            }
+        }
+        return rows;
     }
 
     /**
@@ -164,7 +286,7 @@ public class BoardView implements Iterable<Row>{
      */
     @Override
     public Iterator<Row> iterator() {
-        return Rows.iterator();
+        return buildRows().iterator();
     }
 
     /**
@@ -174,7 +296,7 @@ public class BoardView implements Iterable<Row>{
      */
     @Override
     public void forEach(Consumer<? super Row> action) {
-        Rows.forEach(action);
+        buildRows().forEach(action);
     }
 
     /**
@@ -184,23 +306,24 @@ public class BoardView implements Iterable<Row>{
      */
     @Override
     public Spliterator<Row> spliterator() {
-        return Rows.spliterator();
+        return buildRows().spliterator();
     }
 
     @Override
     public String toString() {
-        String bd = "";
-        for (Row r : Rows) {
-            for (Space s : r) {
-                bd = bd.concat("|").concat(s.toString()).concat("|");
+        StringBuilder bd = new StringBuilder(NUM_ROWS * 25);
+        for (int row = 0; row < NUM_ROWS; row++) {
+            for (int col = 0; col < NUM_ROWS; col++) {
+                Piece.COLOR color = pieceAt(row, col) ? board.getColor(square(row, col)) : null;
+                bd.append('|').append(color == null ? ' ' : color == Piece.COLOR.RED ? 'R' : 'W').append('|');
             }
-            bd = bd.concat("\n");
+            bd.append('\n');
         }
-        return bd;
+        return bd.toString();
     }
 
     /**
-     * Compares the BoardViews. If the pieces are in the same spot in both BoardViews, then this returns true
+     * Compares the BoardViews. If the pieces are shown in the same spot in both BoardViews, then this returns true
      *
      * @param o the other object to compare to
      * @return True if the pieces are in the same places
@@ -209,9 +332,20 @@ public class BoardView implements Iterable<Row>{
     public boolean equals(Object o) {
         if (o instanceof BoardView) {
             BoardView other = (BoardView) o;
-            return this.toString().equals(other.toString());
+            return this.oriented(board.getPieces(Piece.COLOR.RED)) == other.oriented(other.board.getPieces(Piece.COLOR.RED))
+                    && this.oriented(board.getPieces(Piece.COLOR.WHITE)) == other.oriented(other.board.getPieces(Piece.COLOR.WHITE))
+                    && this.oriented(board.getKings()) == other.oriented(other.board.getKings());
         } else {
             return false;
         }
     }
+
+    /**
+     * @return A hashcode of type integer.
+     */
+    @Override
+    public int hashCode() {
+        return new Board(oriented(board.getPieces(Piece.COLOR.RED)), oriented(board.getPieces(Piece.COLOR.WHITE)),
+                oriented(board.getKings())).hashCode();
+    }
 }
@@ -0,0 +1,317 @@
+package com.webcheckers.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The result of perfect play from every position with few pieces, read from a file built by
+ * {@link TablebaseGenerator}
+ * <p>
+ * Positions are grouped into slices by how many single pieces and kings each side has. Within a slice each position
+ * has an index, worked out from where its pieces are rather than looked up, and the slice holds one byte per index:
+ * 0 if the position is a draw, or the number of plies until the game ends plus one, positive if the side to move
+ * wins and negative if it loses. Distances longer than 126 plies are stored as 126.
+ * <p>
+ * Each slice of the file is mapped into memory rather than read, so a tablebase of any size costs no heap. Looking a
+ * position up only reads the mapping, so any number of threads can look positions up at once without locks.
+ * <p>
+ * Boards looked up must be from the red player's perspective, with red's single pieces moving toward row 0.
+ *
+ * @author Chris Piccoli
+ */
+public class EndgameTablebase {
+    /**
+     * Returned by {@link #probe} for a position the tablebase doesn't hold
+     */
+    public static final int MISSING = Byte.MIN_VALUE;
+    /**
+     * The most pieces a tablebase can be built for
+     */
+    public static final int MAX_PIECES = 6;
+
+    // "WCTB", so a file that isn't a tablebase is not read as one
+    static final int MAGIC = 0x57435442;
+    // the magic number, the most pieces and the number of slices
+    static final int HEADER_BYTES = 12;
+    // each slice's signature and where it starts
+    static final int SLICE_BYTES = 12;
+    // the longest distance stored, in plies
+    static final int MAX_PLIES = 126;
+
+    // how many of each piece are in a slice, 3 bits each
+    private static final int COUNT_BITS = 3;
+    private static final int COUNT_MASK = 0x7;
+    // the squares a red single piece can stand on; it is crowned on row 0
+    private static final int RED_SINGLES = ~Board.TOP_ROW;
+    // combinations of up to MAX_PIECES squares out of 32
+    private static final int[][] BINOMIAL = new int[Board.NUM_SQUARES + 1][MAX_PIECES + 1];
+
+    static {
+        for (int n = 0; n <= Board.NUM_SQUARES; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, MAX_PIECES); k++)
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+        }
+    }
+
+    private final int maxPieces;
+    // each slice's mapping, by signature; null for a slice the tablebase doesn't have
+    private final ByteBuffer[] slices = new ByteBuffer[1 << 4 * COUNT_BITS];
+
+    /**
+     * Opens a tablebase
+     *
+     * @param file the tablebase's file
+     * @throws IOException if the file can't be read or isn't a tablebase
+     */
+    public EndgameTablebase(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES)
+                throw new IOException(file + " is not an endgame tablebase.");
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            int count = header.getInt(8);
+            maxPieces = header.getInt(4);
+            if (header.getInt(0) != MAGIC || maxPieces < 2 || maxPieces > MAX_PIECES || count < 0
+                    || channel.size() < HEADER_BYTES + (long) count * SLICE_BYTES)
+                throw new IOException(file + " is not an endgame tablebase.");
+            ByteBuffer directory = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES,
+                    (long) count * SLICE_BYTES);
+            for (int i = 0; i < count; i++) {
+                int signature = directory.getInt(i * SLICE_BYTES);
+                long offset = directory.getLong(i * SLICE_BYTES + 4);
+                if (signature < 0 || signature >= slices.length || offset + size(signature) > channel.size())
+                    throw new IOException(file + " is not a whole endgame tablebase.");
+                // the mappings stay valid once the channel is closed
+                slices[signature] = channel.map(FileChannel.MapMode.READ_ONLY, offset, size(signature));
+            }
+        }
+    }
+
+    /**
+     * @return the most pieces a position the tablebase holds can have
+     */
+    public int getMaxPieces() {
+        return maxPieces;
+    }
+
+    /**
+     * Looks a position up
+     *
+     * @param board the board
+     * @param color the side to move
+     * @return 0 for a draw, a value for which {@link #isWin} or {@link #isLoss} is true, or {@link #MISSING}
+     */
+    public int probe(Board board, Piece.COLOR color) {
+        int pieces = board.getPieces(Piece.COLOR.RED) | board.getPieces(Piece.COLOR.WHITE);
+        if (Integer.bitCount(pieces) > maxPieces)
+            return MISSING;
+        // a side with no pieces has lost
+        if (board.getPieces(color) == 0)
+            return -1;
+        if (board.getPieces(color == Piece.COLOR.RED ? Piece.COLOR.WHITE : Piece.COLOR.RED) == 0)
+            return MISSING;
+        ByteBuffer slice = slices[signature(board)];
+        if (slice == null || !isValid(board))
+            return MISSING;
+        return slice.get(index(board, color));
+    }
+
+    /**
+     * Picks the move perfect play makes: the quickest win, else a draw, else the slowest loss
+     *
+     * @param board the board
+     * @param color the side to move
+     * @return the move, packed by {@link MoveList}, or {@link MoveSearch#NO_MOVE} if the tablebase doesn't hold the
+     * position or color has no legal move
+     */
+    public long bestMove(Board board, Piece.COLOR color) {
+        if (probe(board, color) == MISSING)
+            return MoveSearch.NO_MOVE;
+        MoveList moves = new MoveList();
+        MoveGenerator.generate(board, color, color == Piece.COLOR.RED, moves);
+        Piece.COLOR opponent = color == Piece.COLOR.RED ? Piece.COLOR.WHITE : Piece.COLOR.RED;
+        Board child = new Board();
+        long best = MoveSearch.NO_MOVE;
+        int bestScore = Integer.MIN_VALUE;
+        for (int i = 0; i < moves.size(); i++) {
+            child.set(board);
+            child.apply(moves.get(i));
+            // the opponent's loss is this side's win
+            int value = probe(child, opponent);
+            int score = value == MISSING ? Integer.MIN_VALUE + 1 : value == 0 ? 0
+                    : value < 0 ? 2 * MAX_PLIES - plies(value) : -2 * MAX_PLIES + plies(value);
+            if (score > bestScore) {
+                bestScore = score;
+                best = moves.get(i);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @param value a value from {@link #probe}
+     * @return true if the side to move wins
+     */
+    public static boolean isWin(int value) {
+        return value > 0;
+    }
+
+    /**
+     * @param value a value from {@link #probe}
+     * @return true if the side to move loses
+     */
+    public static boolean isLoss(int value) {
+        return value < 0 && value != MISSING;
+    }
+
+    /**
+     * @param value a value from {@link #probe} that is a win or a loss
+     * @return how many plies until the game ends
+     */
+    public static int plies(int value) {
+        return Math.abs(value) - 1;
+    }
+
+    //
+    // Indexing, shared with the generator
+    //
+
+    /**
+     * Gets the signature of a slice
+     *
+     * @return the slice's signature, a small number
+     */
+    static int signature(int redSingles, int redKings, int whiteSingles, int whiteKings) {
+        return redSingles | redKings << COUNT_BITS | whiteSingles << 2 * COUNT_BITS | whiteKings << 3 * COUNT_BITS;
+    }
+
+    /**
+     * Gets the signature of the slice a board is in
+     */
+    static int signature(Board board) {
+        int red = board.getPieces(Piece.COLOR.RED);
+        int white = board.getPieces(Piece.COLOR.WHITE);
+        int kings = board.getKings();
+        return signature(Integer.bitCount(red & ~kings), Integer.bitCount(red & kings),
+                Integer.bitCount(white & ~kings), Integer.bitCount(white & kings));
+    }
+
+    /**
+     * Gets how many of one kind of piece a slice has
+     *
+     * @param kind 0 for red singles, 1 for red kings, 2 for white singles and 3 for white kings
+     */
+    static int count(int signature, int kind) {
+        return signature >>> kind * COUNT_BITS & COUNT_MASK;
+    }
+
+    /**
+     * Gets how many indexes a slice has. Red singles are placed first, on the squares they can stand on, then white
+     * singles, red kings and white kings each on the squares left.
+     */
+    static long size(int signature) {
+        int redSingles = count(signature, 0);
+        int whiteSingles = count(signature, 2);
+        int redKings = count(signature, 1);
+        return 2L * BINOMIAL[Integer.bitCount(RED_SINGLES)][redSingles]
+                * BINOMIAL[Board.NUM_SQUARES - redSingles][whiteSingles]
+                * BINOMIAL[Board.NUM_SQUARES - redSingles - whiteSingles][redKings]
+                * BINOMIAL[Board.NUM_SQUARES - redSingles - whiteSingles - redKings][count(signature, 3)];
+    }
+
+    /**
+     * Gets a board's index in its slice
+     */
+    static int index(Board board, Piece.COLOR color) {
+        int kings = board.getKings();
+        int redSingles = board.getPieces(Piece.COLOR.RED) & ~kings;
+        int whiteSingles = board.getPieces(Piece.COLOR.WHITE) & ~kings;
+        int redKings = board.getPieces(Piece.COLOR.RED) & kings;
+        int whiteKings = board.getPieces(Piece.COLOR.WHITE) & kings;
+
+        int free = ~redSingles;
+        int index = rank(redSingles, RED_SINGLES);
+        index = index * BINOMIAL[Integer.bitCount(free)][Integer.bitCount(whiteSingles)] + rank(whiteSingles, free);
+        free &= ~whiteSingles;
+        index = index * BINOMIAL[Integer.bitCount(free)][Integer.bitCount(redKings)] + rank(redKings, free);
+        free &= ~redKings;
+        index = index * BINOMIAL[Integer.bitCount(free)][Integer.bitCount(whiteKings)] + rank(whiteKings, free);
+        return 2 * index + (color == Piece.COLOR.WHITE ? 1 : 0);
+    }
+
+    /**
+     * Sets a board to the position at an index of a slice
+     *
+     * @return the side to move
+     */
+    static Piece.COLOR position(int signature, int index, Board board) {
+        int redSingleCount = count(signature, 0);
+        int whiteSingleCount = count(signature, 2);
+        int redKingCount = count(signature, 1);
+        int whiteKingCount = count(signature, 3);
+        Piece.COLOR color = (index & 1) == 0 ? Piece.COLOR.RED : Piece.COLOR.WHITE;
+        int rest = index >>> 1;
+        int free = Board.NUM_SQUARES - redSingleCount - whiteSingleCount - redKingCount;
+        int whiteKingRank = rest % BINOMIAL[free][whiteKingCount];
+        rest /= BINOMIAL[free][whiteKingCount];
+        free += redKingCount;
+        int redKingRank = rest % BINOMIAL[free][redKingCount];
+        rest /= BINOMIAL[free][redKingCount];
+        free += whiteSingleCount;
+        int whiteSingleRank = rest % BINOMIAL[free][whiteSingleCount];
+        rest /= BINOMIAL[free][whiteSingleCount];
+
+        int redSingles = unrank(rest, redSingleCount, RED_SINGLES);
+        int whiteSingles = unrank(whiteSingleRank, whiteSingleCount, ~redSingles);
+        int redKings = unrank(redKingRank, redKingCount, ~redSingles & ~whiteSingles);
+        int whiteKings = unrank(whiteKingRank, whiteKingCount, ~redSingles & ~whiteSingles & ~redKings);
+        board.set(redSingles | redKings, whiteSingles | whiteKings, redKings | whiteKings);
+        return color;
+    }
+
+    /**
+     * @return false if a single piece stands where it would have been crowned; such indexes are never played
+     */
+    static boolean isValid(Board board) {
+        int singles = ~board.getKings();
+        return (board.getPieces(Piece.COLOR.RED) & singles & Board.TOP_ROW) == 0
+                && (board.getPieces(Piece.COLOR.WHITE) & singles & Board.BOTTOM_ROW) == 0;
+    }
+
+    /**
+     * Numbers a set of squares among the sets of the same size drawn from the squares allowed
+     */
+    private static int rank(int squares, int allowed) {
+        int rank = 0;
+        int k = 0;
+        for (int rest = squares; rest != 0; rest &= rest - 1) {
+            int square = Integer.numberOfTrailingZeros(rest);
+            // where the square falls among the allowed ones
+            int slot = Integer.bitCount(allowed & ((1 << square) - 1));
+            rank += BINOMIAL[slot][++k];
+        }
+        return rank;
+    }
+
+    /**
+     * Finds the set of count squares that {@link #rank} numbers rank
+     */
+    private static int unrank(int rank, int count, int allowed) {
+        int squares = 0;
+        int slot = Integer.bitCount(allowed);
+        for (int k = count; k >= 1; k--) {
+            do {
+                slot--;
+            } while (BINOMIAL[slot][k] > rank);
+            rank -= BINOMIAL[slot][k];
+            int rest = allowed;
+            for (int i = 0; i < slot; i++)
+                rest &= rest - 1;
+            squares |= Integer.lowestOneBit(rest);
+        }
+        return squares;
+    }
+}
@@ -0,0 +1,191 @@
+package com.webcheckers.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates every legal move for one side of a {@link Board}
+ * <p>
+ * Follows the rules of English draughts: if any capture is available the side must capture, a capture continues
+ * until the piece can jump no further, and a single piece that reaches the far row is crowned and its move ends. Each
+ * multi-jump is listed once as a whole move from its first to its last square. Moves are written into a
+ * {@link MoveList} so generating them does not allocate.
+ *
+ * @author Chris Piccoli
+ */
+public final class MoveGenerator {
+    // the diagonal directions, in the order the board shifts are tried
+    private static final int UP_LEFT = 0;
+    private static final int UP_RIGHT = 1;
+    private static final int DOWN_LEFT = 2;
+    private static final int DOWN_RIGHT = 3;
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Fills moves with every legal move for color, replacing whatever it held
+     *
+     * @param board   the board
+     * @param color   the side to move
+     * @param movesUp true if the single pieces of that color move toward row 0
+     * @param moves   the list to fill
+     * @return the number of legal moves
+     */
+    public static int generate(Board board, Piece.COLOR color, boolean movesUp, MoveList moves) {
+        moves.clear();
+        int jumpers = board.jumpers(color, movesUp);
+        if (jumpers != 0)
+            generateJumps(board, color, movesUp, jumpers, moves);
+        else
+            generateSteps(board, color, movesUp, moves);
+        return moves.size();
+    }
+
+    /**
+     * Checks if color has any legal move, without listing them
+     *
+     * @param board   the board
+     * @param color   the side to move
+     * @param movesUp true if the single pieces of that color move toward row 0
+     * @return true if color can move
+     */
+    public static boolean hasMove(Board board, Piece.COLOR color, boolean movesUp) {
+        if (board.jumpers(color, movesUp) != 0)
+            return true;
+        int movers = board.getPieces(color);
+        int kings = movers & board.getKings();
+        int forward = movesUp ? movers : kings, backward = movesUp ? kings : movers;
+        int targets = Board.upLeft(forward) | Board.upRight(forward) | Board.downLeft(backward)
+                | Board.downRight(backward);
+        return (targets & board.getEmpty()) != 0;
+    }
+
+    private static void generateSteps(Board board, Piece.COLOR color, boolean movesUp, MoveList moves) {
+        int movers = board.getPieces(color);
+        int kings = board.getKings();
+        int empty = board.getEmpty();
+        int farRow = movesUp ? Board.TOP_ROW : Board.BOTTOM_ROW;
+        while (movers != 0) {
+            int from = Integer.numberOfTrailingZeros(movers);
+            int bit = 1 << from;
+            movers &= movers - 1;
+            boolean king = (kings & bit) != 0;
+            int targets = 0;
+            for (int dir = UP_LEFT; dir <= DOWN_RIGHT; dir++) {
+                if (king || isForward(dir, movesUp))
+                    targets |= shift(dir, bit);
+            }
+            targets &= empty;
+            while (targets != 0) {
+                int to = Integer.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                moves.add(MoveList.encode(from, to, 0, !king && (farRow & (1 << to)) != 0));
+            }
+        }
+    }
+
+    private static void generateJumps(Board board, Piece.COLOR color, boolean movesUp, int jumpers, MoveList moves) {
+        int opponents = board.getPieces(color == Piece.COLOR.RED ? Piece.COLOR.WHITE : Piece.COLOR.RED);
+        int kings = board.getKings();
+        while (jumpers != 0) {
+            int from = Integer.numberOfTrailingZeros(jumpers);
+            jumpers &= jumpers - 1;
+            // the jumping piece leaves its square, so a king may land back on it
+            int empty = board.getEmpty() | (1 << from);
+            jump(from, from, 0, opponents, empty, (kings & (1 << from)) != 0, movesUp, moves);
+        }
+    }
+
+    /**
+     * Follows every continuation of a capture from the square at. Captured pieces stay on the board until the move is
+     * over, so they can be neither jumped again nor landed on.
+     */
+    private static void jump(int from, int at, int captured, int opponents, int empty, boolean king, boolean movesUp,
+                             MoveList moves) {
+        int bit = 1 << at;
+        int farRow = movesUp ? Board.TOP_ROW : Board.BOTTOM_ROW;
+        boolean jumped = false;
+        for (int dir = UP_LEFT; dir <= DOWN_RIGHT; dir++) {
+            if (!king && !isForward(dir, movesUp))
+                continue;
+            int over = shift(dir, bit) & opponents & ~captured;
+            int landing = shift(dir, over) & empty;
+            if (landing == 0)
+                continue;
+            jumped = true;
+            int to = Integer.numberOfTrailingZeros(landing);
+            if (!king && (landing & farRow) != 0)
+                // a single piece that is crowned ends its move
+                addUnique(moves, MoveList.encode(from, to, captured | over, true));
+            else
+                jump(from, to, captured | over, opponents, empty, king, movesUp, moves);
+        }
+        if (!jumped && captured != 0)
+            addUnique(moves, MoveList.encode(from, at, captured, false));
+    }
+
+    /**
+     * Splits a move into the steps a player makes for it: the move itself if it is a single step, or each jump of a
+     * multi-jump in the order it is made
+     *
+     * @param board the board before the move
+     * @param move  a packed move generated for that board
+     * @return the steps, from the red player's perspective
+     */
+    public static List<Move> steps(Board board, long move) {
+        List<Move> steps = new ArrayList<>();
+        int from = MoveList.from(move);
+        if (!MoveList.isJump(move)
+                || !path(from, MoveList.to(move), MoveList.captured(move), board.getEmpty() | (1 << from), steps))
+            steps.add(MoveList.toMove(move));
+        return steps;
+    }
+
+    /**
+     * Finds an order of jumps from the square at that takes every piece left in captured and ends on the square to
+     */
+    private static boolean path(int at, int to, int captured, int empty, List<Move> steps) {
+        if (captured == 0)
+            return at == to;
+        int bit = 1 << at;
+        for (int dir = UP_LEFT; dir <= DOWN_RIGHT; dir++) {
+            int over = shift(dir, bit) & captured;
+            int landing = shift(dir, over) & empty;
+            if (landing == 0)
+                continue;
+            int next = Integer.numberOfTrailingZeros(landing);
+            steps.add(new Move(new Position(Board.row(at), Board.cell(at)),
+                    new Position(Board.row(next), Board.cell(next))));
+            if (path(next, to, captured & ~over, empty, steps))
+                return true;
+            steps.remove(steps.size() - 1);
+        }
+        return false;
+    }
+
+    /**
+     * Kings can take the same pieces in a different order and end up in the same place; that is still one move
+     */
+    private static void addUnique(MoveList moves, long move) {
+        if (!moves.contains(move))
+            moves.add(move);
+    }
+
+    private static boolean isForward(int dir, boolean movesUp) {
+        return (dir == UP_LEFT || dir == UP_RIGHT) == movesUp;
+    }
+
+    private static int shift(int dir, int mask) {
+        switch (dir) {
+            case UP_LEFT:
+                return Board.upLeft(mask);
+            case UP_RIGHT:
+                return Board.upRight(mask);
+            case DOWN_LEFT:
+                return Board.downLeft(mask);
+            default:
+                return Board.downRight(mask);
+        }
+    }
+}
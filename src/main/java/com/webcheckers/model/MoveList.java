@@ -0,0 +1,179 @@
+package com.webcheckers.model;
+
+import java.util.Arrays;
+
+/**
+ * A reusable buffer of moves filled in by {@link MoveGenerator}
+ * <p>
+ * Each move is packed into a long so that filling the list does not allocate: the low 32 bits are the mask of the
+ * squares captured along the way, followed by the square the piece starts on, the square it ends on and whether the
+ * piece is crowned by the move. Squares are the {@link Board} square indices.
+ *
+ * @author Chris Piccoli
+ */
+public class MoveList {
+    // more than enough for any position reached in a real game; the buffer grows if one ever needs more
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private static final int FROM_SHIFT = 32;
+    private static final int TO_SHIFT = 37;
+    private static final long CROWNS = 1L << 42;
+    private static final long SQUARE_MASK = 0x1F;
+
+    private long[] moves;
+    private int size;
+
+    /**
+     * Creates an empty list
+     */
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list
+     *
+     * @param capacity the number of moves the list holds before it has to grow
+     */
+    public MoveList(int capacity) {
+        moves = new long[Math.max(1, capacity)];
+    }
+
+    /**
+     * Packs a move into a long
+     *
+     * @param from     the square the piece starts on
+     * @param to       the square the piece ends on
+     * @param captured mask of the squares captured, 0 for a simple move
+     * @param crowns   true if the piece becomes a king at the end of the move
+     * @return the packed move
+     */
+    public static long encode(int from, int to, int captured, boolean crowns) {
+        return (captured & 0xFFFFFFFFL) | ((long) from << FROM_SHIFT) | ((long) to << TO_SHIFT) | (crowns ? CROWNS : 0);
+    }
+
+    /**
+     * @param move a packed move
+     * @return the square the piece starts on
+     */
+    public static int from(long move) {
+        return (int) ((move >>> FROM_SHIFT) & SQUARE_MASK);
+    }
+
+    /**
+     * @param move a packed move
+     * @return the square the piece ends on
+     */
+    public static int to(long move) {
+        return (int) ((move >>> TO_SHIFT) & SQUARE_MASK);
+    }
+
+    /**
+     * @param move a packed move
+     * @return mask of the squares captured by the move
+     */
+    public static int captured(long move) {
+        return (int) move;
+    }
+
+    /**
+     * @param move a packed move
+     * @return true if the move captures at least one piece
+     */
+    public static boolean isJump(long move) {
+        return captured(move) != 0;
+    }
+
+    /**
+     * @param move a packed move
+     * @return true if the piece becomes a king at the end of the move
+     */
+    public static boolean crowns(long move) {
+        return (move & CROWNS) != 0;
+    }
+
+    /**
+     * Converts a packed move into a Move from the red player's perspective. A multi-jump becomes a single Move from
+     * its first to its last square.
+     *
+     * @param move a packed move
+     * @return the move
+     */
+    public static Move toMove(long move) {
+        int from = from(move), to = to(move);
+        return new Move(new Position(Board.row(from), Board.cell(from)), new Position(Board.row(to), Board.cell(to)));
+    }
+
+    /**
+     * Adds a move to the end of the list
+     *
+     * @param move a packed move
+     */
+    public void add(long move) {
+        if (size == moves.length)
+            moves = Arrays.copyOf(moves, size * 2);
+        moves[size++] = move;
+    }
+
+    /**
+     * Checks if the list already holds a move
+     *
+     * @param move a packed move
+     * @return true if it is in the list
+     */
+    public boolean contains(long move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param index the index of the move
+     * @return the packed move at index
+     */
+    public long get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        return moves[index];
+    }
+
+    /**
+     * Moves a move to the front of the list, keeping the others in the same order behind it
+     *
+     * @param move a packed move
+     * @return true if the move is in the list
+     */
+    public boolean moveToFront(long move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = move;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of moves in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if there are no moves in the list
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Empties the list, keeping its buffer
+     */
+    public void clear() {
+        size = 0;
+    }
+}
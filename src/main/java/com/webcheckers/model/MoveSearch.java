@@ -0,0 +1,328 @@
+package com.webcheckers.model;
+
+/**
+ * Picks a move for one side of a {@link Board} with an alpha-beta search
+ * <p>
+ * The search deepens one ply at a time until its time budget runs out, and plays the best move of the deepest search
+ * it finished. Each pass tries the last pass's best move first, which is usually still the best and lets alpha-beta
+ * cut away most of the other moves. Captures are followed past the nominal depth until the position is quiet, so a
+ * search never stops in the middle of an exchange.
+ * <p>
+ * What the search finds out about each position is kept in a {@link TranspositionTable}, which may be shared with
+ * other searches. A position met again, by another order of moves or in the next pass, is answered from the table
+ * when it was searched deep enough, and otherwise has the best move found for it tried first. Boards searched with
+ * one table must all be from the same player's perspective, as the table knows a position only by its pieces and
+ * the player to move.
+ * <p>
+ * With an {@link EndgameTablebase}, positions with few enough pieces are not searched at all but scored from the
+ * tablebase as the wins, losses and draws they are, so a search that reaches them plays them perfectly.
+ * <p>
+ * A search keeps a board and a {@link MoveList} for every ply and reuses them, so searching does not allocate. That
+ * also means one MoveSearch must only run one search at a time.
+ *
+ * @author Chris Piccoli
+ */
+public class MoveSearch {
+    /**
+     * Returned when the side to move has no legal move
+     */
+    public static final long NO_MOVE = 0;
+
+    // the score of a won position; a win found sooner scores higher
+    static final int WIN = 1_000_000;
+    // the deepest a search goes, captures included
+    static final int MAX_PLY = 64;
+    // scores beyond this are wins or losses, found by the search or in the tablebase, which are stored in the table
+    // as distances from the position itself
+    private static final int WIN_BOUND = WIN - MAX_PLY - EndgameTablebase.MAX_PLIES - 2;
+    // the table a search has when it isn't given one
+    static final int DEFAULT_TABLE_MEGABYTES = 1;
+    // the value of each piece, and the bonus for a single piece that has crossed into the other player's half
+    static final int SINGLE = 100;
+    static final int KING = 160;
+    static final int ADVANCED = 5;
+    // the halves of the board, rows 0 to 3 and rows 4 to 7
+    private static final int TOP_HALF = 0x0000FFFF;
+    private static final int BOTTOM_HALF = 0xFFFF0000;
+    // how many positions are searched between looks at the clock
+    private static final int CLOCK_INTERVAL = 1024;
+
+    private final TranspositionTable table;
+    // null when the search has no tablebase
+    private final EndgameTablebase tablebase;
+    private final Board[] boards = new Board[MAX_PLY + 1];
+    private final MoveList[] moves = new MoveList[MAX_PLY + 1];
+    private long deadline;
+    private boolean stopped;
+    // set by another thread to stop the search early
+    private volatile boolean cancelled;
+    private long nodes;
+    private int completedDepth;
+
+    /**
+     * Creates a search with a small table of its own
+     */
+    public MoveSearch() {
+        this(new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+    }
+
+    /**
+     * Creates a search
+     *
+     * @param table the table to keep what the search finds in, which other searches may share
+     */
+    public MoveSearch(TranspositionTable table) {
+        this(table, null);
+    }
+
+    /**
+     * Creates a search that scores positions with few pieces from a tablebase
+     *
+     * @param table     the table to keep what the search finds in, which other searches may share
+     * @param tablebase the tablebase, or null to search every position
+     */
+    public MoveSearch(TranspositionTable table, EndgameTablebase tablebase) {
+        this.table = table;
+        this.tablebase = tablebase;
+        for (int ply = 0; ply <= MAX_PLY; ply++) {
+            boards[ply] = new Board();
+            moves[ply] = new MoveList();
+        }
+    }
+
+    /**
+     * Finds the best move for color that can be found in the time given
+     *
+     * @param board   the board
+     * @param color   the side to move
+     * @param movesUp true if the single pieces of that color move toward row 0
+     * @param millis  how long the search may take
+     * @return the move, packed by {@link MoveList}, or {@link #NO_MOVE} if color has no legal move
+     */
+    public long search(Board board, Piece.COLOR color, boolean movesUp, long millis) {
+        return search(board, color, movesUp, millis, MAX_PLY - 1);
+    }
+
+    /**
+     * Finds the best move for color that can be found in the time given, searching no deeper than maxDepth
+     *
+     * @param board    the board
+     * @param color    the side to move
+     * @param movesUp  true if the single pieces of that color move toward row 0
+     * @param millis   how long the search may take
+     * @param maxDepth the deepest pass to search, in plies
+     * @return the move, packed by {@link MoveList}, or {@link #NO_MOVE} if color has no legal move
+     */
+    public long search(Board board, Piece.COLOR color, boolean movesUp, long millis, int maxDepth) {
+        prepare();
+        table.newSearch();
+        return run(board, color, movesUp, System.nanoTime() + millis * 1_000_000, maxDepth, 0);
+    }
+
+    /**
+     * Stops a search running on another thread. The search returns the best move of the deepest pass it finished.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Readies the search to be run by {@link #run}, clearing an earlier {@link #cancel()}
+     */
+    void prepare() {
+        cancelled = false;
+    }
+
+    /**
+     * Runs the search. Helpers of a parallel search start their passes at different depths and try the root moves
+     * in a different order, so they fill the shared table with positions the main search will want next.
+     *
+     * @param deadline when the search must stop, in {@link System#nanoTime()}
+     * @param helper   0 for the main search, or the helper's number
+     */
+    long run(Board board, Piece.COLOR color, boolean movesUp, long deadline, int maxDepth, int helper) {
+        this.deadline = deadline;
+        stopped = false;
+        nodes = 0;
+        completedDepth = 0;
+        boards[0].set(board);
+        MoveList rootMoves = moves[0];
+        if (MoveGenerator.generate(boards[0], color, movesUp, rootMoves) == 0)
+            return NO_MOVE;
+        long best = rootMoves.get(helper % rootMoves.size());
+        if (rootMoves.size() == 1)
+            return best;
+
+        for (int target = 1 + (helper & 1); target <= Math.min(maxDepth, MAX_PLY - 1); target++) {
+            int bestScore = -WIN - 1;
+            long bestThisPass = best;
+            // the best move so far goes first; only the order changes, not the moves
+            rootMoves.moveToFront(best);
+            for (int i = 0; i < rootMoves.size(); i++) {
+                long move = rootMoves.get(i);
+                boards[1].set(boards[0]);
+                boards[1].apply(move);
+                int score = -alphaBeta(1, target - 1, -WIN - 1, -bestScore, opponent(color), !movesUp);
+                if (stopped)
+                    break;
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestThisPass = move;
+                }
+            }
+            if (stopped)
+                break;
+            best = bestThisPass;
+            completedDepth = target;
+            // a forced win or loss is already as deep as it needs to be
+            if (Math.abs(bestScore) > WIN_BOUND)
+                break;
+        }
+        return best;
+    }
+
+    /**
+     * @return how many plies deep the last search finished, not counting captures followed past that depth
+     */
+    public int getDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * @return how many positions the last search looked at
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Scores the position on boards[ply] for color, which is to move, looking depth plies ahead
+     */
+    private int alphaBeta(int ply, int depth, int alpha, int beta, Piece.COLOR color, boolean movesUp) {
+        if (++nodes % CLOCK_INTERVAL == 0 && (cancelled || System.nanoTime() > deadline))
+            stopped = true;
+        if (stopped)
+            return 0;
+
+        Board board = boards[ply];
+        // the tablebase only knows boards where red moves up
+        if (tablebase != null && movesUp == (color == Piece.COLOR.RED)) {
+            int value = tablebase.probe(board, color);
+            if (value != EndgameTablebase.MISSING)
+                return fromTablebase(value, ply);
+        }
+        long hash = board.getHash(color);
+        long entry = table.probe(hash);
+        if (entry != TranspositionTable.MISSING && TranspositionTable.depth(entry) >= Math.max(depth, 0)) {
+            int score = fromTable(TranspositionTable.score(entry), ply);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER && score >= beta)
+                    || (bound == TranspositionTable.UPPER && score <= alpha))
+                return score;
+        }
+
+        MoveList list = moves[ply];
+        int count = MoveGenerator.generate(board, color, movesUp, list);
+        if (count == 0)
+            return -WIN + ply;
+        // keep going while there are captures to make, so a position is only scored once it is quiet
+        if (ply == MAX_PLY || (depth <= 0 && !MoveList.isJump(list.get(0))))
+            return evaluate(board, color, movesUp);
+        if (entry != TranspositionTable.MISSING && TranspositionTable.hasMove(entry))
+            tryFirst(list, TranspositionTable.from(entry), TranspositionTable.to(entry));
+
+        int alphaStart = alpha;
+        int best = -WIN - 1;
+        long bestMove = NO_MOVE;
+        for (int i = 0; i < count; i++) {
+            long move = list.get(i);
+            Board next = boards[ply + 1];
+            next.set(board);
+            next.apply(move);
+            int score = -alphaBeta(ply + 1, depth - 1, -beta, -alpha, opponent(color), !movesUp);
+            if (stopped)
+                return 0;
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha)
+                    alpha = score;
+                if (score >= beta)
+                    break;
+            }
+        }
+        int bound = best >= beta ? TranspositionTable.LOWER
+                : best > alphaStart ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+        table.store(hash, depth, bound, toTable(best, ply), bestMove);
+        return best;
+    }
+
+    /**
+     * Moves the first move between two squares to the front of the list
+     */
+    private static void tryFirst(MoveList list, int from, int to) {
+        for (int i = 0; i < list.size(); i++) {
+            long move = list.get(i);
+            if (MoveList.from(move) == from && MoveList.to(move) == to) {
+                list.moveToFront(move);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Makes a tablebase value a score, counting a win or loss from the root of the search
+     */
+    private static int fromTablebase(int value, int ply) {
+        if (EndgameTablebase.isWin(value))
+            return WIN - ply - EndgameTablebase.plies(value);
+        if (EndgameTablebase.isLoss(value))
+            return -WIN + ply + EndgameTablebase.plies(value);
+        return 0;
+    }
+
+    /**
+     * Makes a win or loss a distance from the position being stored rather than from the root of the search
+     */
+    private static int toTable(int score, int ply) {
+        if (score > WIN_BOUND)
+            return score + ply;
+        if (score < -WIN_BOUND)
+            return score - ply;
+        return score;
+    }
+
+    /**
+     * Makes a stored win or loss a distance from the root of the search again
+     */
+    private static int fromTable(int score, int ply) {
+        if (score > WIN_BOUND)
+            return score - ply;
+        if (score < -WIN_BOUND)
+            return score + ply;
+        return score;
+    }
+
+    /**
+     * Scores a position for color: the pieces each side has, and how far their single pieces have come
+     *
+     * @param board   the board
+     * @param color   the side the score is for
+     * @param movesUp true if the single pieces of that color move toward row 0
+     * @return the score; positive if color is ahead
+     */
+    static int evaluate(Board board, Piece.COLOR color, boolean movesUp) {
+        int mine = board.getPieces(color);
+        int theirs = board.getPieces(opponent(color));
+        int kings = board.getKings();
+        int myHalf = movesUp ? BOTTOM_HALF : TOP_HALF;
+        int score = SINGLE * (Integer.bitCount(mine & ~kings) - Integer.bitCount(theirs & ~kings))
+                + KING * (Integer.bitCount(mine & kings) - Integer.bitCount(theirs & kings));
+        return score + ADVANCED * (Integer.bitCount(mine & ~kings & ~myHalf)
+                - Integer.bitCount(theirs & ~kings & myHalf));
+    }
+
+    private static Piece.COLOR opponent(Piece.COLOR color) {
+        return color == Piece.COLOR.RED ? Piece.COLOR.WHITE : Piece.COLOR.RED;
+    }
+}
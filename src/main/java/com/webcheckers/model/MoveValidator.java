@@ -1,6 +1,5 @@
 package com.webcheckers.model;
 
-import com.google.gson.JsonObject;
 import com.webcheckers.application.GameLobby;
 
 import java.util.ArrayList;
@@ -23,10 +22,7 @@ public class MoveValidator {
      * @param board       the board from that player's perspective
      * @return Client response to update the board according to the move made or error message sent
      */
-    public JsonObject ValidateMove(Move move, Piece.COLOR currentTurn, BoardView board) {
-
-        JsonObject isMoveValid = new JsonObject();
-
+    public ValidationResult ValidateMove(Move move, Piece.COLOR currentTurn, BoardView board) {
 
         // checks if the move isnt adjacent or a jump
 
@@ -35,46 +31,29 @@ public class MoveValidator {
 
         // checks if the move is not forward and if the piece is not a king
         if (move.isBackward() && !is_king) {
-            isMoveValid.addProperty("type", "ERROR");
-            isMoveValid.addProperty("text", "You can only move backwards if your a king!");
-            return isMoveValid;
+            return ValidationResult.BACKWARD_NOT_KING;
         } else if (move.isHorizontal() || move.isVertical()) {
-            isMoveValid.addProperty("type", "ERROR");
-            isMoveValid.addProperty("text", "You can only move diagonally!");
-            return isMoveValid;
+            return ValidationResult.NOT_DIAGONAL;
         }//This also checks for forward on nonking pieces
         else if (!move.isAdjacentMove() && !is_capture) {
-            isMoveValid.addProperty("type", "ERROR");
-            isMoveValid.addProperty("text", "You can only move one space unless you take!");
-            return isMoveValid;
+            return ValidationResult.TOO_FAR;
         }// Checks that the last move was a capture if this move was a capture
         else if (moves.size() > 0 && move.isAdjacentMove()) {
-            isMoveValid.addProperty("type", "ERROR");
-            isMoveValid.addProperty("text", "You can only move once a turn without a capture!");
-            return isMoveValid;
+            return ValidationResult.ALREADY_MOVED;
         }//makes sure the next move isnt a capture after a normal move
         else if (moves.size() > 0 && move.isAdjacentMove()) {
-            isMoveValid.addProperty("type", "ERROR");
-            isMoveValid.addProperty("text", "You can't move then capture!");
-            return isMoveValid;
+            return ValidationResult.MOVE_THEN_CAPTURE;
         }// Checks if next move isn't with the same piece
         else if (moves.size() > 0 && !move.getStart().equals(getLastMove().getEnd())) {
-            isMoveValid.addProperty("type", "ERROR");
-            isMoveValid.addProperty("text", "You can only move one piece a turn!");
-            return isMoveValid;
+            return ValidationResult.ANOTHER_PIECE;
         }
 
         if (isAvailableCapture(board, currentTurn) && !is_capture) {
-            isMoveValid.addProperty("type", "ERROR");
-            isMoveValid.addProperty("text", "You must make available capture!");
-            return isMoveValid;
+            return ValidationResult.CAPTURE_REQUIRED;
         }
 
         moves.add(move);
-        isMoveValid.addProperty("type", "INFO");
-        isMoveValid.addProperty("text", "Yay a valid move.");
-
-        return isMoveValid;
+        return ValidationResult.VALID_MOVE;
     }
 
     /**
@@ -86,40 +65,29 @@ public class MoveValidator {
      * @return True if the jump is a valid capture of a piece, otherwise false
      */
     private static boolean isCapture(Move move, Piece.COLOR currentColor, BoardView board) {
-
-        Position currentPosition = move.getStart();
-        Position middle = move.getMiddle();
+        Position start = move.getStart();
         Position end = move.getEnd();
-        boolean validCapture = false;
 
-        // this doesn't check all the cases but looks so much better
-        // particularly that pieces can be captured 2 or more times
-
-        if (move.manhattanDistance() == 4)
-            // check for pieces being potentially stacked
-            if (!board.pieceAt(end.getRow(), end.getCell()))
-                // check to make sure a piece exists under the capture
-                if (middle != null)
-                    if (!(move.isBackward() && !board.isKing(currentPosition.getRow(), currentPosition.getCell()))) {
-                        // check that the piece is the opposite color
-                        if (board.pieceAt(middle.getRow(), middle.getCell())) {
-                            Piece piece = board.getPiece(middle.getRow(), middle.getCell());
-                            validCapture = piece.getColor() != currentColor;
-                        }
-                    }
-
-        return validCapture;
+        // a jump goes exactly two spaces along a diagonal
+        if (Math.abs(end.getRow() - start.getRow()) != 2 || Math.abs(end.getCell() - start.getCell()) != 2)
+            return false;
+
+        if (Board.square(start) < 0 || Board.square(end) < 0)
+            return false;
+        // the landing space must be free and only kings may jump backwards
+        if (board.pieceAt(end) || (move.isBackward() && !board.isKing(start.getRow(), start.getCell())))
+            return false;
+        // the piece being jumped, halfway along the jump, must be the opposite color
+        Piece.COLOR jumped = board.getColor((start.getRow() + end.getRow()) / 2, (start.getCell() + end.getCell()) / 2);
+        return jumped != null && jumped != currentColor;
     }
 
-
-
     /**
      * Validates the turn of a player
      *
      * @return The response sent to the client to update the board or sent a message
      */
-    public JsonObject ValidateTurn(BoardView red, BoardView white, Piece.COLOR currentColor) {
-        JsonObject validTurn = new JsonObject();
+    public ValidationResult ValidateTurn(BoardView red, BoardView white, Piece.COLOR currentColor) {
         Move lastmove = getLastMove();
         BoardView currentBoard;
         if (currentColor == Piece.COLOR.RED)
@@ -130,15 +98,11 @@ public class MoveValidator {
         if (!lastmove.isAdjacentMove()
                 //check if the piece can make a capture from their current position
                 && pieceCanCapture(currentBoard, currentColor, lastmove.getEnd())) {
-            validTurn.addProperty("type", "ERROR");
-            validTurn.addProperty("text", "Invalid Turn Legal Capture available");
-        } else {
-            validTurn.addProperty("type", "INFO");
-            validTurn.addProperty("text", "Valid Turn");
-            //removePieces(red, white);
-            turnDone();
+            return ValidationResult.CAPTURE_AVAILABLE;
         }
-        return validTurn;
+        //removePieces(red, white);
+        turnDone();
+        return ValidationResult.VALID_TURN;
     }
 
     /**
@@ -157,8 +121,7 @@ public class MoveValidator {
      * @param game the current game
      * @return the client response to update the board or send a message
      */
-    public JsonObject undoMove(GameLobby game) {
-        JsonObject status = new JsonObject();
+    public ValidationResult undoMove(GameLobby game) {
         if (moves.size() > 0) {
             Move lastMove = getLastMove();
             // the opposite of the last move made
@@ -168,28 +131,13 @@ public class MoveValidator {
 
             // was this a capture
             if (!lastMove.isAdjacentMove()) {
-                Position middle = lastMove.getMiddle();
-                Position middleReflect = middle.reflect();
-                BoardView red = game.getRedBoard();
-                BoardView white = game.getWhiteBoard();
                 //put the piece back
-                if (game.getActiveColor() == Piece.COLOR.RED) {
-                    red.placePiece(game.getInactiveColor(), middle);
-                    white.placePiece(game.getInactiveColor(), middleReflect);
-                } else {
-                    white.placePiece(game.getInactiveColor(), middle);
-                    red.placePiece(game.getInactiveColor(), middleReflect);
-                }
-
+                game.getActiveBoard().placePiece(game.getInactiveColor(), lastMove.getMiddle());
             }
 
-            status.addProperty("type", "INFO");
-            status.addProperty("text", "Yay you backed up your move!");
-        } else {
-            status.addProperty("type", "ERROR");
-            status.addProperty("text", "You have no moves to back up?");
+            return ValidationResult.BACKED_UP;
         }
-        return status;
+        return ValidationResult.NOTHING_TO_BACK_UP;
     }
     /**
      * Is called after each turn is over, clears the log of move(s) made on that turn
@@ -200,58 +148,21 @@ public class MoveValidator {
 
     /**
      * Checks if there are any available captures for the current user on the board
+     * <p>
+     * Once a move has been made this turn, only the piece that moved may keep capturing.
      *
      * @param board        the current boardstate
      * @param currentColor the color of the players turn
      * @return true if there is a legal capture, false otherwise
      */
     public boolean isAvailableCapture(BoardView board, Piece.COLOR currentColor) {
-        // iterate through each row
-        for (Row row : board) {
-            // iterate through each space in a row
-            for (Space space : row) {
-                // get the pieces on each space
-                Piece piece = space.getPiece();
-                //Check to make sure piece actually exists
-                if (piece != null)
-                    // is this piece the same color as the users turn
-                    if (piece.getColor() == currentColor)
-                        // are there captures this piece can legally make
-                        if (isAvailableCapture(board, currentColor, space, row))
-                            return true;
-
-            }
-        }
-        return false;
+        if (moves.size() > 0)
+            return pieceCanCapture(board, currentColor, getLastMove().getEnd());
+        return board.canCapture(currentColor);
     }
 
     /**
-     * Returns whether or not the piece on the space can make a legal capture
-     * <p>
-     * Must have a piece of color current users turn on the space
-     *
-     * @param board current board state
-     * @param space the space in question
-     * @return true if there is a legal capture at space
-     */
-    private boolean isAvailableCapture(BoardView board, Piece.COLOR currentColor, Space space, Row row) {
-        Position currentPosition = new Position(row.getIndex(), space.getCellIdx());
-        // check to see if any other moves have been made
-        if (moves.size() > 0) {
-            Position end = getLastMove().getEnd();
-            // make sure that if a move has been made we check if this is the piece that has been moved
-            if (currentPosition.equals(end)) {
-                // can it capture any pieces legally
-                return pieceCanCapture(board, currentColor, currentPosition);
-            } else
-                return false;
-        }
-        return pieceCanCapture(board, currentColor, currentPosition);
-    }
-
-    /**
-     * Checks all available spaces a distance 2 away
-     * to see if they have a legal jump
+     * Checks whether the piece at position has a legal jump
      *
      * @param board    The boardstate being checked
      * @param color    the color of the piece moving
@@ -259,26 +170,7 @@ public class MoveValidator {
      * @return true if there is a capture, false otherwise
      */
     private static boolean pieceCanCapture(BoardView board, Piece.COLOR color, Position position) {
-        int col = position.getCell(), row = position.getRow();
-        int left = col - 2, right = col + 2, up = row + 2, down = row - 2;
-
-        Move rightUp = new Move(position, new Position(row + 2, col + 2));
-        Move leftUp = new Move(position, new Position(row + 2, col - 2));
-        Move rightDown = new Move(position, new Position(row - 2, col + 2));
-        Move leftDown = new Move(position, new Position(row - 2, col - 2));
-
-        if (up < 8) {
-            if (right < 8 && isCapture(rightUp, color, board))
-                return true;
-            else if (left >= 0 && isCapture(leftUp, color, board))
-                return true;
-        }
-        if (down >= 0) {
-            if (right < 8 && isCapture(rightDown, color, board))
-                return true;
-            else return left >= 0 && isCapture(leftDown, color, board);
-        }
-        return false;
+        return board.canCapture(color, position);
     }
 
 }
@@ -0,0 +1,166 @@
+package com.webcheckers.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Moves known to be good in the first moves of a game, read from a file built by {@link OpeningBookBuilder}
+ * <p>
+ * The file is a short header and then one record per move: the hash of the position it is played in, from
+ * {@link Board#getHash(Piece.COLOR)}, the squares it moves between and how many games it was played in. Records are
+ * sorted by hash, so a position's moves are next to each other and found by a binary search. The file is mapped into
+ * memory rather than read, so a book of any size costs no heap and is shared by every thread that looks moves up.
+ * <p>
+ * Boards looked up must be from the red player's perspective, as the book was built from.
+ *
+ * @author Chris Piccoli
+ */
+public class OpeningBook {
+    // "WCBK", so a file that isn't a book is not read as one
+    static final int MAGIC = 0x5743424B;
+    // the magic number, the number of records and the hash of the starting position
+    static final int HEADER_BYTES = 16;
+    // the hash, the squares moved from and to, and the weight
+    static final int RECORD_BYTES = 12;
+    // the most games a record can count
+    static final int MAX_WEIGHT = 0xFFFF;
+
+    private final ByteBuffer records;
+    private final int size;
+
+    /**
+     * Opens a book
+     *
+     * @param file the book's file
+     * @throws IOException if the file can't be read or isn't a book for this version of the board
+     */
+    public OpeningBook(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES)
+                throw new IOException(file + " is not an opening book.");
+            // the mapping stays valid once the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC)
+            throw new IOException(file + " is not an opening book.");
+        size = buffer.getInt(4);
+        if (size < 0 || buffer.capacity() != HEADER_BYTES + (long) size * RECORD_BYTES)
+            throw new IOException(file + " is not a whole opening book.");
+        // a book built with other hash keys would find nothing, or the wrong moves
+        if (buffer.getLong(8) != new Board(Piece.COLOR.RED).getHash(Piece.COLOR.RED))
+            throw new IOException(file + " was built for a different board and must be built again.");
+        records = buffer;
+    }
+
+    /**
+     * @return how many moves the book holds
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Picks a book move for color, choosing between the book's moves in proportion to how often each was played
+     *
+     * @param board   the board
+     * @param color   the side to move
+     * @param movesUp true if the single pieces of that color move toward row 0
+     * @param random  picks between the moves
+     * @return the move, packed by {@link MoveList}, or {@link MoveSearch#NO_MOVE} if the book has no move for the
+     * position
+     */
+    public long lookup(Board board, Piece.COLOR color, boolean movesUp, Random random) {
+        long hash = board.getHash(color);
+        int first = find(hash);
+        if (first == size)
+            return MoveSearch.NO_MOVE;
+        MoveList legal = new MoveList();
+        MoveGenerator.generate(board, color, movesUp, legal);
+
+        // only the moves that are legal here count, in case of a hash that two positions share
+        int total = 0;
+        for (int i = first; i < size && hash(i) == hash; i++) {
+            if (legalMove(legal, i) != MoveSearch.NO_MOVE)
+                total += weight(i);
+        }
+        if (total == 0)
+            return MoveSearch.NO_MOVE;
+        int pick = random.nextInt(total);
+        for (int i = first; ; i++) {
+            long move = legalMove(legal, i);
+            if (move == MoveSearch.NO_MOVE)
+                continue;
+            pick -= weight(i);
+            if (pick < 0)
+                return move;
+        }
+    }
+
+    /**
+     * Gets how often a move was played in the games the book was built from
+     *
+     * @param board the board
+     * @param color the side to move
+     * @param move  the move, packed by {@link MoveList}
+     * @return the number of games, or 0 if the move isn't in the book
+     */
+    public int getWeight(Board board, Piece.COLOR color, long move) {
+        long hash = board.getHash(color);
+        for (int i = find(hash); i < size && hash(i) == hash; i++) {
+            if (from(i) == MoveList.from(move) && to(i) == MoveList.to(move))
+                return weight(i);
+        }
+        return 0;
+    }
+
+    /**
+     * Finds the first record for a position
+     *
+     * @return the record's index, or {@link #size} if the position isn't in the book
+     */
+    private int find(long hash) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (hash(middle) < hash)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low < size && hash(low) == hash ? low : size;
+    }
+
+    /**
+     * Finds the legal move a record is for
+     */
+    private long legalMove(MoveList legal, int record) {
+        for (int i = 0; i < legal.size(); i++) {
+            long move = legal.get(i);
+            if (MoveList.from(move) == from(record) && MoveList.to(move) == to(record))
+                return move;
+        }
+        return MoveSearch.NO_MOVE;
+    }
+
+    private long hash(int record) {
+        return records.getLong(HEADER_BYTES + record * RECORD_BYTES);
+    }
+
+    private int from(int record) {
+        return records.get(HEADER_BYTES + record * RECORD_BYTES + 8);
+    }
+
+    private int to(int record) {
+        return records.get(HEADER_BYTES + record * RECORD_BYTES + 9);
+    }
+
+    private int weight(int record) {
+        return records.getShort(HEADER_BYTES + record * RECORD_BYTES + 10) & MAX_WEIGHT;
+    }
+}
@@ -0,0 +1,192 @@
+package com.webcheckers.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds an {@link OpeningBook} file from games in Portable Draughts Notation (PDN)
+ * <p>
+ * Run it with {@code mvn compile exec:java@book -Dexec.args="book.bin games.pdn ..."}. Each game's first moves are
+ * played out on a board, and every position reached is kept with the moves played from it and how many games played
+ * each. Games set up from a position other than the start, and moves past the first illegal one, are skipped.
+ * <p>
+ * PDN numbers the dark squares 1 to 32 from the top of the board as the side that moves first sees it, which is
+ * this board turned around: PDN square n is square 32 - n here.
+ *
+ * @author Chris Piccoli
+ */
+public class OpeningBookBuilder {
+    /**
+     * How many plies of each game go in the book by default
+     */
+    public static final int DEFAULT_PLIES = 16;
+
+    // a tag, a comment, a variation, or anything else between spaces
+    private static final Pattern TOKENS = Pattern.compile("\\[(\\w+)\\s+\"[^\"]*\"\\]|\\{[^}]*\\}|\\([^)]*\\)|;[^\n]*"
+            + "|(\\S+)");
+    private static final Pattern MOVE = Pattern.compile("\\d+([-x]\\d+)+");
+    private static final Pattern MOVE_NUMBER = Pattern.compile("^\\d+\\.+");
+    private static final Pattern RESULT = Pattern.compile("1-0|0-1|2-0|0-2|1-1|1/2-1/2|\\*");
+
+    private final int plies;
+    // the hash of each position, then the squares of each move played from it, then the games that played it
+    private final Map<Long, Map<Integer, Integer>> positions = new HashMap<>();
+
+    /**
+     * Creates a builder
+     *
+     * @param plies how many plies of each game go in the book
+     */
+    public OpeningBookBuilder(int plies) {
+        this.plies = plies;
+    }
+
+    /**
+     * Adds every game in a PDN file
+     *
+     * @param reader the file
+     * @return the number of games added
+     * @throws IOException if the file can't be read
+     */
+    public int addPdn(Reader reader) throws IOException {
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[8192];
+        for (int read = reader.read(buffer); read != -1; read = reader.read(buffer))
+            text.append(buffer, 0, read);
+
+        int games = 0;
+        List<String> moves = new ArrayList<>();
+        boolean setUp = false;
+        Matcher matcher = TOKENS.matcher(text);
+        while (matcher.find()) {
+            String tag = matcher.group(1);
+            String token = matcher.group(2);
+            if (tag != null) {
+                // the tags of the next game
+                if (!moves.isEmpty()) {
+                    games += finish(moves, setUp);
+                    setUp = false;
+                }
+                setUp |= tag.equalsIgnoreCase("FEN") || tag.equalsIgnoreCase("SetUp");
+            } else if (token != null) {
+                if (RESULT.matcher(token).matches()) {
+                    games += finish(moves, setUp);
+                    setUp = false;
+                    continue;
+                }
+                String move = MOVE_NUMBER.matcher(token).replaceFirst("").replaceAll("[!?]+$", "");
+                if (MOVE.matcher(move).matches())
+                    moves.add(move);
+            }
+        }
+        return games + finish(moves, setUp);
+    }
+
+    /**
+     * Adds a game read from a PDN file, and clears its moves for the next one
+     *
+     * @return 1 if the game was added, otherwise 0
+     */
+    private int finish(List<String> moves, boolean setUp) {
+        int added = moves.isEmpty() || setUp ? 0 : 1;
+        if (added == 1)
+            addGame(moves);
+        moves.clear();
+        return added;
+    }
+
+    /**
+     * Adds the first moves of a game played from the starting position
+     *
+     * @param moves the moves in PDN, such as "11-15" or "15x24x31"
+     * @return false if a move wasn't legal, in which case the moves before it were still added
+     */
+    public boolean addGame(List<String> moves) {
+        Board board = new Board(Piece.COLOR.RED);
+        Piece.COLOR color = Piece.COLOR.RED;
+        MoveList legal = new MoveList();
+        for (int ply = 0; ply < Math.min(plies, moves.size()); ply++) {
+            String[] squares = moves.get(ply).split("[-x]");
+            int from = 32 - Integer.parseInt(squares[0]);
+            int to = 32 - Integer.parseInt(squares[squares.length - 1]);
+            MoveGenerator.generate(board, color, color == Piece.COLOR.RED, legal);
+            long move = MoveSearch.NO_MOVE;
+            for (int i = 0; i < legal.size(); i++) {
+                if (MoveList.from(legal.get(i)) == from && MoveList.to(legal.get(i)) == to)
+                    move = legal.get(i);
+            }
+            if (move == MoveSearch.NO_MOVE)
+                return false;
+            positions.computeIfAbsent(board.getHash(color), hash -> new HashMap<>())
+                    .merge(from << 5 | to, 1, Integer::sum);
+            board.apply(move);
+            color = color == Piece.COLOR.RED ? Piece.COLOR.WHITE : Piece.COLOR.RED;
+        }
+        return true;
+    }
+
+    /**
+     * @return how many moves the book will hold
+     */
+    public int size() {
+        int size = 0;
+        for (Map<Integer, Integer> moves : positions.values())
+            size += moves.size();
+        return size;
+    }
+
+    /**
+     * Writes the book
+     *
+     * @param file the file to write it to
+     * @throws IOException if the file can't be written
+     */
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(OpeningBook.MAGIC);
+            out.writeInt(size());
+            out.writeLong(new Board(Piece.COLOR.RED).getHash(Piece.COLOR.RED));
+            // sorted the way the book searches them
+            for (Map.Entry<Long, Map<Integer, Integer>> position : new TreeMap<>(positions).entrySet()) {
+                for (Map.Entry<Integer, Integer> move : position.getValue().entrySet()) {
+                    out.writeLong(position.getKey());
+                    out.writeByte(move.getKey() >> 5);
+                    out.writeByte(move.getKey() & 0x1F);
+                    out.writeShort(Math.min(move.getValue(), OpeningBook.MAX_WEIGHT));
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds a book
+     *
+     * @param args the file to write the book to, then the PDN files to build it from
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: OpeningBookBuilder book.bin games.pdn ...");
+            System.exit(1);
+        }
+        OpeningBookBuilder builder = new OpeningBookBuilder(DEFAULT_PLIES);
+        for (int i = 1; i < args.length; i++) {
+            try (Reader reader = Files.newBufferedReader(Paths.get(args[i]))) {
+                System.out.printf("%s: %d games%n", args[i], builder.addPdn(reader));
+            }
+        }
+        builder.write(Paths.get(args[0]));
+        System.out.printf("%s: %d moves%n", args[0], builder.size());
+    }
+}
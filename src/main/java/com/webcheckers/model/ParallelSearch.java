@@ -0,0 +1,157 @@
+package com.webcheckers.model;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Runs several {@link MoveSearch}es on one position at once, sharing one {@link TranspositionTable} (Lazy SMP)
+ * <p>
+ * The main search runs on the calling thread and helpers run on an executor. The searches don't divide the work
+ * between them; each searches the whole tree, and what one finds is in the table for the others to use, so together
+ * they get deeper in the same time. The move played is the main search's, unless a helper finished a deeper pass.
+ * <p>
+ * Helpers only help while the main search runs. A helper the executor hasn't started by the time the main search is
+ * done never starts, so a busy pool makes the search slower but never late. A ParallelSearch runs one search at a
+ * time, like the searches it is made of.
+ *
+ * @author Chris Piccoli
+ */
+public class ParallelSearch {
+    // what each helper is doing
+    private static final int WAITING = 0;
+    private static final int RUNNING = 1;
+    private static final int SKIPPED = 2;
+
+    private final TranspositionTable table;
+    private final MoveSearch main;
+    private final MoveSearch[] helpers;
+    private final Executor executor;
+    private int depth;
+
+    /**
+     * Creates a parallel search
+     *
+     * @param table    the table the searches share
+     * @param threads  how many threads may search at once, the calling thread included
+     * @param executor runs the helpers
+     * @throws IllegalArgumentException if threads is less than one
+     */
+    public ParallelSearch(TranspositionTable table, int threads, Executor executor) {
+        this(table, null, threads, executor);
+    }
+
+    /**
+     * Creates a parallel search that scores positions with few pieces from a tablebase
+     *
+     * @param table     the table the searches share
+     * @param tablebase the tablebase the searches share, or null to search every position
+     * @param threads   how many threads may search at once, the calling thread included
+     * @param executor  runs the helpers
+     * @throws IllegalArgumentException if threads is less than one
+     */
+    public ParallelSearch(TranspositionTable table, EndgameTablebase tablebase, int threads, Executor executor) {
+        if (threads < 1)
+            throw new IllegalArgumentException("A search needs at least one thread.");
+        this.table = table;
+        this.main = new MoveSearch(table, tablebase);
+        this.helpers = new MoveSearch[threads - 1];
+        for (int i = 0; i < helpers.length; i++)
+            helpers[i] = new MoveSearch(table, tablebase);
+        this.executor = executor;
+    }
+
+    /**
+     * Finds the best move for color that can be found in the time given
+     *
+     * @param board   the board
+     * @param color   the side to move
+     * @param movesUp true if the single pieces of that color move toward row 0
+     * @param millis  how long the search may take
+     * @return the move, packed by {@link MoveList}, or {@link MoveSearch#NO_MOVE} if color has no legal move
+     */
+    public long search(Board board, Piece.COLOR color, boolean movesUp, long millis) {
+        return search(board, color, movesUp, millis, MoveSearch.MAX_PLY - 1);
+    }
+
+    /**
+     * Finds the best move for color that can be found in the time given, searching no deeper than maxDepth
+     *
+     * @param board    the board
+     * @param color    the side to move
+     * @param movesUp  true if the single pieces of that color move toward row 0
+     * @param millis   how long the search may take
+     * @param maxDepth the deepest pass to search, in plies
+     * @return the move, packed by {@link MoveList}, or {@link MoveSearch#NO_MOVE} if color has no legal move
+     */
+    public long search(Board board, Piece.COLOR color, boolean movesUp, long millis, int maxDepth) {
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        // each search copies the board when it starts, so the caller's board may change once this returns
+        Board position = new Board(board);
+        AtomicIntegerArray states = new AtomicIntegerArray(helpers.length);
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        CompletableFuture<Long>[] results = new CompletableFuture[helpers.length];
+        for (int i = 0; i < helpers.length; i++) {
+            int helper = i;
+            results[i] = new CompletableFuture<>();
+            helpers[i].prepare();
+            executor.execute(() -> {
+                if (!states.compareAndSet(helper, WAITING, RUNNING))
+                    return;
+                try {
+                    results[helper].complete(helpers[helper].run(position, color, movesUp, deadline, maxDepth,
+                            helper + 1));
+                } catch (RuntimeException | Error e) {
+                    results[helper].completeExceptionally(e);
+                }
+            });
+        }
+
+        main.prepare();
+        table.newSearch();
+        long best = main.run(position, color, movesUp, deadline, maxDepth, 0);
+        depth = main.getDepth();
+
+        for (int i = 0; i < helpers.length; i++) {
+            if (states.compareAndSet(i, WAITING, SKIPPED))
+                continue;
+            helpers[i].cancel();
+            long move;
+            try {
+                move = results[i].join();
+            } catch (RuntimeException e) {
+                // a helper that failed only costs the help it would have given
+                continue;
+            }
+            if (helpers[i].getDepth() > depth) {
+                depth = helpers[i].getDepth();
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return how many plies deep the last search finished, the deepest of its searches
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return how many positions the last search looked at, across all of its searches that ran
+     */
+    public long getNodes() {
+        long nodes = main.getNodes();
+        for (MoveSearch helper : helpers)
+            nodes += helper.getNodes();
+        return nodes;
+    }
+
+    /**
+     * @return how many threads the search may use, the calling thread included
+     */
+    public int getThreads() {
+        return helpers.length + 1;
+    }
+}
@@ -43,6 +43,23 @@ public class Row implements Iterable<Space>{
         }
     }
 
+    /**
+     * Builds the row at index from the pieces on a board view, for rendering
+     *
+     * @param index the index of the row
+     * @param board the view the row is read from
+     */
+    public Row(int index, BoardView board) {
+        this.index = index;
+        for (int i = 0; i < NUM_SPACES; i++) {
+            Piece piece = board.getPiece(index, i);
+            if (piece != null)
+                Spaces.add(new Space(i, piece));
+            else
+                Spaces.add(new Space(i, index));
+        }
+    }
+
     /**
      * Test constructor for move validation
      */
@@ -49,6 +49,21 @@ public class Space {
         piece = new Piece(color);
     }
 
+    /**
+     * Creates a Space holding the given Piece.
+     *
+     * @param cellIdx the index of this Space in its row, i.e. its column on the board. Must be at least 0.
+     * @param piece   the Piece on this space
+     */
+    public Space(int cellIdx, Piece piece) {
+        // A cellIdx must be at least zero. A negative cellIdx is invalid.
+        if (cellIdx < 0) {
+            throw new IllegalArgumentException("cellIdx must not be negative");
+        }
+        this.cellIdx = cellIdx;
+        this.piece = piece;
+    }
+
     /**
      * Remove a piece from the current space
      */
@@ -0,0 +1,319 @@
+package com.webcheckers.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * Builds an {@link EndgameTablebase} file by retrograde analysis
+ * <p>
+ * Run it with {@code mvn compile exec:java@tablebase -Dexec.args="endgame.tb 4"}. Slices are built one at a time,
+ * fewest pieces first, so every capture and crowning leads into a slice that is already done. Each slice is solved
+ * in passes: the first finds the positions where the side to move can't move, and pass n finds the positions won or
+ * lost in n plies from what the passes before it found. A slice is done once a pass finds nothing new and no slice
+ * it leads into holds a longer distance. Every pass is split between a pool of threads, which all read and write one
+ * array; a pass only reads what earlier passes wrote, so the result is the same whatever the number of threads.
+ * <p>
+ * Each finished slice is written to a work directory before the next is started. Run again with the same directory
+ * after being stopped, the generator maps the slices already there rather than solving them again.
+ * <p>
+ * The forty-move draw and draws by repetition are left out, as they depend on how the position was reached.
+ *
+ * @author Chris Piccoli
+ */
+public class TablebaseGenerator {
+    private static final Logger LOG = Logger.getLogger(TablebaseGenerator.class.getName());
+
+    // how many pieces of work each thread's share of a pass is cut into, so threads that finish early help the rest
+    private static final int TASKS_PER_THREAD = 8;
+
+    private final int maxPieces;
+    private final Path workDirectory;
+    private final int threads;
+    // the finished slices, mapped from the work directory, by signature
+    private final Map<Integer, ByteBuffer> finished = new HashMap<>();
+    // the longest distance in the finished slices, in plies
+    private int longest;
+
+    /**
+     * Creates a generator
+     *
+     * @param maxPieces     the most pieces a position in the tablebase will have
+     * @param workDirectory where finished slices are kept until the tablebase is written
+     * @param threads       how many threads solve each slice
+     * @throws IllegalArgumentException if maxPieces is not between 2 and {@link EndgameTablebase#MAX_PIECES}, or
+     *                                  threads is less than one
+     */
+    public TablebaseGenerator(int maxPieces, Path workDirectory, int threads) {
+        if (maxPieces < 2 || maxPieces > EndgameTablebase.MAX_PIECES)
+            throw new IllegalArgumentException("A tablebase holds between 2 and " + EndgameTablebase.MAX_PIECES
+                    + " pieces.");
+        if (threads < 1)
+            throw new IllegalArgumentException("The generator needs at least one thread.");
+        this.maxPieces = maxPieces;
+        this.workDirectory = workDirectory;
+        this.threads = threads;
+    }
+
+    /**
+     * Builds the tablebase, solving the slices the work directory doesn't have yet
+     *
+     * @param file the file to write the tablebase to
+     * @return how many slices were solved, rather than found in the work directory
+     * @throws IOException          if a slice or the tablebase can't be read or written
+     * @throws InterruptedException if the thread is interrupted while a slice is solved
+     */
+    public int generate(Path file) throws IOException, InterruptedException {
+        Files.createDirectories(workDirectory);
+        List<Integer> signatures = signatures(maxPieces);
+        int solved = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int signature : signatures) {
+                Path slice = slicePath(signature);
+                if (!Files.exists(slice) || Files.size(slice) != EndgameTablebase.size(signature)) {
+                    long start = System.nanoTime();
+                    int distance = save(signature, solve(signature, pool));
+                    solved++;
+                    LOG.info(String.format("Solved %s in %.1f s; its longest win takes %d plies",
+                            slice.getFileName(), (System.nanoTime() - start) / 1e9, distance));
+                }
+                finish(signature);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        write(file, signatures);
+        return solved;
+    }
+
+    /**
+     * Lists the slices with up to maxPieces pieces and at least one of each color, in the order they are solved: by
+     * the number of pieces, then by the number of single pieces, since crowning a piece leaves one fewer
+     */
+    static List<Integer> signatures(int maxPieces) {
+        List<int[]> slices = new ArrayList<>();
+        for (int redSingles = 0; redSingles <= maxPieces; redSingles++)
+            for (int redKings = 0; redSingles + redKings <= maxPieces; redKings++)
+                for (int whiteSingles = 0; redSingles + redKings + whiteSingles <= maxPieces; whiteSingles++)
+                    for (int whiteKings = 0; redSingles + redKings + whiteSingles + whiteKings <= maxPieces;
+                         whiteKings++) {
+                        if (redSingles + redKings > 0 && whiteSingles + whiteKings > 0)
+                            slices.add(new int[]{redSingles, redKings, whiteSingles, whiteKings});
+                    }
+        slices.sort(Comparator.<int[]>comparingInt(s -> s[0] + s[1] + s[2] + s[3])
+                .thenComparingInt(s -> s[0] + s[2]));
+        List<Integer> signatures = new ArrayList<>();
+        for (int[] s : slices)
+            signatures.add(EndgameTablebase.signature(s[0], s[1], s[2], s[3]));
+        return signatures;
+    }
+
+    /**
+     * Solves a slice
+     *
+     * @return each position's value, as the tablebase stores it but with no limit on the distance
+     */
+    private short[] solve(int signature, ExecutorService pool) throws InterruptedException {
+        short[] values = new short[(int) EndgameTablebase.size(signature)];
+        int tasks = threads * TASKS_PER_THREAD;
+        for (int pass = 0; ; pass++) {
+            List<Callable<Boolean>> work = new ArrayList<>();
+            for (int task = 0; task < tasks; task++)
+                work.add(new Pass(signature, values, pass, (int) ((long) values.length * task / tasks),
+                        (int) ((long) values.length * (task + 1) / tasks)));
+            boolean changed = false;
+            for (Future<Boolean> result : pool.invokeAll(work)) {
+                try {
+                    changed |= result.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Could not solve a tablebase slice", e.getCause());
+                }
+            }
+            // a distance in a finished slice can still make a position of this one won or lost
+            if (!changed && pass > longest + 1)
+                return values;
+        }
+    }
+
+    /**
+     * Writes a solved slice to the work directory. The slice is written under another name and then renamed, so a
+     * slice in the work directory is always whole.
+     *
+     * @return the slice's longest distance, in plies
+     */
+    private int save(int signature, short[] values) throws IOException {
+        byte[] bytes = new byte[values.length];
+        int distance = 0;
+        for (int i = 0; i < values.length; i++) {
+            int value = values[i];
+            if (value != 0)
+                distance = Math.max(distance, EndgameTablebase.plies(value));
+            bytes[i] = (byte) Math.max(-EndgameTablebase.MAX_PLIES - 1, Math.min(EndgameTablebase.MAX_PLIES + 1,
+                    value));
+        }
+        Path slice = slicePath(signature);
+        Path partial = slice.resolveSibling(slice.getFileName() + ".partial");
+        Files.write(partial, bytes);
+        Files.move(partial, slice, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return distance;
+    }
+
+    /**
+     * Maps a slice from the work directory, for the slices solved after it
+     */
+    private void finish(int signature) throws IOException {
+        ByteBuffer slice;
+        try (FileChannel channel = FileChannel.open(slicePath(signature), StandardOpenOption.READ)) {
+            slice = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        for (int i = 0; i < slice.capacity(); i++) {
+            int value = slice.get(i);
+            if (value != 0)
+                longest = Math.max(longest, EndgameTablebase.plies(value));
+        }
+        finished.put(signature, slice);
+    }
+
+    /**
+     * Writes the tablebase from the work directory's slices: a header, where each slice starts, then the slices
+     */
+    private void write(Path file, List<Integer> signatures) throws IOException {
+        Path partial = file.resolveSibling(file.getFileName() + ".partial");
+        try (OutputStream stream = Files.newOutputStream(partial);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+            out.writeInt(EndgameTablebase.MAGIC);
+            out.writeInt(maxPieces);
+            out.writeInt(signatures.size());
+            long offset = EndgameTablebase.HEADER_BYTES + (long) signatures.size() * EndgameTablebase.SLICE_BYTES;
+            for (int signature : signatures) {
+                out.writeInt(signature);
+                out.writeLong(offset);
+                offset += EndgameTablebase.size(signature);
+            }
+            for (int signature : signatures)
+                Files.copy(slicePath(signature), out);
+        }
+        Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path slicePath(int signature) {
+        StringBuilder name = new StringBuilder("slice-");
+        for (int kind = 0; kind < 4; kind++)
+            name.append(EndgameTablebase.count(signature, kind));
+        return workDirectory.resolve(name.append(".bin").toString());
+    }
+
+    /**
+     * One thread's share of one pass over a slice
+     */
+    private class Pass implements Callable<Boolean> {
+        private final int signature;
+        private final short[] values;
+        private final int pass;
+        private final int from;
+        private final int to;
+
+        Pass(int signature, short[] values, int pass, int from, int to) {
+            this.signature = signature;
+            this.values = values;
+            this.pass = pass;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * @return true if the pass found the value of any position
+         */
+        @Override
+        public Boolean call() {
+            Board board = new Board();
+            Board child = new Board();
+            MoveList moves = new MoveList();
+            boolean changed = false;
+            for (int index = from; index < to; index++) {
+                if (values[index] != 0)
+                    continue;
+                Piece.COLOR color = EndgameTablebase.position(signature, index, board);
+                if (!EndgameTablebase.isValid(board))
+                    continue;
+                int count = MoveGenerator.generate(board, color, color == Piece.COLOR.RED, moves);
+                if (pass == 0) {
+                    // no move is a loss now
+                    if (count == 0) {
+                        values[index] = -1;
+                        changed = true;
+                    }
+                    continue;
+                }
+
+                Piece.COLOR opponent = color == Piece.COLOR.RED ? Piece.COLOR.WHITE : Piece.COLOR.RED;
+                boolean won = false;
+                boolean lost = true;
+                for (int i = 0; i < count && !won; i++) {
+                    child.set(board);
+                    child.apply(moves.get(i));
+                    int value = value(child, opponent);
+                    // only what earlier passes found counts; this pass's finds are one ply too long
+                    boolean known = value != 0 && EndgameTablebase.plies(value) < pass;
+                    won = known && value < 0;
+                    lost &= known && value > 0;
+                }
+                if (won || lost) {
+                    values[index] = (short) (won ? pass + 1 : -pass - 1);
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+
+        /**
+         * Gets the value of a position reached from this slice, from this slice or a finished one
+         */
+        private int value(Board board, Piece.COLOR color) {
+            if (board.getPieces(color) == 0)
+                return -1;
+            int childSignature = EndgameTablebase.signature(board);
+            int index = EndgameTablebase.index(board, color);
+            return childSignature == signature ? values[index] : finished.get(childSignature).get(index);
+        }
+    }
+
+    /**
+     * Builds a tablebase
+     *
+     * @param args the file to write the tablebase to, then optionally the most pieces, the work directory and the
+     *             number of threads
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println("usage: TablebaseGenerator endgame.tb [pieces] [work directory] [threads]");
+            System.exit(1);
+        }
+        Path file = Paths.get(args[0]);
+        int pieces = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        Path work = args.length > 2 ? Paths.get(args[2]) : file.resolveSibling(file.getFileName() + ".work");
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int solved = new TablebaseGenerator(pieces, work, threads).generate(file);
+        System.out.printf("%s: %d slices solved, %d bytes%n", file, solved, Files.size(file));
+    }
+}
@@ -0,0 +1,236 @@
+package com.webcheckers.model;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers what a {@link MoveSearch} found out about positions it has searched, so a position reached again by a
+ * different order of moves is not searched again.
+ * <p>
+ * The table is two arrays of longs sized once, from the megabytes it is given, so it never holds more memory than
+ * that however many searches use it. Positions are found by their {@link Board#getHash(Piece.COLOR)}. Each entry
+ * packs the score, the depth it was searched to, whether the score is exact or only a bound, the best move's squares
+ * and the search that stored it into one long.
+ * <p>
+ * Searches on any number of threads can share one table without locks. Each entry's key is stored XORed with its
+ * data, so an entry half written by one thread while another reads it no longer matches its key and is ignored.
+ * <p>
+ * Entries come in pairs. The first of a pair is kept for the deepest search of a position, unless it is left over
+ * from an earlier generation; the second always takes the newest entry that the first would not.
+ * <p>
+ * A new search moves the table on to the next generation, but no more than once a tick. Games searching at the same
+ * time share a generation, so one game's search doesn't make another's deep entries look old; with a tick at least
+ * as long as a search, a search's entries age at most once while it runs, however many games are searching.
+ *
+ * @author Chris Piccoli
+ */
+public class TranspositionTable {
+    /**
+     * The score is the position's exact score
+     */
+    public static final int EXACT = 0;
+    /**
+     * The score is at least the position's score; the search stopped early because it was already good enough
+     */
+    public static final int LOWER = 1;
+    /**
+     * The score is at most the position's score; no move reached it
+     */
+    public static final int UPPER = 2;
+    /**
+     * Returned by {@link #probe(long)} when the position isn't in the table
+     */
+    public static final long MISSING = 0;
+
+    // each entry is a key and its data, two longs
+    private static final int ENTRY_BYTES = 16;
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int FROM_SHIFT = 42;
+    private static final int TO_SHIFT = 47;
+    private static final long HAS_MOVE = 1L << 52;
+    private static final int GENERATION_SHIFT = 53;
+    private static final long PRESENT = 1L << 63;
+    private static final int SQUARE_MASK = 0x1F;
+    private static final int BYTE_MASK = 0xFF;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+    private final long tickNanos;
+    // reads the time in nanoseconds, System.nanoTime() outside of tests
+    private final LongSupplier clock;
+    // when the generation may next move on, from the clock
+    private final AtomicLong nextTick;
+    // counts the ticks in which searches started, so entries left from earlier ones can be told apart and replaced
+    private volatile int generation;
+
+    /**
+     * Creates a table for one search at a time, which moves on to a new generation with every search
+     *
+     * @param megabytes the most memory the table may use
+     * @throws IllegalArgumentException if megabytes is not positive
+     */
+    public TranspositionTable(int megabytes) {
+        this(megabytes, 0);
+    }
+
+    /**
+     * Creates a table shared by searches that run at the same time
+     *
+     * @param megabytes  the most memory the table may use
+     * @param tickMillis the shortest time between generations, in milliseconds; the longest a search takes
+     * @throws IllegalArgumentException if megabytes is not positive or tickMillis is negative
+     */
+    public TranspositionTable(int megabytes, long tickMillis) {
+        this(megabytes, tickMillis, System::nanoTime);
+    }
+
+    /**
+     * Creates a table shared by searches that run at the same time, whose ticks are timed by the given clock
+     *
+     * @param megabytes  the most memory the table may use
+     * @param tickMillis the shortest time between generations, in milliseconds
+     * @param clock      reads the time in nanoseconds, like {@link System#nanoTime()}
+     * @throws IllegalArgumentException if megabytes is not positive or tickMillis is negative
+     */
+    TranspositionTable(int megabytes, long tickMillis, LongSupplier clock) {
+        if (megabytes < 1)
+            throw new IllegalArgumentException("A transposition table needs at least a megabyte.");
+        if (tickMillis < 0)
+            throw new IllegalArgumentException("A tick can't be negative.");
+        tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.clock = clock;
+        nextTick = new AtomicLong(clock.getAsLong());
+        // a power of two entries, so an index is a hash's low bits
+        int entries = Integer.highestOneBit((int) Math.min(Integer.MAX_VALUE, (long) megabytes * 1024 * 1024
+                / ENTRY_BYTES));
+        keys = new long[entries];
+        data = new long[entries];
+        mask = entries - 1;
+    }
+
+    /**
+     * @return how many positions the table can hold
+     */
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * Marks the start of a new search, so the entries of earlier searches give way to its entries. The table moves on
+     * to a new generation only if a tick has gone by since it last did.
+     */
+    public void newSearch() {
+        long now = clock.getAsLong();
+        long due = nextTick.get();
+        // of the searches starting together once the tick is up, only one moves the generation on
+        if (now - due >= 0 && nextTick.compareAndSet(due, now + tickNanos))
+            generation = (generation + 1) & BYTE_MASK;
+    }
+
+    /**
+     * Looks a position up
+     *
+     * @param hash the position's hash
+     * @return the position's entry, or {@link #MISSING}
+     */
+    public long probe(long hash) {
+        int index = (int) hash & mask & ~1;
+        for (int i = index; i <= index + 1; i++) {
+            long entry = data[i];
+            if ((keys[i] ^ entry) == hash && (entry & PRESENT) != 0)
+                return entry;
+        }
+        return MISSING;
+    }
+
+    /**
+     * Stores what a search found out about a position
+     *
+     * @param hash  the position's hash
+     * @param depth how many plies deep the position was searched
+     * @param bound {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+     * @param score the score
+     * @param move  the best move found, packed by {@link MoveList}, or {@link MoveSearch#NO_MOVE}
+     */
+    public void store(long hash, int depth, int bound, int score, long move) {
+        int current = generation;
+        long entry = PRESENT | (score & 0xFFFFFFFFL) | ((long) Math.min(Math.max(depth, 0), BYTE_MASK) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT) | ((long) current << GENERATION_SHIFT);
+        if (move != MoveSearch.NO_MOVE)
+            entry |= HAS_MOVE | ((long) MoveList.from(move) << FROM_SHIFT) | ((long) MoveList.to(move) << TO_SHIFT);
+
+        int index = (int) hash & mask & ~1;
+        long kept = data[index];
+        boolean replace = (kept & PRESENT) == 0 || (keys[index] ^ kept) == hash || generation(kept) != current
+                || depth(kept) <= depth;
+        if (!replace)
+            index++;
+        data[index] = entry;
+        keys[index] = hash ^ entry;
+    }
+
+    /**
+     * Empties the table
+     */
+    public void clear() {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = 0;
+            data[i] = 0;
+        }
+    }
+
+    /**
+     * @param entry an entry
+     * @return the score stored
+     */
+    public static int score(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * @param entry an entry
+     * @return how many plies deep the position was searched
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & BYTE_MASK;
+    }
+
+    /**
+     * @param entry an entry
+     * @return {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+     */
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    /**
+     * @param entry an entry
+     * @return true if the entry has a best move
+     */
+    public static boolean hasMove(long entry) {
+        return (entry & HAS_MOVE) != 0;
+    }
+
+    /**
+     * @param entry an entry with a best move
+     * @return the square the best move starts on
+     */
+    public static int from(long entry) {
+        return (int) (entry >>> FROM_SHIFT) & SQUARE_MASK;
+    }
+
+    /**
+     * @param entry an entry with a best move
+     * @return the square the best move ends on
+     */
+    public static int to(long entry) {
+        return (int) (entry >>> TO_SHIFT) & SQUARE_MASK;
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> GENERATION_SHIFT) & BYTE_MASK;
+    }
+}
@@ -0,0 +1,70 @@
+package com.webcheckers.model;
+
+import com.webcheckers.util.Message;
+import com.webcheckers.util.MessageTypeAdapter;
+
+/**
+ * Every answer the {@link MoveValidator} can give. Each outcome's message, and the JSON the browser is sent for it,
+ * is made once when the class loads, so checking a move or a turn allocates nothing whatever the outcome.
+ *
+ * @author Chris Piccoli
+ */
+public enum ValidationResult {
+    VALID_MOVE(Message.info("Yay a valid move.")),
+    BACKWARD_NOT_KING(Message.error("You can only move backwards if your a king!")),
+    NOT_DIAGONAL(Message.error("You can only move diagonally!")),
+    TOO_FAR(Message.error("You can only move one space unless you take!")),
+    ALREADY_MOVED(Message.error("You can only move once a turn without a capture!")),
+    MOVE_THEN_CAPTURE(Message.error("You can't move then capture!")),
+    ANOTHER_PIECE(Message.error("You can only move one piece a turn!")),
+    CAPTURE_REQUIRED(Message.error("You must make available capture!")),
+    VALID_TURN(Message.info("Valid Turn")),
+    CAPTURE_AVAILABLE(Message.error("Invalid Turn Legal Capture available")),
+    BACKED_UP(Message.info("Yay you backed up your move!")),
+    NOTHING_TO_BACK_UP(Message.error("You have no moves to back up?"));
+
+    // values() copies the array each time it is called
+    private static final ValidationResult[] RESULTS = values();
+
+    private final Message message;
+    private final String json;
+
+    ValidationResult(Message message) {
+        this.message = message;
+        this.json = new MessageTypeAdapter().toJson(message);
+    }
+
+    /**
+     * @return the message shown to the player
+     */
+    public Message getMessage() {
+        return message;
+    }
+
+    /**
+     * @return the message as the JSON the browser is sent
+     */
+    public String getJson() {
+        return json;
+    }
+
+    /**
+     * @return true if the move, turn or backup was allowed
+     */
+    public boolean isSuccessful() {
+        return message.isSuccessful();
+    }
+
+    /**
+     * Finds the outcome a message belongs to
+     *
+     * @param message a message
+     * @return the outcome whose message it is, or null if it is some other message
+     */
+    public static ValidationResult of(Message message) {
+        for (ValidationResult result : RESULTS)
+            if (result.message == message)
+                return result;
+        return null;
+    }
+}
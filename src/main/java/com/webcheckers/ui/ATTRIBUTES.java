@@ -22,6 +22,9 @@ public enum ATTRIBUTES {
     RED_PLAYER_ID_ATR("redPlayer"),
     WHITE_PLAYER_ID_ATR("whitePlayer"),
     ACTIVE_COLOR_ATR("activeColor"),
+    RED_PIECES_ATR("redPieces"),
+    WHITE_PIECES_ATR("whitePieces"),
+    STATE_VERSION_ATR("stateVersion"),
     VIEW_MODE_ATR("viewMode"),
     GAME_BOARD_ATR("board");
 
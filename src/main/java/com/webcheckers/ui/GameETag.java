@@ -0,0 +1,75 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.application.GameLobby;
+import com.webcheckers.application.GameSnapshot;
+import com.webcheckers.model.Player;
+import spark.Request;
+import spark.Response;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Makes the entity tags of responses that show a game, and answers requests for a state the browser already has.
+ * <p>
+ * A tag names the game's state version and who is looking at it, so a browser that sends a tag back in
+ * {@code If-None-Match} is told {@code 304 Not Modified} until the game changes, instead of being sent the same page
+ * or answer again.
+ *
+ * @author Chris Piccoli
+ */
+final class GameETag {
+    static final String ETAG_HEADER = "ETag";
+    static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    // versions start again when the server does, so tags from before a restart must not match
+    private static final String BOOT = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private GameETag() {
+    }
+
+    /**
+     * Makes the tag of a response showing a game
+     *
+     * @param kind     what the response shows, such as the view mode of the page
+     * @param game     the game
+     * @param snapshot the state of the game the response shows
+     * @param viewer   the player the response is for
+     * @return the tag, quoted as it is sent
+     */
+    static String of(String kind, GameLobby game, GameSnapshot snapshot, Player viewer) {
+        return "W/\"" + BOOT + '-' + kind + '-' + game.getGameID() + '-' + snapshot.getVersion() + '-'
+                + Integer.toHexString(viewer.getName().hashCode()) + '"';
+    }
+
+    /**
+     * Tags the response, and answers with {@code 304 Not Modified} if the browser already has what it would show
+     *
+     * @param request  the HTTP request
+     * @param response the HTTP response
+     * @param eTag     the tag of what the response would show
+     * @return true if the response has been answered and must be sent with an empty body
+     */
+    static boolean notModified(Request request, Response response, String eTag) {
+        response.header(ETAG_HEADER, eTag);
+        // browsers may keep the response, but must check it is still current before showing it again
+        response.header("Cache-Control", "no-cache");
+        if (!matches(request.headers(IF_NONE_MATCH_HEADER), eTag))
+            return false;
+        response.status(HttpServletResponse.SC_NOT_MODIFIED);
+        return true;
+    }
+
+    /**
+     * @return true if an If-None-Match header names the tag, comparing tags weakly
+     */
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null)
+            return false;
+        String opaque = eTag.substring(2);
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(opaque))
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,211 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import com.webcheckers.application.GameLobby;
+import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.Player;
+import com.webcheckers.util.Message;
+import com.webcheckers.util.MessageTypeAdapter;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.StatusCode;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketConnect;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketMessage;
+import org.eclipse.jetty.websocket.api.annotations.WebSocket;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Carries a player's moves over one WebSocket, for the {@code /game/socket} endpoint.
+ * <p>
+ * Each message names an action ({@code validateMove}, {@code backupMove}, {@code submitTurn} or {@code resignGame}),
+ * the game, an id, and the action's data if it has any. The action runs exactly as it does for the HTTP route of the
+ * same name, and the reply is that route's message with the id added:
+ * <pre>
+ *     {"id":3,"action":"validateMove","gameID":"0","actionData":"{\"start\":...,\"end\":...}"}
+ *     {"id":3,"type":"INFO","text":"..."}
+ * </pre>
+ * Spark serves WebSockets outside of the HTTP session, so a socket is opened with a ticket from
+ * {@link PostSocketTicketRoute}, which names the player for as long as the socket is open. Only the active player
+ * may move, back up or submit; a message that can't be read, whatever is wrong with it, is answered with an error.
+ *
+ * @author Chris Piccoli
+ */
+@WebSocket
+public class GameSocketHandler {
+    private static final Logger LOG = Logger.getLogger(GameSocketHandler.class.getName());
+    static final String TICKET_PARAM = "ticket";
+    // a ticket must be used soon after the page asks for it
+    static final long TICKET_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final String UNREADABLE = "That request could not be read.";
+
+    private final Gson gson;
+    private final SecureRandom random = new SecureRandom();
+    private final PlayerLobby playerLobby;
+    private final PostValidateMoveRoute validateMoveRoute;
+    private final PostBackUpMoveRoute backUpMoveRoute;
+    private final PostSubmitTurnRoute submitTurnRoute;
+    private final PostResignGameRoute resignGameRoute;
+
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final Map<Session, Player> players = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the handler for every game socket
+     *
+     * @param playerLobby webservers current player lobby
+     */
+    public GameSocketHandler(PlayerLobby playerLobby) {
+        this(playerLobby, new Gson());
+    }
+
+    /**
+     * Creates the handler for every game socket
+     *
+     * @param playerLobby webservers current player lobby
+     * @param gson        the webserver's Gson, which reads the messages and writes the replies
+     */
+    public GameSocketHandler(PlayerLobby playerLobby, Gson gson) {
+        this.playerLobby = playerLobby;
+        this.gson = gson;
+        validateMoveRoute = new PostValidateMoveRoute(playerLobby, gson);
+        backUpMoveRoute = new PostBackUpMoveRoute(playerLobby);
+        submitTurnRoute = new PostSubmitTurnRoute(playerLobby);
+        resignGameRoute = new PostResignGameRoute(playerLobby);
+    }
+
+    /**
+     * Issues a ticket that opens one socket for the given player
+     *
+     * @param player the signed in player
+     * @return the ticket
+     */
+    public String issueTicket(Player player) {
+        long now = System.currentTimeMillis();
+        // drop tickets that were never used
+        tickets.values().removeIf(ticket -> ticket.expires < now);
+
+        byte[] bytes = new byte[18];
+        random.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().encodeToString(bytes);
+        tickets.put(ticket, new Ticket(player, now + TICKET_MILLIS));
+        return ticket;
+    }
+
+    @OnWebSocketConnect
+    public void onConnect(Session session) {
+        List<String> values = session.getUpgradeRequest().getParameterMap().get(TICKET_PARAM);
+        Ticket ticket = values == null || values.isEmpty() ? null : tickets.remove(values.get(0));
+        if (ticket == null || ticket.expires < System.currentTimeMillis()) {
+            session.close(StatusCode.POLICY_VIOLATION, "A valid ticket is required.");
+            return;
+        }
+        players.put(session, ticket.player);
+    }
+
+    @OnWebSocketClose
+    public void onClose(Session session, int statusCode, String reason) {
+        players.remove(session);
+    }
+
+    @OnWebSocketMessage
+    public void onMessage(Session session, String text) {
+        Player player = players.get(session);
+        if (player == null)
+            return;
+
+        Message reply;
+        JsonObject request = null;
+        try {
+            request = gson.fromJson(text, JsonObject.class);
+            reply = handle(player, request);
+        } catch (RuntimeException e) {
+            // a message with a missing or mistyped field fails wherever the field is first used
+            LOG.log(Level.FINER, "Unreadable game socket message.", e);
+            reply = Message.error(UNREADABLE);
+        }
+
+        try {
+            session.getRemote().sendString(toReply(reply, request == null ? null : request.get("id")));
+        } catch (IOException e) {
+            LOG.log(Level.FINER, "Game socket closed before the reply was sent.", e);
+        }
+    }
+
+    /**
+     * Runs one action for a player
+     *
+     * @param player  the player the socket belongs to
+     * @param request the action's message
+     * @return the action's message
+     */
+    Message handle(Player player, JsonObject request) {
+        if (request == null || !request.has("gameID") || !request.has("action"))
+            return Message.error(UNREADABLE);
+        int gameID = Integer.parseInt(request.get("gameID").getAsString());
+        GameLobby game = playerLobby.getGame(gameID);
+        if (game == null || !game.isPlayerInThisGame(player))
+            return Message.error("You are not playing in that game.");
+
+        switch (request.get("action").getAsString()) {
+            case "validateMove":
+                if (!request.has("actionData"))
+                    return Message.error(UNREADABLE);
+                Move move = gson.fromJson(request.get("actionData").getAsString(), Move.class);
+                if (move == null || move.getStart() == null || move.getEnd() == null)
+                    return Message.error(UNREADABLE);
+                return validateMoveRoute.validateMove(game, player, move);
+            case "backupMove":
+                return backUpMoveRoute.backupMove(game, player);
+            case "submitTurn":
+                return submitTurnRoute.submitTurn(gameID, game, player);
+            case "resignGame":
+                return resignGameRoute.resignGame(gameID, game, player);
+            default:
+                return Message.error("That action is not supported.");
+        }
+    }
+
+    /**
+     * Writes the reply to an action: its message, with the id of the action it answers
+     */
+    private String toReply(Message message, JsonElement id) throws IOException {
+        StringWriter reply = new StringWriter();
+        JsonWriter out = gson.newJsonWriter(reply);
+        out.beginObject();
+        MessageTypeAdapter.writeFields(out, message);
+        if (id != null) {
+            out.name("id");
+            gson.toJson(id, out);
+        }
+        out.endObject();
+        out.flush();
+        return reply.toString();
+    }
+
+    /**
+     * A ticket's player and when it stops being valid
+     */
+    private static class Ticket {
+        private final Player player;
+        private final long expires;
+
+        Ticket(Player player, long expires) {
+            this.player = player;
+            this.expires = expires;
+        }
+    }
+}
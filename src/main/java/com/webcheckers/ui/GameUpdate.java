@@ -0,0 +1,61 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.application.GameSnapshot;
+import com.webcheckers.model.Board;
+
+/**
+ * What a game page is sent to bring its game up to date, written as JSON by the web server's Gson
+ * <p>
+ * Event streams send the game as it is, which is every field but the type, version and changed squares; those are
+ * left null so Gson leaves them out. Delta answers send every field.
+ *
+ * @author Chris Piccoli
+ */
+final class GameUpdate {
+    private final String type;
+    private final Long version;
+    private final String activeColor;
+    private final String activePlayer;
+    private final boolean gameOver;
+    private final String gameOverReason;
+    private final String board;
+    private final Integer changed;
+    private final int redPieces;
+    private final int whitePieces;
+
+    private GameUpdate(String type, Long version, GameSnapshot snapshot, Integer changed) {
+        this.type = type;
+        this.version = version;
+        this.activeColor = snapshot.getActiveColor().name();
+        this.activePlayer = snapshot.getActivePlayer().getName();
+        this.gameOver = snapshot.isGameDone();
+        this.gameOverReason = snapshot.getGameOverReason();
+        this.board = snapshot.getBoard().encode();
+        this.changed = changed;
+        this.redPieces = snapshot.getRedPieces();
+        this.whitePieces = snapshot.getWhitePieces();
+    }
+
+    /**
+     * Describes a game as it is, for an event
+     *
+     * @param snapshot the game
+     * @return the game's turn, end and board
+     */
+    static GameUpdate of(GameSnapshot snapshot) {
+        return new GameUpdate(null, null, snapshot, null);
+    }
+
+    /**
+     * Describes the changes from one snapshot of a game to another, as an INFO answer
+     *
+     * @param seen   the snapshot the page shows, or null if it isn't known, in which case every square has changed
+     * @param latest the game's latest snapshot
+     * @return the game's latest state and version, and the mask of the squares that differ from the red player's
+     * side, as {@link Board#changedSquares(Board)} gives it
+     */
+    static GameUpdate delta(GameSnapshot seen, GameSnapshot latest) {
+        return new GameUpdate("INFO", latest.getVersion(), latest,
+                seen == null ? -1 : seen.getBoard().changedSquares(latest.getBoard()));
+    }
+}
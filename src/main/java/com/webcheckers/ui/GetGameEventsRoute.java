@@ -0,0 +1,391 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.webcheckers.application.GameLobby;
+import com.webcheckers.application.GameMailbox;
+import com.webcheckers.application.GameSnapshot;
+import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.Board;
+import com.webcheckers.model.Player;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Streams the changes to a game to the browser as Server-Sent Events, for the {@code GET /game/events} route.
+ * <p>
+ * The stream starts with a {@code state} event holding the game as it is, then sends a {@code move} event when a
+ * piece moves, a {@code turn} event when the turn passes, and a {@code gameOver} event when someone wins or resigns,
+ * after which it ends. Every event's data is a {@link GameUpdate} describing the game, including its board as
+ * written by {@link Board#encode()}, written by the web server's Gson.
+ * <p>
+ * The request is handed to the servlet container's async support and the route returns straight away, so an open
+ * stream holds no request thread. All the streams on one game share a channel that listens to the game, so each
+ * change is encoded once and the same bytes are written to every player and spectator watching it, away from the
+ * game's own mailbox.
+ *
+ * @author Chris Piccoli
+ */
+public class GetGameEventsRoute implements Route {
+    private static final Logger LOG = Logger.getLogger(GetGameEventsRoute.class.getName());
+    private static final String GAMEID_PARAM = ATTRIBUTES.GAME_ID_ATR.getAtr();
+
+    static final String STATE_EVENT = "state";
+    static final String MOVE_EVENT = "move";
+    static final String TURN_EVENT = "turn";
+    static final String GAME_OVER_EVENT = "gameOver";
+
+    // comments sent this often keep proxies from closing idle streams and find browsers that have gone away
+    static final long HEARTBEAT_SECONDS = 15;
+    private static final byte[] HEARTBEAT = ": ping\n\n".getBytes(StandardCharsets.UTF_8);
+    // writes the events; a channel only holds a thread while a browser is slow to take its bytes, and a fixed number
+    // of threads bounds how many slow browsers are waited on at once, the rest of the channels queueing behind them
+    private static final int FAN_OUT_THREADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+    private static final ExecutorService FAN_OUT = Executors.newFixedThreadPool(FAN_OUT_THREADS, task -> {
+        Thread thread = new Thread(task, "game-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final ScheduledExecutorService HEARTBEAT_TIMER = Executors.newSingleThreadScheduledExecutor(
+            task -> {
+                Thread thread = new Thread(task, "game-events-heartbeat");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final PlayerLobby playerLobby;
+    private final Gson gson;
+    private final Executor fanOut;
+    private final ConcurrentMap<Integer, Channel> channels = new ConcurrentHashMap<>();
+    // sends the heartbeats while any channel is open
+    private ScheduledFuture<?> heartbeat;
+
+    /**
+     * The constructor for the {@code GET /game/events} route handler.
+     *
+     * @param playerLobby webservers current player lobby
+     */
+    public GetGameEventsRoute(PlayerLobby playerLobby) {
+        this(playerLobby, new Gson());
+    }
+
+    /**
+     * The constructor for the {@code GET /game/events} route handler.
+     *
+     * @param playerLobby webservers current player lobby
+     * @param gson        writes the events' data
+     */
+    public GetGameEventsRoute(PlayerLobby playerLobby, Gson gson) {
+        this(playerLobby, gson, FAN_OUT);
+    }
+
+    /**
+     * The constructor for the {@code GET /game/events} route handler.
+     *
+     * @param playerLobby webservers current player lobby
+     * @param gson        writes the events' data
+     * @param fanOut      runs the channels' work
+     */
+    GetGameEventsRoute(PlayerLobby playerLobby, Gson gson, Executor fanOut) {
+        this.playerLobby = playerLobby;
+        this.gson = gson;
+        this.fanOut = fanOut;
+        LOG.config("GetGameEventsRoute is initialized.");
+    }
+
+    /**
+     * Opens an event stream on the game named by the {@code gameID} parameter
+     *
+     * @param request  the HTTP request
+     * @param response the HTTP response
+     * @return an empty body; the events are written to the response directly
+     */
+    @Override
+    public Object handle(Request request, Response response) {
+        LOG.finer("GetGameEventsRoute is invoked.");
+        Player currentUser = request.session().attribute(GetHomeRoute.CURRENT_USER_KEY);
+        if (currentUser == null) {
+            response.status(HttpServletResponse.SC_UNAUTHORIZED);
+            return "";
+        }
+
+        GameLobby game;
+        try {
+            game = playerLobby.getGame(Integer.parseInt(request.queryParams(GAMEID_PARAM)));
+        } catch (NumberFormatException e) {
+            game = null;
+        }
+        if (game == null) {
+            response.status(HttpServletResponse.SC_NOT_FOUND);
+            return "";
+        }
+
+        response.type("text/event-stream;charset=utf-8");
+        response.header("Cache-Control", "no-cache");
+        AsyncContext async = request.raw().startAsync();
+        async.setTimeout(0);
+
+        EventStream stream = new EventStream(async, response.raw());
+        async.addListener(stream);
+        // the first event is written from the channel's outbox, maybe after this returns; Spark writes and closes
+        // any response that isn't committed by then, so it is committed here
+        try {
+            response.raw().flushBuffer();
+        } catch (IOException e) {
+            LOG.log(Level.FINER, "Game event stream closed by the browser.", e);
+            stream.close();
+            return "";
+        }
+        subscribe(game, stream);
+        return "";
+    }
+
+    /**
+     * Adds a stream to its game's channel, opening the channel if it is the game's first stream
+     */
+    private void subscribe(GameLobby game, EventStream stream) {
+        Channel channel = channels.compute(game.getGameID(), (id, open) -> {
+            Channel joined = open == null ? new Channel(game) : open;
+            joined.members.add(stream);
+            return joined;
+        });
+        stream.channel = channel;
+        heartbeatWhileOpen();
+        channel.start(stream);
+    }
+
+    /**
+     * Takes a stream off its channel, closing the channel if it was the last one
+     */
+    private void unsubscribe(EventStream stream) {
+        Channel channel = stream.channel;
+        if (channel == null)
+            return;
+        channels.computeIfPresent(channel.game.getGameID(), (id, open) -> {
+            open.members.remove(stream);
+            open.streams.remove(stream);
+            if (open.members.isEmpty()) {
+                open.game.removeListener(open);
+                return null;
+            }
+            return open;
+        });
+        heartbeatWhileOpen();
+    }
+
+    /**
+     * Sends heartbeats while there are streams to send them down, and stops once the last channel has closed
+     */
+    private synchronized void heartbeatWhileOpen() {
+        if (channels.isEmpty() && heartbeat != null) {
+            heartbeat.cancel(false);
+            heartbeat = null;
+        } else if (!channels.isEmpty() && heartbeat == null) {
+            heartbeat = HEARTBEAT_TIMER.scheduleAtFixedRate(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * @return true if heartbeats are being sent
+     */
+    synchronized boolean isHeartbeating() {
+        return heartbeat != null;
+    }
+
+    /**
+     * @return the number of open streams
+     */
+    int getStreamCount() {
+        return channels.values().stream().mapToInt(channel -> channel.members.size()).sum();
+    }
+
+    /**
+     * @return the number of games with open streams
+     */
+    int getChannelCount() {
+        return channels.size();
+    }
+
+    /**
+     * Queues a comment down every open stream, closing those that fail. Each channel writes its own from its outbox,
+     * in order with its events, so a slow browser never holds up the timer or the other games' heartbeats.
+     */
+    void heartbeat() {
+        for (Channel channel : channels.values())
+            channel.outbox.execute(channel::heartbeat);
+    }
+
+    /**
+     * Names the event for a change from one snapshot to the next
+     *
+     * @param last the snapshot the browser was sent last
+     * @param next the snapshot just published
+     * @return the event name, or null if nothing the browser shows has changed
+     */
+    static String eventFor(GameSnapshot last, GameSnapshot next) {
+        if (next.isGameDone() && !last.isGameDone())
+            return GAME_OVER_EVENT;
+        if (next.getActiveColor() != last.getActiveColor())
+            return TURN_EVENT;
+        if (!next.getBoard().equals(last.getBoard()))
+            return MOVE_EVENT;
+        return null;
+    }
+
+    private byte[] encodeEvent(String event, GameSnapshot snapshot) {
+        return ("event: " + event + "\ndata: " + gson.toJson(GameUpdate.of(snapshot)) + "\n\n")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Every stream on one game. The channel is the game's only listener, and encodes each change once for all of
+     * its streams.
+     * <p>
+     * The channel's work runs in its own mailbox, so events go out in order and a slow browser holds up only the
+     * other watchers of that game, never the game itself.
+     */
+    private class Channel implements Consumer<GameSnapshot> {
+        private final GameLobby game;
+        // every stream on the game, which keeps the channel open
+        private final Set<EventStream> members = ConcurrentHashMap.newKeySet();
+        // the streams that have been sent their state event, and so are sent the channel's events
+        private final Set<EventStream> streams = ConcurrentHashMap.newKeySet();
+        private final GameMailbox outbox = new GameMailbox(fanOut);
+        // the snapshot the streams have been sent, and its state event; only used in the outbox
+        private GameSnapshot last;
+        private byte[] stateEvent;
+
+        Channel(GameLobby game) {
+            this.game = game;
+            game.addListener(this);
+        }
+
+        /**
+         * Sends the game as it is now to a new stream, which then gets the channel's events; a stream only joins the
+         * events once its state event is written, so no event can reach it ahead of the state it follows
+         */
+        void start(EventStream stream) {
+            outbox.execute(() -> {
+                if (last == null)
+                    last = game.getSnapshot();
+                if (stateEvent == null)
+                    stateEvent = encodeEvent(STATE_EVENT, last);
+                stream.write(stateEvent);
+                if (last.isGameDone()) {
+                    stream.close();
+                    return;
+                }
+                streams.add(stream);
+                // a stream closed while it joined has already been taken off the channel
+                if (stream.closed.get())
+                    streams.remove(stream);
+            });
+        }
+
+        /**
+         * Passes a newly published snapshot to the outbox; runs in the game's mailbox
+         */
+        @Override
+        public void accept(GameSnapshot next) {
+            outbox.execute(() -> send(next));
+        }
+
+        private void heartbeat() {
+            for (EventStream stream : streams)
+                stream.write(HEARTBEAT);
+        }
+
+        private void send(GameSnapshot next) {
+            String name = last == null ? null : eventFor(last, next);
+            last = next;
+            stateEvent = null;
+            if (name == null)
+                return;
+            byte[] event = encodeEvent(name, next);
+            for (EventStream stream : streams) {
+                stream.write(event);
+                if (next.isGameDone())
+                    stream.close();
+            }
+        }
+    }
+
+    /**
+     * One browser's stream
+     */
+    private class EventStream implements AsyncListener {
+        private final AsyncContext async;
+        private final HttpServletResponse response;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Channel channel;
+
+        EventStream(AsyncContext async, HttpServletResponse response) {
+            this.async = async;
+            this.response = response;
+        }
+
+        synchronized void write(byte[] bytes) {
+            if (closed.get())
+                return;
+            try {
+                response.getOutputStream().write(bytes);
+                response.flushBuffer();
+            } catch (IOException | IllegalStateException e) {
+                LOG.log(Level.FINER, "Game event stream closed by the browser.", e);
+                close();
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true))
+                return;
+            unsubscribe(this);
+            try {
+                async.complete();
+            } catch (IllegalStateException e) {
+                // already completed by the container
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // nothing to do
+        }
+    }
+}
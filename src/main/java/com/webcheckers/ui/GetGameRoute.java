@@ -2,7 +2,11 @@ package com.webcheckers.ui;
 
 import com.google.gson.Gson;
 import com.webcheckers.application.GameLobby;
+import com.webcheckers.application.GameSnapshot;
 import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.Board;
+import com.webcheckers.model.BoardView;
+import com.webcheckers.model.Piece;
 import com.webcheckers.model.Player;
 import spark.ModelAndView;
 import spark.Request;
@@ -20,6 +24,9 @@ import static spark.Spark.halt;
 
 /**
  * Route to the Game Page
+ * <p>
+ * The page is tagged with the game's state version, so a browser reloading a game that hasn't changed is answered
+ * with {@code 304 Not Modified} instead of a newly rendered page.
  *
  * @author Chris Piccoli, Ben Coffta
  */
@@ -43,6 +50,9 @@ public class GetGameRoute implements Route {
     static final String RED_PLAYER_ID_ATR = ATTRIBUTES.RED_PLAYER_ID_ATR.getAtr();
     static final String WHITE_PLAYER_ID_ATR = ATTRIBUTES.WHITE_PLAYER_ID_ATR.getAtr();
     static final String ACTIVE_COLOR_ATR = ATTRIBUTES.ACTIVE_COLOR_ATR.getAtr();
+    static final String RED_PIECES_ATR = ATTRIBUTES.RED_PIECES_ATR.getAtr();
+    static final String WHITE_PIECES_ATR = ATTRIBUTES.WHITE_PIECES_ATR.getAtr();
+    static final String STATE_VERSION_ATR = ATTRIBUTES.STATE_VERSION_ATR.getAtr();
     static final String VIEW_MODE_ATR = ATTRIBUTES.VIEW_MODE_ATR.getAtr();
     static final String GAME_BOARD_ATR = ATTRIBUTES.GAME_BOARD_ATR.getAtr();
     static final String CURRENT_USER_ATR = ATTRIBUTES.CURRENT_USER_ATR.getAtr();
@@ -83,15 +93,18 @@ public class GetGameRoute implements Route {
      *
      * @param vm          the map
      * @param game        the gamelobby
+     * @param snapshot    the state of the game the page shows
      * @param currentUser the current user
      */
-    protected void initGameInfo(Map<String, Object> vm, GameLobby game, Player currentUser) {
+    protected void initGameInfo(Map<String, Object> vm, GameLobby game, GameSnapshot snapshot, Player currentUser) {
         // put the rest of the relevant objects into the view-model
         vm.put(CURRENT_USER_ATR, currentUser);
         vm.put(GAME_ID_ATR, game.getGameID());
         vm.put(RED_PLAYER_ID_ATR, game.getRedPlayer());
         vm.put(WHITE_PLAYER_ID_ATR, game.getWhitePlayer());
-        vm.put(ACTIVE_COLOR_ATR, game.getActiveColor());
+        vm.put(ACTIVE_COLOR_ATR, snapshot.getActiveColor());
+        vm.put(RED_PIECES_ATR, snapshot.getRedPieces());
+        vm.put(WHITE_PIECES_ATR, snapshot.getWhitePieces());
     }
 
     /**
@@ -99,19 +112,19 @@ public class GetGameRoute implements Route {
      *
      * @param vm          the map
      * @param game        the gamelobby
+     * @param snapshot    the state of the game the page shows
      * @param currentUser the current user
      */
-    protected void initBoard(Map<String, Object> vm, GameLobby game, Player currentUser) {
+    protected void initBoard(Map<String, Object> vm, GameLobby game, GameSnapshot snapshot, Player currentUser) {
         // put the appropriate game board into the view-model
+        Board board = snapshot.getBoard();
         if (game.getRedPlayer().equals(currentUser)) {
-            vm.put(GAME_BOARD_ATR, game.getRedBoard());
+            vm.put(GAME_BOARD_ATR, new BoardView(board, Piece.COLOR.RED));
         } else if (game.getWhitePlayer().equals(currentUser)) {
-            vm.put(GAME_BOARD_ATR, game.getWhiteBoard());
+            vm.put(GAME_BOARD_ATR, new BoardView(board, Piece.COLOR.WHITE));
         } else {
-            // This should never occur, since if isPlayerInThisGame returns true, then currentUser must be
-            // equal to either the red or white player.
-            throw new IllegalStateException("isPlayerInThisGame returns true, but currentUser is not equal to" +
-                    " either red or white player");
+            // spectators watch from the red player's side
+            vm.put(GAME_BOARD_ATR, new BoardView(board, Piece.COLOR.RED));
         }
     }
 
@@ -140,12 +153,14 @@ public class GetGameRoute implements Route {
         // Do we have a "opponent" query parameter?
         if (request.queryParams("opponent") != null) {
             // If so, we are starting a new game.
-            final Player opponent = new Player(request.queryParams("opponent"));
             // check to make sure this name is actually a real username belonging to a user
-            if (playerLobby.getUsers().contains(opponent)) {
+            final Player opponent = playerLobby.getSingleUser(request.queryParams("opponent"));
+            if (opponent != null) {
                 // check to make sure the person they are starting a game with isn't already in a game
-                if (!playerLobby.userInGame(opponent)) {
-                    int gameID = playerLobby.createGame(currentUser, opponent);
+                // someone else may challenge them at the same time, so only a created game counts
+                int gameID = playerLobby.userInGame(opponent) ? PlayerLobby.NO_GAME
+                        : playerLobby.createGame(currentUser, opponent);
+                if (gameID != PlayerLobby.NO_GAME) {
                     response.redirect("game?" + GAME_ID_ATR + "=" + gameID);
                 } else {
                     // they requested to start a game with someone who is already in a game
@@ -189,32 +204,35 @@ public class GetGameRoute implements Route {
                 return null;
             }
 
-            // determine whether this player is actually one of the players of this game
-            if (game.isPlayerInThisGame(currentUser)) {
-                // This handles whether the game client should go into the "game over" view or not
+            // players play the game; anyone else signed in watches it
+            boolean playing = game.isPlayerInThisGame(currentUser);
 
-                final Map<String, Object> modeOptions = new HashMap<>(2);
-                // provide the appropriate game-over mode options depending on whether the game is done or not
-                modeOptions.put("isGameOver", playerLobby.getGame(gameID).isGameDone());
-                modeOptions.put("gameOverMessage", game.getGameOverReason());
-                vm.put(MODE_OPTIONS_AS_JSON, gson.toJson(modeOptions));
+            // render the game as of its last change rather than reading it while it changes; everything on the page,
+            // its tag and its version come from this one snapshot
+            GameSnapshot snapshot = game.getSnapshot();
+            VIEW_MODES mode = playing ? view_mode : VIEW_MODES.SPECTATOR;
 
-                initGameInfo(vm, game, currentUser);
+            // a browser that already has the page for this state of the game keeps it
+            if (GameETag.notModified(request, response, GameETag.of(mode.name(), game, snapshot, currentUser)))
+                return "";
 
-                vm.put(TITLE_ATR, "The Game Begins");
+            final Map<String, Object> modeOptions = new HashMap<>(2);
+            // provide the appropriate game-over mode options depending on whether the game is done or not
+            modeOptions.put("isGameOver", snapshot.isGameDone());
+            modeOptions.put("gameOverMessage", snapshot.getGameOverReason());
+            vm.put(MODE_OPTIONS_AS_JSON, gson.toJson(modeOptions));
 
-                // Until we implement other modes, the client is always in "PLAY" mode.
-                vm.put(VIEW_MODE_ATR, view_mode);
+            initGameInfo(vm, game, snapshot, currentUser);
+            // the page asks for what has changed since this version instead of reloading
+            vm.put(STATE_VERSION_ATR, snapshot.getVersion());
 
-                initBoard(vm, game, currentUser);
+            vm.put(TITLE_ATR, playing ? "The Game Begins" : "Spectating");
 
-                return templateEngine.render(new ModelAndView(vm, VIEW_NAME));
-            } else {
-                // if this player isn't one of the players of this game, just redirect them home
-                response.redirect("/");
-                halt();
-                return null;
-            }
+            vm.put(VIEW_MODE_ATR, mode);
+
+            initBoard(vm, game, snapshot, currentUser);
+
+            return WebCheckersTemplateEngine.render(templateEngine, new ModelAndView(vm, VIEW_NAME), response);
         } else {
             // If we have neither an "opponent" nor a "gameID" query parameter, that's bad. We should just redirect
             // them back home.
@@ -37,6 +37,7 @@ public class GetHomeRoute implements Route {
     static final String CURRENT_USER_ATR = ATTRIBUTES.CURRENT_USER_ATR.getAtr();
     static final String CURRENT_USER_KEY = "currentUser";
     static final String REPLAYS_LIST_KEY = "replaysList";
+    static final String GAMES_LIST_KEY = "gamesList";
 
     private static final Logger LOG = Logger.getLogger(GetHomeRoute.class.getName());
 
@@ -120,6 +121,9 @@ public class GetHomeRoute implements Route {
         //display the list of users except the current user.
         vm.put(USERS_LIST_ATR, list);
 
+        // put the games in progress into the view-model so they can be watched
+        vm.put(GAMES_LIST_KEY, playerLobby.getGames());
+
         // get the list of replays
         List<GameReplay> replays = GameReplayManager.toList();
 
@@ -128,7 +132,8 @@ public class GetHomeRoute implements Route {
 
 
         // render the View
-        return templateEngine.render(new ModelAndView(vm, VIEWS.HOME_VIEW.getView()));
+        return WebCheckersTemplateEngine.render(templateEngine, new ModelAndView(vm, VIEWS.HOME_VIEW.getView()),
+                response);
     }
 
 }
@@ -5,6 +5,7 @@ import com.webcheckers.application.GameLobby;
 import com.webcheckers.application.GameReplay;
 import com.webcheckers.application.GameReplayManager;
 import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.Piece;
 import com.webcheckers.model.Player;
 import spark.ModelAndView;
 import spark.Request;
@@ -34,6 +35,8 @@ public class GetReplayRoute implements Route {
     static final String RED_PLAYER_ID_ATR = ATTRIBUTES.RED_PLAYER_ID_ATR.getAtr();
     static final String WHITE_PLAYER_ID_ATR = ATTRIBUTES.WHITE_PLAYER_ID_ATR.getAtr();
     static final String ACTIVE_COLOR_ATR = ATTRIBUTES.ACTIVE_COLOR_ATR.getAtr();
+    static final String RED_PIECES_ATR = ATTRIBUTES.RED_PIECES_ATR.getAtr();
+    static final String WHITE_PIECES_ATR = ATTRIBUTES.WHITE_PIECES_ATR.getAtr();
     static final String VIEW_MODE_ATR = ATTRIBUTES.VIEW_MODE_ATR.getAtr();
     static final String GAME_BOARD_ATR = ATTRIBUTES.GAME_BOARD_ATR.getAtr();
     static final String CURRENT_USER_ATR = ATTRIBUTES.CURRENT_USER_ATR.getAtr();
@@ -69,6 +72,8 @@ public class GetReplayRoute implements Route {
         vm.put(RED_PLAYER_ID_ATR, game.getRedPlayer());
         vm.put(WHITE_PLAYER_ID_ATR, game.getWhitePlayer());
         vm.put(ACTIVE_COLOR_ATR, game.getActiveColor());
+        vm.put(RED_PIECES_ATR, game.getBoard().countPieces(Piece.COLOR.RED));
+        vm.put(WHITE_PIECES_ATR, game.getBoard().countPieces(Piece.COLOR.WHITE));
     }
 
     /**
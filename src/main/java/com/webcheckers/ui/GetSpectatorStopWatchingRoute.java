@@ -0,0 +1,31 @@
+package com.webcheckers.ui;
+
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import static spark.Spark.halt;
+
+/**
+ * Takes a spectator back home, for the {@code GET /spectator/stopWatching} route.
+ * <p>
+ * A spectator's page closes its own event stream as it is left, so there is nothing to tidy up here.
+ *
+ * @author Chris Piccoli
+ */
+public class GetSpectatorStopWatchingRoute implements Route {
+    /**
+     * Handles a request when the spectator clicks exit.
+     * Redirects home
+     *
+     * @param request  the http request
+     * @param response the response http request
+     * @return null
+     */
+    @Override
+    public Object handle(Request request, Response response) {
+        response.redirect(URLS.HOME_URL.getURL());
+        halt("Redirected Home");
+        return null;
+    }
+}
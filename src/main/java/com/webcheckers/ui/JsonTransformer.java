@@ -0,0 +1,40 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.webcheckers.model.ValidationResult;
+import com.webcheckers.util.Message;
+import spark.ResponseTransformer;
+
+/**
+ * Turns what the Ajax routes return into the JSON body of their response, with the web server's one {@link Gson}.
+ * <p>
+ * Routes return the {@link Message} or other object they answer with, and it is written as JSON by Gson's streaming
+ * writer, except for the validator's answers, whose JSON is made once in {@link ValidationResult}. A String is taken
+ * to be a body the route has made already, such as the empty body of a {@code 304 Not Modified}, and is sent as it is.
+ *
+ * @author Chris Piccoli
+ */
+public class JsonTransformer implements ResponseTransformer {
+    private final Gson gson;
+
+    /**
+     * Creates the transformer for the Ajax routes
+     *
+     * @param gson the web server's Gson
+     */
+    public JsonTransformer(Gson gson) {
+        this.gson = gson;
+    }
+
+    @Override
+    public String render(Object model) {
+        if (model == null || model instanceof String)
+            return (String) model;
+        if (model instanceof Message) {
+            ValidationResult result = ValidationResult.of((Message) model);
+            if (result != null)
+                return result.getJson();
+        }
+        return gson.toJson(model);
+    }
+}
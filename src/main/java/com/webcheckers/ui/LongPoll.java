@@ -0,0 +1,143 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.application.GameLobby;
+import com.webcheckers.application.GameSnapshot;
+import spark.Request;
+import spark.Response;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Holds an Ajax request until a game reaches the state it waits for, without holding a request thread.
+ * <p>
+ * The request is handed to the servlet container's async support and the route returns straight away. The poll
+ * listens to the game, and answers the request from the game's mailbox once a snapshot is ready, or from the
+ * container once the timeout elapses. The answer is a few bytes, so writing it doesn't hold the game up.
+ * <p>
+ * Spark writes the body of any response that isn't committed when the route returns, which would end the held
+ * request with an empty answer, so the response is committed before the route returns. A held answer can't be
+ * tagged for {@link GameETag} as a result; the browser's next request is simply answered in full.
+ *
+ * @author Chris Piccoli
+ */
+final class LongPoll implements Consumer<GameSnapshot>, AsyncListener {
+    private static final Logger LOG = Logger.getLogger(LongPoll.class.getName());
+
+    private final GameLobby game;
+    private final Predicate<GameSnapshot> ready;
+    private final Function<GameSnapshot, Object> answer;
+    private final JsonTransformer json;
+    private final AsyncContext async;
+    private final HttpServletResponse response;
+    private final AtomicBoolean answered = new AtomicBoolean();
+
+    private LongPoll(GameLobby game, Predicate<GameSnapshot> ready, Function<GameSnapshot, Object> answer,
+                     JsonTransformer json, AsyncContext async, HttpServletResponse response) {
+        this.game = game;
+        this.ready = ready;
+        this.answer = answer;
+        this.json = json;
+        this.async = async;
+        this.response = response;
+    }
+
+    /**
+     * Holds a request until the game is ready or the timeout elapses; the route must then return an empty body
+     *
+     * @param request  the HTTP request
+     * @param response the HTTP response
+     * @param game     the game to wait on
+     * @param seen     the snapshot the route found not ready
+     * @param millis   the longest the request is held, in milliseconds
+     * @param ready    whether a snapshot can be answered
+     * @param answer   makes the answer from the snapshot that is ready, or the latest once the timeout elapses
+     * @param json     writes the answer
+     */
+    static void hold(Request request, Response response, GameLobby game, GameSnapshot seen, long millis,
+                     Predicate<GameSnapshot> ready, Function<GameSnapshot, Object> answer, JsonTransformer json) {
+        response.type("application/json;charset=utf-8");
+        response.header("Cache-Control", "no-cache");
+        AsyncContext async = request.raw().startAsync();
+        async.setTimeout(millis);
+        LongPoll poll = new LongPoll(game, ready, answer, json, async, response.raw());
+        async.addListener(poll);
+        try {
+            response.raw().flushBuffer();
+        } catch (IOException e) {
+            LOG.log(Level.FINER, "Long poll closed by the browser.", e);
+            async.complete();
+            return;
+        }
+
+        game.addListener(poll);
+        // the game may have changed before the poll was listening
+        GameSnapshot latest = game.getSnapshot();
+        if (latest != seen && ready.test(latest))
+            poll.answer(latest);
+    }
+
+    /**
+     * Answers with a newly published snapshot if it is ready; runs in the game's mailbox
+     */
+    @Override
+    public void accept(GameSnapshot next) {
+        if (ready.test(next))
+            answer(next);
+    }
+
+    /**
+     * Writes the answer and ends the request, unless it has been answered already
+     */
+    private void answer(GameSnapshot snapshot) {
+        if (!answered.compareAndSet(false, true))
+            return;
+        game.removeListener(this);
+        try {
+            response.getOutputStream().write(json.render(answer.apply(snapshot)).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException | IllegalStateException e) {
+            LOG.log(Level.FINER, "Long poll closed by the browser.", e);
+        }
+        try {
+            async.complete();
+        } catch (IllegalStateException e) {
+            // already completed by the container
+        }
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        answer(game.getSnapshot());
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        game.removeListener(this);
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        answered.set(true);
+        game.removeListener(this);
+        try {
+            async.complete();
+        } catch (IllegalStateException e) {
+            // already completed by the container
+        }
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+        // nothing to do
+    }
+}
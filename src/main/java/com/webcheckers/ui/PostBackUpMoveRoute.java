@@ -1,9 +1,10 @@
 package com.webcheckers.ui;
 
-import com.google.gson.JsonObject;
 import com.webcheckers.application.GameLobby;
 import com.webcheckers.application.PlayerLobby;
 import com.webcheckers.model.MoveValidator;
+import com.webcheckers.model.Player;
+import com.webcheckers.util.Message;
 import spark.Request;
 import spark.Response;
 import spark.Route;
@@ -18,6 +19,7 @@ public class PostBackUpMoveRoute implements Route {
 
     private static final String GAMEID_PARAM = "gameID";
     private static final Logger LOG = Logger.getLogger(PostCheckTurnRoute.class.getName());
+    private static final Message GAME_OVER = Message.error(" You can't backup a move because your opponent resigned. Click my home to enter a game.");
     private PlayerLobby playerLobby;
 
     /**
@@ -42,16 +44,28 @@ public class PostBackUpMoveRoute implements Route {
     public Object handle(Request request, Response response) {
 
         int gameID = Integer.parseInt(request.queryParams(GAMEID_PARAM));
-        GameLobby game = playerLobby.getGame(gameID);
+        Player currentUser = request.session().attribute(GetHomeRoute.CURRENT_USER_KEY);
+        return backupMove(playerLobby.getGame(gameID), currentUser);
+    }
+
+    /**
+     * Takes back the last move of the active player's turn
+     *
+     * @param game   the game
+     * @param player the player backing up
+     * @return A message of type INFO or ERROR
+     */
+    Message backupMove(GameLobby game, Player player) {
         MoveValidator validator = game.getValidator();
 
-        if (game.isGameDone()) {
-            JsonObject error = new JsonObject();
-            error.addProperty("type", "ERROR");
-            error.addProperty("text", " You can't backup a move because your opponent resigned. Click my home to enter a game.");
-            return error;
-        } else {
-            return validator.undoMove(game);
-        }
+        return game.call(() -> {
+            if (game.isGameDone()) {
+                return GAME_OVER;
+            } else if (!game.getActivePlayer().equals(player)) {
+                return PostValidateMoveRoute.NOT_YOUR_TURN;
+            } else {
+                return validator.undoMove(game).getMessage();
+            }
+        });
     }
 }
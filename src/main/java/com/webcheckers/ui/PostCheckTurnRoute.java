@@ -1,9 +1,11 @@
 package com.webcheckers.ui;
 
-import com.google.gson.JsonObject;
+import com.google.gson.Gson;
 import com.webcheckers.application.GameLobby;
+import com.webcheckers.application.GameSnapshot;
 import com.webcheckers.application.PlayerLobby;
 import com.webcheckers.model.Player;
+import com.webcheckers.util.Message;
 import spark.Request;
 import spark.Response;
 import spark.Route;
@@ -14,13 +16,26 @@ import java.util.logging.Logger;
 /**
  * Is used preiodically to check which
  * players turn it is
+ * <p>
+ * When the request has a {@code longPoll} parameter the route holds it until it is the player's turn, the game ends,
+ * or the long-poll timeout elapses, so a waiting player makes one request per turn instead of one every few seconds.
+ * A held request is a {@link LongPoll}, which holds no request thread while it waits.
+ * <p>
+ * The answer is tagged with the game's state version. Checking the turn only reads the game, so a request that sends
+ * the tag back is answered with {@code 304 Not Modified} and an empty body while the game is unchanged.
  *
  * @author Chris Piccoli , Kushal
  */
 public class PostCheckTurnRoute implements Route {
     private static final String GAMEID_ATR = ATTRIBUTES.GAME_ID_ATR.getAtr();
     private static final Logger LOG = Logger.getLogger(PostCheckTurnRoute.class.getName());
+    static final String LONG_POLL_PARAM = "longPoll";
+    // kept under the thirty seconds most proxies allow an idle request
+    static final long LONG_POLL_MILLIS = 20_000;
+
     private PlayerLobby playerLobby;
+    private final JsonTransformer json;
+    private final long longPollMillis;
 
     /**
      * The constructor for the {@code POST /checkTurn} route handler.
@@ -28,15 +43,39 @@ public class PostCheckTurnRoute implements Route {
      * @param playerLobby webservers current player lobby
      */
     public PostCheckTurnRoute(PlayerLobby playerLobby) {
+        this(playerLobby, new JsonTransformer(new Gson()));
+    }
+
+    /**
+     * The constructor for the {@code POST /checkTurn} route handler.
+     *
+     * @param playerLobby webservers current player lobby
+     * @param json        writes the answers to held requests
+     */
+    public PostCheckTurnRoute(PlayerLobby playerLobby, JsonTransformer json) {
+        this(playerLobby, json, LONG_POLL_MILLIS);
+    }
+
+    /**
+     * The constructor for the {@code POST /checkTurn} route handler.
+     *
+     * @param playerLobby    webservers current player lobby
+     * @param json           writes the answers to held requests
+     * @param longPollMillis the longest a long-poll request is held, in milliseconds
+     */
+    PostCheckTurnRoute(PlayerLobby playerLobby, JsonTransformer json, long longPollMillis) {
         this.playerLobby = playerLobby;
+        this.json = json;
+        this.longPollMillis = longPollMillis;
         LOG.config("PostCheckTurnRoute is initialized.");
     }
 
     /**
      * @param request  an ajax request
      * @param response an ajax response
-     * @return A JSON object of type INFO when the game is done or when the active player
-     * is equal to the current player.
+     * @return A message of type INFO whose text is true when the game is done or when the active player
+     * is equal to the current player, or an empty body if the browser's answer is still current
+     * or the request is held.
      */
     @Override
     public Object handle(Request request, Response response) {
@@ -45,26 +84,33 @@ public class PostCheckTurnRoute implements Route {
 
         int gameID = Integer.parseInt(request.queryParams(GAMEID_ATR));
 
-        GameLobby game = playerLobby.getGame(gameID);
+        // only reads the game, so the latest snapshot will do
+        GameLobby lobby = playerLobby.getGame(gameID);
+        GameSnapshot game = lobby.getSnapshot();
 
         Player currentUser = session.attribute(GetHomeRoute.CURRENT_USER_KEY);
 
-        //@TODO breaks the server if someone not logged in is at the game page
-        JsonObject myTurn = new JsonObject();
-        //if the opponent resigns then the game is done.
-        if (game.isGameDone()) {
-            myTurn.addProperty("type", "INFO");
-            myTurn.addProperty("text", "true");
-            // if the active player is the current user.
-        } else if (game.getActivePlayer().equals(currentUser)) {
-            myTurn.addProperty("type", "INFO");
-            myTurn.addProperty("text", "true");
-        } else {
-            myTurn.addProperty("type", "INFO");
-            myTurn.addProperty("text", "false");
+        if (request.queryParams(LONG_POLL_PARAM) != null && !isMyTurn(game, currentUser)) {
+            LongPoll.hold(request, response, lobby, game, longPollMillis, next -> isMyTurn(next, currentUser),
+                    next -> Message.info(String.valueOf(isMyTurn(next, currentUser))), json);
+            return "";
         }
 
-        return myTurn; // returns the JSON object.
+        //@TODO breaks the server if someone not logged in is at the game page
+        // the answer can only change with the game, so a browser that has it already is just told so
+        if (GameETag.notModified(request, response, GameETag.of("checkTurn", lobby, game, currentUser)))
+            return "";
+
+        //if the opponent resigns then the game is done.
+        // or if the active player is the current user.
+        return Message.info(String.valueOf(isMyTurn(game, currentUser)));
         //return templateEngine.render(new ModelAndView(vm, GetGameRoute.VIEW_NAME));
     }
+
+    /**
+     * @return true if the player no longer has to wait: the game is over or it is their turn
+     */
+    private static boolean isMyTurn(GameSnapshot game, Player currentUser) {
+        return game.isGameDone() || game.getActivePlayer().equals(currentUser);
+    }
 }
@@ -0,0 +1,74 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.application.GameLobby;
+import com.webcheckers.application.GameSnapshot;
+import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.Board;
+import com.webcheckers.model.Player;
+import com.webcheckers.util.Message;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import java.util.logging.Logger;
+
+/**
+ * Sends a game page what has changed since the state it shows, for the {@code POST /game/delta} route, so the page
+ * can update its board in place instead of being rendered again.
+ * <p>
+ * The request's {@code actionData} is the state version the page shows. The answer is the game's latest turn, end
+ * and version, its board as written by {@link Board#encode()}, and the mask of the squares that differ, from the red
+ * player's side:
+ * <pre>
+ *     {"type":"INFO","version":9,"activeColor":"WHITE",...,"board":"__AAAAAAD_8AAAAA","changed":1114112,...}
+ * </pre>
+ * The page only redraws the changed squares. If the page's version is too old to be known, every square is marked
+ * changed.
+ *
+ * @author Chris Piccoli
+ */
+public class PostGameDeltaRoute implements Route {
+    private static final Logger LOG = Logger.getLogger(PostGameDeltaRoute.class.getName());
+    private static final String GAMEID_ATR = ATTRIBUTES.GAME_ID_ATR.getAtr();
+    static final String ACTION_DATA_PARAM = "actionData";
+
+    private final PlayerLobby playerLobby;
+
+    /**
+     * The constructor for the {@code POST /game/delta} route handler.
+     *
+     * @param playerLobby webservers current player lobby
+     */
+    public PostGameDeltaRoute(PlayerLobby playerLobby) {
+        this.playerLobby = playerLobby;
+        LOG.config("PostGameDeltaRoute is initialized.");
+    }
+
+    /**
+     * @param request  an ajax request
+     * @param response an ajax response
+     * @return the changes, a {@link GameUpdate} of type INFO, or a message of type ERROR
+     */
+    @Override
+    public Object handle(Request request, Response response) {
+        LOG.finer("PostGameDeltaRoute is invoked.");
+        Player currentUser = request.session().attribute(GetHomeRoute.CURRENT_USER_KEY);
+        if (currentUser == null)
+            return Message.error("You must be signed in to view a game.");
+
+        GameLobby game;
+        long seenVersion;
+        try {
+            game = playerLobby.getGame(Integer.parseInt(request.queryParams(GAMEID_ATR)));
+            String seen = request.queryParams(ACTION_DATA_PARAM);
+            seenVersion = seen == null ? 0 : Long.parseLong(seen);
+        } catch (NumberFormatException e) {
+            return Message.error("That request could not be read.");
+        }
+        if (game == null)
+            return Message.error("That game does not exist.");
+
+        GameSnapshot latest = game.getSnapshot();
+        return GameUpdate.delta(game.getSnapshot(seenVersion), latest);
+    }
+}
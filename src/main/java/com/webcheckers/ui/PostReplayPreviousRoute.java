@@ -3,6 +3,7 @@ package com.webcheckers.ui;
 import com.google.gson.JsonObject;
 import com.webcheckers.application.GameReplay;
 import com.webcheckers.application.GameReplayManager;
+import com.webcheckers.model.Piece;
 import com.webcheckers.model.Player;
 import spark.Request;
 import spark.Response;
@@ -15,7 +16,8 @@ public class PostReplayPreviousRoute implements Route {
      *
      * @param request  the http request sent by ajax
      * @param response the response http request
-     * @return A JSON object of type INFO or ERROR
+     * @return A JSON object of type INFO or ERROR; when the replay moved, it also holds the board and whether it can
+     * move again
      */
     @Override
     public Object handle(Request request, Response response) {
@@ -31,6 +33,13 @@ public class PostReplayPreviousRoute implements Route {
         if (game.hasPrevious()) {
             action.addProperty("text", "true");
             game.lastMove();
+            // the page redraws its board from the answer instead of reloading
+            action.addProperty("board", game.getBoard().encode());
+            action.addProperty("activeColor", game.getActiveColor().name());
+            action.addProperty("redPieces", game.getBoard().countPieces(Piece.COLOR.RED));
+            action.addProperty("whitePieces", game.getBoard().countPieces(Piece.COLOR.WHITE));
+            action.addProperty("hasNext", game.hasNext());
+            action.addProperty("hasPrevious", game.hasPrevious());
         } else {
             action.addProperty("text", "false");
 
@@ -1,7 +1,6 @@
 package com.webcheckers.ui;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
+import com.webcheckers.application.GameLobby;
 import com.webcheckers.application.PlayerLobby;
 import com.webcheckers.model.Player;
 import com.webcheckers.util.Message;
@@ -49,24 +48,29 @@ public class PostResignGameRoute implements Route {
         final Session session = request.session();
 
         int gameID = Integer.parseInt(request.queryParams(GAMEID_PARAM));
+        GameLobby game = playerLobby.getGame(gameID);
+        // read the username out of the session
+        Player currentUser = session.attribute("currentUser");
 
-        Gson gson = new Gson();
-        JsonObject resignGame = new JsonObject();
-        Message message = gson.fromJson(resignGame, Message.class);
-        response.body(message.toString());
+        return resignGame(gameID, game, currentUser);
+    }
 
-        //Check if the game is done or resigned and notify the user that resign was unsuccessful.
-        if (playerLobby.getGame(gameID).isGameDone()) {
-            resignGame.addProperty("type", "ERROR");
-            resignGame.addProperty("text", "This game is already over, because your opponent resigned.Click my home to enter a game. Click my home to enter a game.");
-        } else {
-            // read the username out of the session
-            Player currentUser = session.attribute("currentUser");
+    /**
+     * Ends the game with the given player resigning
+     *
+     * @param gameID      the game's ID
+     * @param game        the game
+     * @param currentUser the player who is resigning
+     * @return A message of type ERROR if the game is already over and type INFO if the user resigned successfully.
+     */
+    Message resignGame(int gameID, GameLobby game, Player currentUser) {
+        return game.call(() -> {
+            //Check if the game is done or resigned and notify the user that resign was unsuccessful.
+            if (game.isGameDone()) {
+                return Message.error("This game is already over, because your opponent resigned.Click my home to enter a game. Click my home to enter a game.");
+            }
             playerLobby.endGame(gameID, currentUser.getName() + " has resigned.");
-            resignGame.addProperty("type", "INFO");
-            resignGame.addProperty("text", "false");
-        }
-
-        return resignGame;
+            return Message.info("false");
+        });
     }
 }
@@ -0,0 +1,44 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.model.Player;
+import com.webcheckers.util.Message;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import java.util.logging.Logger;
+
+/**
+ * Issues the ticket that opens a {@link GameSocketHandler game socket} for the signed in player.
+ *
+ * @author Chris Piccoli
+ */
+public class PostSocketTicketRoute implements Route {
+    private static final Logger LOG = Logger.getLogger(PostSocketTicketRoute.class.getName());
+    private final GameSocketHandler socketHandler;
+
+    /**
+     * The constructor for the {@code POST /game/socketTicket} route handler
+     *
+     * @param socketHandler the handler the ticket is for
+     */
+    public PostSocketTicketRoute(GameSocketHandler socketHandler) {
+        this.socketHandler = socketHandler;
+        LOG.config("PostSocketTicketRoute is initialized.");
+    }
+
+    /**
+     * @param request  an ajax request
+     * @param response an ajax response
+     * @return A message of type INFO whose text is the ticket, or of type ERROR if no one is signed in
+     */
+    @Override
+    public Object handle(Request request, Response response) {
+        LOG.finer("PostSocketTicketRoute is invoked.");
+        Player currentUser = request.session().attribute(GetHomeRoute.CURRENT_USER_KEY);
+
+        if (currentUser == null)
+            return Message.error("You must be signed in to play.");
+        return Message.info(socketHandler.issueTicket(currentUser));
+    }
+}
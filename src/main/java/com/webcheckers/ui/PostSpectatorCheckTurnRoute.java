@@ -0,0 +1,114 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.webcheckers.application.GameLobby;
+import com.webcheckers.application.GameSnapshot;
+import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.Piece;
+import com.webcheckers.util.Message;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import java.util.logging.Logger;
+
+/**
+ * Tells a spectator whether the turn they are watching has been played, for browsers that can't open the game's
+ * event stream.
+ * <p>
+ * The request may name the color whose turn the spectator's page shows as its {@code actionData}. The route holds
+ * the request until the turn has passed from that color, the game ends, or the long-poll timeout elapses. A held
+ * request is a {@link LongPoll}, so a game with many spectators holds no request threads.
+ *
+ * @author Chris Piccoli
+ */
+public class PostSpectatorCheckTurnRoute implements Route {
+    private static final String GAMEID_ATR = ATTRIBUTES.GAME_ID_ATR.getAtr();
+    private static final Logger LOG = Logger.getLogger(PostSpectatorCheckTurnRoute.class.getName());
+    static final String ACTION_DATA_PARAM = "actionData";
+
+    private final PlayerLobby playerLobby;
+    private final JsonTransformer json;
+    private final long longPollMillis;
+
+    /**
+     * The constructor for the {@code POST /spectator/checkTurn} route handler.
+     *
+     * @param playerLobby webservers current player lobby
+     */
+    public PostSpectatorCheckTurnRoute(PlayerLobby playerLobby) {
+        this(playerLobby, new JsonTransformer(new Gson()));
+    }
+
+    /**
+     * The constructor for the {@code POST /spectator/checkTurn} route handler.
+     *
+     * @param playerLobby webservers current player lobby
+     * @param json        writes the answers to held requests
+     */
+    public PostSpectatorCheckTurnRoute(PlayerLobby playerLobby, JsonTransformer json) {
+        this(playerLobby, json, PostCheckTurnRoute.LONG_POLL_MILLIS);
+    }
+
+    /**
+     * The constructor for the {@code POST /spectator/checkTurn} route handler.
+     *
+     * @param playerLobby    webservers current player lobby
+     * @param json           writes the answers to held requests
+     * @param longPollMillis the longest a request is held, in milliseconds
+     */
+    PostSpectatorCheckTurnRoute(PlayerLobby playerLobby, JsonTransformer json, long longPollMillis) {
+        this.playerLobby = playerLobby;
+        this.json = json;
+        this.longPollMillis = longPollMillis;
+        LOG.config("PostSpectatorCheckTurnRoute is initialized.");
+    }
+
+    /**
+     * @param request  an ajax request
+     * @param response an ajax response
+     * @return A message of type INFO whose text is true when the turn has passed or the game is done, or of type
+     * ERROR if there is no such game, or an empty body if the request is held.
+     */
+    @Override
+    public Object handle(Request request, Response response) {
+        LOG.finer("PostSpectatorCheckTurnRoute is invoked.");
+        GameLobby lobby;
+        try {
+            lobby = playerLobby.getGame(Integer.parseInt(request.queryParams(GAMEID_ATR)));
+        } catch (NumberFormatException e) {
+            lobby = null;
+        }
+        if (lobby == null) {
+            return Message.error("That game does not exist.");
+        }
+
+        GameSnapshot game = lobby.getSnapshot();
+        Piece.COLOR watched = watchedColor(request.queryParams(ACTION_DATA_PARAM), game);
+
+        if (!isNextTurn(game, watched)) {
+            LongPoll.hold(request, response, lobby, game, longPollMillis, next -> isNextTurn(next, watched),
+                    next -> Message.info(String.valueOf(isNextTurn(next, watched))), json);
+            return "";
+        }
+        return Message.info("true");
+    }
+
+    /**
+     * @return the color whose turn the spectator's page shows, or the game's if the page didn't say
+     */
+    private static Piece.COLOR watchedColor(String actionData, GameSnapshot game) {
+        try {
+            return actionData == null ? game.getActiveColor() : Piece.COLOR.valueOf(actionData);
+        } catch (IllegalArgumentException e) {
+            return game.getActiveColor();
+        }
+    }
+
+    /**
+     * @return true if the spectator's page is out of date: the game is over or the turn has passed
+     */
+    private static boolean isNextTurn(GameSnapshot game, Piece.COLOR watched) {
+        return game.isGameDone() || game.getActiveColor() != watched;
+    }
+}
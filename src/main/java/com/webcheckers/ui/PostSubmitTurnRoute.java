@@ -1,10 +1,10 @@
 package com.webcheckers.ui;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import com.webcheckers.application.GameLobby;
 import com.webcheckers.application.PlayerLobby;
 import com.webcheckers.model.MoveValidator;
+import com.webcheckers.model.Player;
+import com.webcheckers.model.ValidationResult;
 import com.webcheckers.util.Message;
 import spark.Request;
 import spark.Response;
@@ -21,6 +21,7 @@ import java.util.logging.Logger;
 public class PostSubmitTurnRoute implements Route {
     private static final String GAMEID_PARAM = "gameID";
     private static final Logger LOG = Logger.getLogger(PostCheckTurnRoute.class.getName());
+    private static final Message GAME_OVER = Message.info("The game is already over.");
     private PlayerLobby playerLobby;
 
     /**
@@ -45,32 +46,40 @@ public class PostSubmitTurnRoute implements Route {
 
 
         int gameID = Integer.parseInt(request.queryParams(GAMEID_PARAM));
-        GameLobby game = playerLobby.getGame(gameID);
+        Player currentUser = request.session().attribute(GetHomeRoute.CURRENT_USER_KEY);
+        return submitTurn(gameID, playerLobby.getGame(gameID), currentUser);
+    }
 
+    /**
+     * Ends the active player's turn if it is complete, and ends the game if they have won
+     *
+     * @param gameID the game's ID
+     * @param game   the game
+     * @param player the player submitting the turn
+     * @return A message of type INFO if the game is done or if the active user has taken it's turn.
+     */
+    Message submitTurn(int gameID, GameLobby game, Player player) {
         MoveValidator validator = game.getValidator();
 
-        Gson gson = new Gson();
+        return game.call(() -> {
+            if (game.isGameDone()) {
+                // If the game is already over, just indicate the turn was successful to cause the page to refresh.
+                return GAME_OVER;
+            } else if (!game.getActivePlayer().equals(player)) {
+                return PostValidateMoveRoute.NOT_YOUR_TURN;
+            } else {         // if the move is valid change the current user to inactive and the opponent to active
+                ValidationResult isTurnValid = validator.ValidateTurn(game.getRedBoard(), game.getWhiteBoard(), game.getActiveColor());
 
-        if (game.isGameDone()) {
-            // If the game is already over, just indicate the turn was successful to cause the page to refresh.
-            JsonObject jsonObject = new JsonObject();
-            jsonObject.addProperty("type", "INFO");
-            jsonObject.addProperty("text", "The game is already over.");
-            return jsonObject;
-        } else {         // if the move is valid change the current user to inactive and the opponent to active
-            JsonObject isTurnValid = validator.ValidateTurn(game.getRedBoard(), game.getWhiteBoard(), game.getActiveColor());
-            Message message = gson.fromJson(isTurnValid, Message.class);
+                if (isTurnValid.isSuccessful()) {
+                    game.endTurn();
+                }
 
-            if (isTurnValid.get("type").getAsString().equals("INFO")) {
-                game.endTurn();
-            }
-
-            if (game.checkForVictory())
-                playerLobby.endGame(gameID, game.getGameOverReason());
-            response.body(message.toString());
+                if (game.checkForVictory())
+                    playerLobby.endGame(gameID, game.getGameOverReason());
 
-            return isTurnValid;
-        }
+                return isTurnValid.getMessage();
+            }
+        });
 
     }
 }
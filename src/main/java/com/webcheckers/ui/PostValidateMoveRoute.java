@@ -1,13 +1,14 @@
 package com.webcheckers.ui;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import com.webcheckers.application.GameLobby;
 import com.webcheckers.application.PlayerLobby;
 import com.webcheckers.model.BoardView;
 import com.webcheckers.model.Move;
 import com.webcheckers.model.MoveValidator;
+import com.webcheckers.model.Player;
 import com.webcheckers.model.Position;
+import com.webcheckers.model.ValidationResult;
 import com.webcheckers.util.Message;
 import spark.Request;
 import spark.Response;
@@ -26,7 +27,11 @@ public class PostValidateMoveRoute implements Route {
     private static final String ACTION_DATA_PARAM = "actionData";
 
     private static final Logger LOG = Logger.getLogger(PostCheckTurnRoute.class.getName());
+    private static final Message GAME_OVER = Message.error(" You can't make a move because your opponent already resigned. Click my home to enter a game.");
+    // the answer to a move, backup or submit from anyone but the active player
+    static final Message NOT_YOUR_TURN = Message.error("It is not your turn.");
     private PlayerLobby playerLobby;
+    private final Gson gson;
 
     /**
      * The constructor for the {@code POST /validateMove} route handler
@@ -34,7 +39,18 @@ public class PostValidateMoveRoute implements Route {
      * @param playerLobby the current playerlobby of the webserver
      */
     public PostValidateMoveRoute(PlayerLobby playerLobby) {
+        this(playerLobby, new Gson());
+    }
+
+    /**
+     * The constructor for the {@code POST /validateMove} route handler
+     *
+     * @param playerLobby the current playerlobby of the webserver
+     * @param gson        the webserver's Gson, which reads the move
+     */
+    public PostValidateMoveRoute(PlayerLobby playerLobby, Gson gson) {
         this.playerLobby = playerLobby;
+        this.gson = gson;
 
         LOG.config("PostValidateMoveRoute is initialized.");
     }
@@ -53,31 +69,43 @@ public class PostValidateMoveRoute implements Route {
         GameLobby game = playerLobby.getGame(gameID);
 
 
-        Gson gson = new Gson();
-
-        // if game is done or if the resign button is clicked on, notify the user that resign is unsuccessful.
-        if (game.isGameDone()) {
-            JsonObject error = new JsonObject();
-            error.addProperty("type", "ERROR");
-            error.addProperty("text", " You can't make a move because your opponent already resigned. Click my home to enter a game.");
-            return error;
-        } else { // if the game is not resigned then validate the move the user makes.
-            Move move = gson.fromJson(request.queryParams(ACTION_DATA_PARAM), Move.class);
-            BoardView playerBoard = game.getActiveBoard();
-            MoveValidator validator = game.getValidator();
-            JsonObject isMoveValid = validator.ValidateMove(move, game.getActiveColor(), playerBoard);
-            Message message = gson.fromJson(isMoveValid, Message.class);
+        Player currentUser = request.session().attribute(GetHomeRoute.CURRENT_USER_KEY);
+        Move move = gson.fromJson(request.queryParams(ACTION_DATA_PARAM), Move.class);
+        return validateMove(game, currentUser, move);
+    }
 
-            // it should have INFO if it is valid
-            // if it is valid update the board
-            if (move.getEnd().equals(new Position(0, 0)))
-                return isMoveValid;
-            if (isMoveValid.get("type").getAsString().equals("INFO"))
-                game.makeMove(move);
+    /**
+     * Checks a move by the active player and makes it if it is valid
+     *
+     * @param game   the game
+     * @param player the player making the move
+     * @param move   the move, from the active player's perspective
+     * @return A message of type ERROR when the game is done or the move is invalid, or of type INFO when it's a valid
+     * move
+     */
+    Message validateMove(GameLobby game, Player player, Move move) {
+        // the move is checked and made in the game's mailbox, so it can't interleave with other changes to the game
+        return game.call(() -> {
+            // if game is done or if the resign button is clicked on, notify the user that resign is unsuccessful.
+            if (game.isGameDone()) {
+                return GAME_OVER;
+            } else if (!game.getActivePlayer().equals(player)) {
+                return NOT_YOUR_TURN;
+            } else { // if the game is not resigned then validate the move the user makes.
+                BoardView playerBoard = game.getActiveBoard();
+                MoveValidator validator = game.getValidator();
+                ValidationResult isMoveValid = validator.ValidateMove(move, game.getActiveColor(), playerBoard);
 
-            response.body(message.toString());
+                // it should have INFO if it is valid
+                // if it is valid update the board
+                Position end = move.getEnd();
+                if (end.getRow() == 0 && end.getCell() == 0)
+                    return isMoveValid.getMessage();
+                if (isMoveValid.isSuccessful())
+                    game.makeMove(move);
 
-            return isMoveValid;
-        }
+                return isMoveValid.getMessage();
+            }
+        });
     }
 }
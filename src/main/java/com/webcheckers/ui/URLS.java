@@ -11,12 +11,18 @@ public enum URLS {
   SIGN_IN_URL("/signin"),
   GAME_URL("/game"),
   CHECK_TURN_URL("/checkTurn"),
+  GAME_EVENTS_URL("/game/events"),
+  GAME_DELTA_URL("/game/delta"),
+  GAME_SOCKET_URL("/game/socket"),
+  SOCKET_TICKET_URL("/game/socketTicket"),
   RESIGN_GAME_URL("/resignGame"),
   VALIDATE_MOVE_URL("/validateMove"),
   SUBMIT_TURN_URL("/submitTurn"),
   BACK_UP_MOVE_URL("/backupMove"),
   SIGN_OUT_URL("/signout"),
   ACCOUNT_DETAILS_URL("/account-details"),
+  SPECTATOR_CHECK_TURN_URL("/spectator/checkTurn"),
+  SPECTATOR_STOP_WATCHING_URL("/spectator/stopWatching"),
   REPLAY_GAME_URL("/replay/game"),
   STOP_REPLAY_GAME_URL("/replay/stopWatching"),
   REPLAY_NEXT_MOVE("/replay/nextTurn"),
@@ -0,0 +1,155 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.model.Board;
+import com.webcheckers.model.BoardView;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Player;
+import com.webcheckers.model.Row;
+import com.webcheckers.model.Space;
+import freemarker.cache.StrongCacheStorage;
+import freemarker.template.Configuration;
+import freemarker.template.DefaultObjectWrapper;
+import freemarker.template.DefaultObjectWrapperBuilder;
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import freemarker.template.TemplateExceptionHandler;
+import freemarker.template.TemplateModelException;
+import freemarker.template.Version;
+import spark.ModelAndView;
+import spark.Response;
+import spark.TemplateEngine;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Renders the WebCheckers pages from their FreeMarker templates.
+ * <p>
+ * Unlike Spark's default {@code FreeMarkerEngine}, the templates are parsed once when the engine is made and are
+ * never checked for changes, since they ship inside the application. Every page shares one object wrapper, whose
+ * bean introspection for the board, its rows and spaces, and players is done up front as well. Routes that render
+ * often use {@link #render(TemplateEngine, ModelAndView, Response)} to write the page straight to the response
+ * instead of building it as a String first.
+ *
+ * @author Chris Piccoli
+ */
+public class WebCheckersTemplateEngine extends TemplateEngine {
+    private static final Logger LOG = Logger.getLogger(WebCheckersTemplateEngine.class.getName());
+    // the same template language rules as Spark's default FreeMarkerEngine, so the pages render as they did
+    private static final Version VERSION = new Version(2, 3, 23);
+    private static final String TEMPLATE_PATH = "/spark/template/freemarker";
+    private static final String CONTENT_TYPE = "text/html;charset=utf-8";
+    // the first String a page is rendered into; after that, the page's last size
+    private static final int FIRST_PAGE_SIZE = 4096;
+
+    private final Configuration configuration;
+    private final Map<String, Integer> pageSizes = new ConcurrentHashMap<>();
+
+    /**
+     * Configures FreeMarker and loads every page's template
+     */
+    public WebCheckersTemplateEngine() {
+        configuration = new Configuration(VERSION);
+        configuration.setClassForTemplateLoading(WebCheckersTemplateEngine.class, TEMPLATE_PATH);
+        configuration.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        configuration.setOutputEncoding(StandardCharsets.UTF_8.name());
+        // the templates are in the jar, so a loaded template is never stale and never needs to be dropped
+        configuration.setTemplateUpdateDelayMilliseconds(Long.MAX_VALUE);
+        configuration.setCacheStorage(new StrongCacheStorage());
+        configuration.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+        configuration.setLogTemplateExceptions(false);
+
+        DefaultObjectWrapper wrapper = new DefaultObjectWrapperBuilder(VERSION).build();
+        configuration.setObjectWrapper(wrapper);
+
+        try {
+            for (VIEWS view : VIEWS.values())
+                configuration.getTemplate(view.getView());
+            introspect(wrapper);
+        } catch (IOException | TemplateModelException e) {
+            throw new IllegalStateException("The page templates could not be loaded.", e);
+        }
+        LOG.config("WebCheckersTemplateEngine is initialized.");
+    }
+
+    /**
+     * Wraps one of each object the pages read, so the wrapper has looked up their properties before the first page
+     */
+    private static void introspect(DefaultObjectWrapper wrapper) throws TemplateModelException {
+        BoardView board = new BoardView(new Board(Piece.COLOR.RED), Piece.COLOR.RED);
+        wrapper.wrap(board);
+        Row row = board.iterator().next();
+        wrapper.wrap(row);
+        for (Space space : row) {
+            wrapper.wrap(space);
+            if (space.getPiece() != null)
+                wrapper.wrap(space.getPiece());
+        }
+        wrapper.wrap(new Player(""));
+    }
+
+    /**
+     * Renders a page into a String
+     *
+     * @param modelAndView the view-model and the name of the page's template
+     * @return the page
+     */
+    @Override
+    public String render(ModelAndView modelAndView) {
+        String name = modelAndView.getViewName();
+        StringWriter page = new StringWriter(pageSizes.getOrDefault(name, FIRST_PAGE_SIZE));
+        process(modelAndView, page);
+        pageSizes.put(name, page.getBuffer().length());
+        return page.toString();
+    }
+
+    /**
+     * Renders a page into the body of a response
+     *
+     * @param modelAndView the view-model and the name of the page's template
+     * @param response     the response to write the page to
+     * @throws UncheckedIOException if the page could not be sent
+     */
+    public void render(ModelAndView modelAndView, Response response) {
+        response.type(CONTENT_TYPE);
+        try {
+            Writer body = new OutputStreamWriter(response.raw().getOutputStream(), StandardCharsets.UTF_8);
+            process(modelAndView, body);
+            // Spark closes the stream once the route returns
+            body.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Renders a page for a route, straight into the response when the engine can
+     *
+     * @param templateEngine the route's template engine
+     * @param modelAndView   the view-model and the name of the page's template
+     * @param response       the HTTP response
+     * @return what the route returns: the page, or an empty body if the page has been written already
+     */
+    static Object render(TemplateEngine templateEngine, ModelAndView modelAndView, Response response) {
+        if (!(templateEngine instanceof WebCheckersTemplateEngine))
+            return templateEngine.render(modelAndView);
+        ((WebCheckersTemplateEngine) templateEngine).render(modelAndView, response);
+        return "";
+    }
+
+    private void process(ModelAndView modelAndView, Writer out) {
+        try {
+            Template template = configuration.getTemplate(modelAndView.getViewName());
+            template.process(modelAndView.getModel(), out);
+        } catch (IOException | TemplateException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import java.util.logging.Logger;
 import static spark.Spark.get;
 import static spark.Spark.post;
 import static spark.Spark.staticFileLocation;
+import static spark.Spark.webSocket;
 
 
 /**
@@ -112,6 +113,13 @@ public class WebServer {
     // Configuration to serve static files
     staticFileLocation("/public");
 
+    // Carries moves over a WebSocket; Spark needs sockets mapped before any route
+    GameSocketHandler gameSocketHandler = new GameSocketHandler(playerLobby, gson);
+    webSocket(URLS.GAME_SOCKET_URL.getURL(), gameSocketHandler);
+
+    // Writes what the Ajax routes answer with as JSON, all with the one Gson
+    JsonTransformer json = new JsonTransformer(gson);
+
     //// Setting any route (or filter) in Spark triggers initialization of the
     //// embedded Jetty web server.
 
@@ -158,19 +166,38 @@ public class WebServer {
     get(URLS.GAME_URL.getURL(), new GetGameRoute(templateEngine, gson, playerLobby));
 
     // Handles waiting for opponents Move
-    post(URLS.CHECK_TURN_URL.getURL(), new PostCheckTurnRoute(playerLobby));
+    post(URLS.CHECK_TURN_URL.getURL(), new PostCheckTurnRoute(playerLobby, json), json);
+
+    // Streams turn changes, moves and the end of the game to players and spectators
+    get(URLS.GAME_EVENTS_URL.getURL(), new GetGameEventsRoute(playerLobby, gson));
+
+    // Sends the squares that changed since the state a game page shows
+    post(URLS.GAME_DELTA_URL.getURL(), new PostGameDeltaRoute(playerLobby), json);
+
+    // Issues the tickets that open game sockets
+    post(URLS.SOCKET_TICKET_URL.getURL(), new PostSocketTicketRoute(gameSocketHandler), json);
 
     // Handles Move validation
-    post(URLS.VALIDATE_MOVE_URL.getURL(), new PostValidateMoveRoute(playerLobby));
+    post(URLS.VALIDATE_MOVE_URL.getURL(), new PostValidateMoveRoute(playerLobby, gson), json);
 
     // handles Submits a valid move
-    post(URLS.SUBMIT_TURN_URL.getURL(), new PostSubmitTurnRoute(playerLobby));
+    post(URLS.SUBMIT_TURN_URL.getURL(), new PostSubmitTurnRoute(playerLobby), json);
 
     // handles backup move
-    post(URLS.BACK_UP_MOVE_URL.getURL(), new PostBackUpMoveRoute(playerLobby));
+    post(URLS.BACK_UP_MOVE_URL.getURL(), new PostBackUpMoveRoute(playerLobby), json);
 
     // Handles resignations
-    post(URLS.RESIGN_GAME_URL.getURL(), new PostResignGameRoute(playerLobby));
+    post(URLS.RESIGN_GAME_URL.getURL(), new PostResignGameRoute(playerLobby), json);
+
+    ///
+    /// Spectator Routes
+    ///
+
+    // Handles waiting for the next turn of a game being watched, for browsers without event streams
+    post(URLS.SPECTATOR_CHECK_TURN_URL.getURL(), new PostSpectatorCheckTurnRoute(playerLobby, json), json);
+
+    // Stops watching a game
+    get(URLS.SPECTATOR_STOP_WATCHING_URL.getURL(), new GetSpectatorStopWatchingRoute());
 
     ///
     /// Replay Routes
@@ -183,10 +210,10 @@ public class WebServer {
     get(URLS.STOP_REPLAY_GAME_URL.getURL(), new GetStopReplayRoute());
 
     // Shows the next move of the game
-    post(URLS.REPLAY_NEXT_MOVE.getURL(), new PostReplayNextRoute());
+    post(URLS.REPLAY_NEXT_MOVE.getURL(), new PostReplayNextRoute(), json);
 
     // Shows the next move of the game
-    post(URLS.REPLAY_LAST_MOVE.getURL(), new PostReplayPreviousRoute());
+    post(URLS.REPLAY_LAST_MOVE.getURL(), new PostReplayPreviousRoute(), json);
 
     ///
     /// Sign in and account routes
@@ -1,5 +1,8 @@
 package com.webcheckers.util;
 
+import com.google.gson.annotations.JsonAdapter;
+
+import java.util.Objects;
 import java.util.logging.Logger;
 
 /**
@@ -8,11 +11,14 @@ import java.util.logging.Logger;
  * <p>
  * This is a <a href='https://en.wikipedia.org/wiki/Domain-driven_design'>DDD</a>
  * <a href='https://en.wikipedia.org/wiki/Value_object'>Value Object</a>.
- * This implementation is immutable and also supports a JSON representation.
+ * This implementation is immutable and also supports a JSON representation,
+ * <code>{"type":"INFO","text":"..."}</code>, which Gson reads and writes with
+ * {@link MessageTypeAdapter}.
  * </p>
  *
  * @author <a href='mailto:bdbvse@rit.edu'>Bryan Basham</a>
  */
+@JsonAdapter(MessageTypeAdapter.class)
 public final class Message {
   private static final Logger LOG = Logger.getLogger(Message.class.getName());
 
@@ -108,6 +114,19 @@ public final class Message {
   // Object methods
   //
 
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) return true;
+    if (!(obj instanceof Message)) return false;
+    final Message that = (Message) obj;
+    return type == that.type && Objects.equals(text, that.text);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(type, text);
+  }
+
   @Override
   public String toString() {
     return "{Msg " + type + " '" + text + "'}";
@@ -0,0 +1,70 @@
+package com.webcheckers.util;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes a {@link Message} as {@code {"type":"INFO","text":"..."}}, straight to and from Gson's JSON
+ * streams, so a message sent to the browser never becomes a tree of JSON objects first.
+ *
+ * @author Chris Piccoli
+ */
+public class MessageTypeAdapter extends TypeAdapter<Message> {
+    static final String TYPE = "type";
+    static final String TEXT = "text";
+
+    @Override
+    public void write(JsonWriter out, Message message) throws IOException {
+        if (message == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        writeFields(out, message);
+        out.endObject();
+    }
+
+    /**
+     * Writes a message's fields into a JSON object that is already open, so other fields can be sent alongside it
+     *
+     * @param out     the open object
+     * @param message the message
+     * @throws IOException if the fields could not be written
+     */
+    public static void writeFields(JsonWriter out, Message message) throws IOException {
+        out.name(TYPE).value(message.getType().name());
+        out.name(TEXT).value(message.getText());
+    }
+
+    @Override
+    public Message read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Message.Type type = null;
+        String text = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case TYPE:
+                    type = Message.Type.valueOf(in.nextString());
+                    break;
+                case TEXT:
+                    text = in.nextString();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        if (type == null)
+            throw new JsonParseException("A message needs a type.");
+        return type == Message.Type.ERROR ? Message.error(text) : Message.info(text);
+    }
+}
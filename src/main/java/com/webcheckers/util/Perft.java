@@ -0,0 +1,140 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.Board;
+import com.webcheckers.model.MoveGenerator;
+import com.webcheckers.model.MoveList;
+import com.webcheckers.model.Piece;
+
+/**
+ * Counts the positions reachable from a board to a fixed depth (perft) to check and time the move generator
+ * <p>
+ * Run it with {@code mvn compile exec:java@perft}, or {@code -Dexec.args=8} to pick the depth. It counts from the
+ * starting position and from a few canned positions, prints nodes per second for every depth and exits with an
+ * error if any count differs from its reference, so a change to the rules engine that breaks move generation fails
+ * the build.
+ *
+ * @author Chris Piccoli
+ */
+public class Perft {
+    private static final int DEFAULT_DEPTH = 10;
+
+    // published perft counts for English draughts from the starting position, red to move
+    static final long[] START_COUNTS = {7, 49, 302, 1469, 7361, 36768, 179740, 845931, 3963680, 18391564};
+
+    // positions from the middle and end of a game, with counts recorded once the generator matched START_COUNTS
+    static final Case[] CASES = {
+            new Case("middlegame", new Board(0xF5040040, 0x0000888B, 0), Piece.COLOR.RED,
+                    9, 15, 97, 197, 1197, 5374, 30575, 148198, 845191),
+            new Case("white king", new Board(0x14101000, 0x80400820, 0x80000000), Piece.COLOR.RED,
+                    1, 5, 21, 95, 384, 1656, 6703, 29423, 126907),
+            new Case("endgame", new Board(0x00014082, 0x02000000, 0x00000002), Piece.COLOR.RED,
+                    8, 16, 130, 260, 2056, 8224, 62640, 162607, 1206901)
+    };
+
+    // one board and one move buffer per ply, reused for the whole count
+    private final Board[] boards;
+    private final MoveList[] moves;
+
+    /**
+     * Creates a counter
+     *
+     * @param maxDepth the deepest count it will be asked for
+     */
+    public Perft(int maxDepth) {
+        boards = new Board[maxDepth + 1];
+        moves = new MoveList[maxDepth + 1];
+        for (int i = 0; i <= maxDepth; i++) {
+            boards[i] = new Board();
+            moves[i] = new MoveList();
+        }
+    }
+
+    /**
+     * Counts the move sequences of length depth from a board. Red's single pieces move up the board.
+     *
+     * @param board the board to count from; it is not changed
+     * @param color the side to move
+     * @param depth the number of moves to look ahead, at least 1
+     * @return the number of positions at that depth
+     */
+    public long count(Board board, Piece.COLOR color, int depth) {
+        if (depth < 1 || depth >= boards.length)
+            throw new IllegalArgumentException("depth must be between 1 and " + (boards.length - 1));
+        boards[0].set(board);
+        return count(0, color, depth);
+    }
+
+    private long count(int ply, Piece.COLOR color, int depth) {
+        MoveList list = moves[ply];
+        int size = MoveGenerator.generate(boards[ply], color, color == Piece.COLOR.RED, list);
+        // the last ply only needs the number of moves
+        if (depth == 1)
+            return size;
+        Piece.COLOR next = color == Piece.COLOR.RED ? Piece.COLOR.WHITE : Piece.COLOR.RED;
+        Board child = boards[ply + 1];
+        long nodes = 0;
+        for (int i = 0; i < size; i++) {
+            child.set(boards[ply]);
+            child.apply(list.get(i));
+            nodes += count(ply + 1, next, depth - 1);
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts every depth up to maxDepth and prints the results
+     *
+     * @return true if every count matched its reference
+     */
+    private boolean report(String name, Board board, Piece.COLOR color, long[] expected, int maxDepth) {
+        System.out.println(name);
+        System.out.printf("%5s %12s %12s %10s %14s%n", "depth", "nodes", "expected", "ms", "nodes/s");
+        boolean ok = true;
+        for (int depth = 1; depth <= Math.min(maxDepth, expected.length); depth++) {
+            long start = System.nanoTime();
+            long nodes = count(board, color, depth);
+            long nanos = Math.max(1, System.nanoTime() - start);
+            boolean match = nodes == expected[depth - 1];
+            ok &= match;
+            System.out.printf("%5d %12d %12d %10.1f %14.0f%s%n", depth, nodes, expected[depth - 1], nanos / 1e6,
+                    nodes * 1e9 / nanos, match ? "" : "  MISMATCH");
+        }
+        System.out.println();
+        return ok;
+    }
+
+    /**
+     * Runs the counts
+     *
+     * @param args optionally, the deepest depth to count
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        Perft perft = new Perft(depth);
+        boolean ok = perft.report("start", new Board(Piece.COLOR.RED), Piece.COLOR.RED, START_COUNTS, depth);
+        for (Case c : CASES) {
+            ok &= perft.report(c.name, c.board, c.color, c.counts, depth);
+        }
+        if (!ok) {
+            System.err.println("perft counts do not match the reference counts");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * A canned position and its reference counts
+     */
+    static final class Case {
+        final String name;
+        final Board board;
+        final Piece.COLOR color;
+        final long[] counts;
+
+        Case(String name, Board board, Piece.COLOR color, long... counts) {
+            this.name = name;
+            this.board = board;
+            this.color = color;
+            this.counts = counts;
+        }
+    }
+}
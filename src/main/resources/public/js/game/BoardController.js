@@ -33,6 +33,7 @@ define(function(require){
     // private data
     var _listeners = []; // empty array of Piece movement event listeners
     var _pieces = [];
+    var _myColor = null; // the color of the pieces in _pieces, once the board is set up for play
     
     // private attributes
     this._gameState = gameState;
@@ -57,6 +58,42 @@ define(function(require){
       _pieces.forEach( this.disablePiece );
     };
 
+    /**
+     * Replace the Pieces on some of the board's Spaces, such as those the
+     * server says have changed since the page was drawn.
+     *
+     * @param changes  a list of {row, cell, piece} objects, where the piece is
+     *    '.' for an empty Space, 'r' or 'w' for a single piece, 'R' or 'W' for a king
+     */
+    this.setSquares = function setSquares(changes) {
+      changes.forEach((change) => {
+        var $space = this.getSpace$(new Position(change.row, change.cell));
+        $space.removeClass(PENDING_CLASS + ' ' + VALID_CLASS);
+        $space.find('div.' + PIECE_CLASS).each(function () {
+          var idx = _pieces.indexOf(this);
+          if (idx >= 0) {
+            _pieces.splice(idx, 1);
+          }
+        }).remove();
+        if (change.piece === '.') {
+          return;
+        }
+        var color = change.piece.toLowerCase() === 'r' ? 'RED' : 'WHITE';
+        var piece = jQuery('<div>')
+        .addClass(PIECE_CLASS)
+        .attr('id', 'piece-' + change.row + '-' + change.cell)
+        .attr('data-type', change.piece === change.piece.toUpperCase() ? 'KING' : 'SINGLE')
+        .attr('data-color', color)
+        .appendTo($space)
+        .get(0);
+        if (color === _myColor) {
+          _pieces.push(piece);
+        }
+      });
+      // no Space is pending or validated once the board matches the server's
+      jQuery('#game-board td').removeClass(PENDING_CLASS + ' ' + VALID_CLASS);
+    };
+
     /**
      * Initializes the board for game play.
      */
@@ -69,6 +106,7 @@ define(function(require){
         currentUsersColor = 'WHITE';
         opponentsColor = 'RED';
       }
+      _myColor = currentUsersColor;
       
       // create a list of my Piece elements
       jQuery(makePieceSelector(currentUsersColor)).each(function(idx) {
@@ -148,6 +186,37 @@ define(function(require){
     $toCell.removeClass(SPACE_CLASS);
   }
 
+  /**
+   * Redraw the board from one sent by the server.
+   *
+   * @param board  the board as the server encodes it: its red, white and king
+   *    square masks as twelve big-endian bytes, in URL-safe base64
+   * @param changed  the mask of the squares to redraw; every square if it is missing
+   */
+  BoardController.prototype.setBoard = function setBoard(board, changed) {
+    var masks = decodeBoard(board);
+    if (changed === undefined) {
+      changed = -1;
+    }
+    // the server's squares are from RED's side, and players see their own side at the bottom
+    var flipped = this._gameState.getViewMode() === 'PLAY' && this._gameState.isPlayerWhite();
+    var changes = [];
+    for (var square = 0; square < 32; square++) {
+      var bit = 1 << square;
+      if ((changed & bit) === 0) {
+        continue;
+      }
+      var piece = (masks.red & bit) !== 0 ? 'r' : (masks.white & bit) !== 0 ? 'w' : '.';
+      if ((masks.kings & bit) !== 0) {
+        piece = piece.toUpperCase();
+      }
+      var shown = flipped ? 31 - square : square;
+      var row = shown >> 2;
+      changes.push({ row: row, cell: 2 * (shown & 3) + (1 - (row & 1)), piece: piece });
+    }
+    this.setSquares(changes);
+  }
+
   /**
    * Gets a jQuery element for a specific position.
    */
@@ -201,6 +270,18 @@ define(function(require){
   // Private (external) functions
   //
 
+  /**
+   * Read the square masks of a board encoded by the server.
+   */
+  function decodeBoard(board) {
+    var bytes = atob(board.replace(/-/g, '+').replace(/_/g, '/'));
+    var masks = [0, 0, 0];
+    for (var i = 0; i < 12; i++) {
+      masks[i >> 2] = (masks[i >> 2] << 8) | bytes.charCodeAt(i);
+    }
+    return { red: masks[0], white: masks[1], kings: masks[2] };
+  }
+
   /**
    * Create a jQuery selector to select all Piece DIV elements for a certain game color.
    */
@@ -56,7 +56,7 @@ define(function(require){
       break;
     case SPECTATOR_MODE:
       console.debug('Spectator mode');
-      this._modeController = new SpectatorController(this, this._gameState);
+      this._modeController = new SpectatorController(this, this._boardController, this._gameState);
       break;
     case REPLAY_MODE:
       console.debug('Replay mode');
@@ -81,6 +81,17 @@ define(function(require){
     jQuery("#game-info table[data-color='WHITE'] td.name").text(name);
   };
 
+  /**
+   * Show how many pieces each player has left.
+   *
+   * @param redPieces    red's pieces, kings included
+   * @param whitePieces  white's pieces, kings included
+   */
+  GameView.prototype.setPieceCounts = function setPieceCounts(redPieces, whitePieces) {
+    jQuery("#game-info table[data-color='RED'] td.pieces").text(redPieces);
+    jQuery("#game-info table[data-color='WHITE'] td.pieces").text(whitePieces);
+  };
+
   GameView.prototype.setTurnFlasher = function setTurnFlasher() {
     var activeColor = this._gameState.isRedsTurn() ? 'RED' : 'WHITE';
     var inactiveColor = this._gameState.isRedsTurn() ? 'WHITE' : 'RED';
@@ -88,6 +99,20 @@ define(function(require){
     jQuery("#game-info table[data-color='" + inactiveColor + "']").removeClass('isMyTurn');
   };
 
+  /**
+   * Bring the view up to date with the changes the server sent since the
+   * state it shows, without reloading the page.
+   *
+   * @param delta  the server's changes: the game's turn, end and version, its board, the changed squares
+   *               and the pieces each player has left
+   */
+  GameView.prototype.applyDelta = function applyDelta(delta) {
+    this._gameState.update(delta);
+    this._boardController.setBoard(delta.board, delta.changed);
+    this.setPieceCounts(delta.redPieces, delta.whitePieces);
+    this.setTurnFlasher();
+  };
+
   GameView.prototype.displayMessage = function displayMessage(message) {
     jQuery('#message').attr('class', message.type).html(message.text).slideDown(400);
   };
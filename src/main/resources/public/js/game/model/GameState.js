@@ -47,6 +47,13 @@ define(function(require){
       return gameData.modeOptions[optionName];
     };
 
+    /**
+     * Change a single mode-specific option, when the server says it has changed.
+     */
+    this.setModeOption = function setModeOption(optionName, value) {
+      gameData.modeOptions[optionName] = value;
+    };
+
     /**
      * Get the name of the Player currently viewing the Game View.
      * This is the HTTP session's user.
@@ -84,6 +91,13 @@ define(function(require){
       return this.isPlayerRed() ? gameData.whitePlayer : gameData.redPlayer;
     };
 
+    /**
+     * Get the version of the game's state this view shows.
+     */
+    this.getStateVersion = function getStateVersion() {
+      return gameData.stateVersion;
+    };
+
     /**
      * Query whether RED is the active player.
      *
@@ -111,6 +125,24 @@ define(function(require){
       return gameData.whitePlayer === gameData.currentUser;
     };
 
+    /**
+     * Bring this state up to date with the game as the server sent it in
+     * a game event.
+     *
+     * @param game  the event's data: activeColor, gameOver and gameOverReason,
+     *    and the state version if the server sent it
+     */
+    this.update = function update(game) {
+      gameData.activeColor = game.activeColor;
+      if (game.version !== undefined) {
+        gameData.stateVersion = game.version;
+      }
+      if (game.gameOver) {
+        gameData.modeOptions[GameState.IS_END_OPTION] = true;
+        gameData.modeOptions[GameState.END_MESSAGE_OPTION] = game.gameOverReason;
+      }
+    };
+
   }
 
   //
@@ -5,6 +5,10 @@
  * for the Game view; this state represents the state in which
  * the view makes the Ajax call to the server to check whether
  * it's the current player's turn.
+ *
+ * When the browser supports it the state listens to the game's event
+ * stream instead, and stays here until the server says the turn has
+ * passed or the game is over.
  */
 define(function (require) {
   'use strict';
@@ -18,10 +22,14 @@ define(function (require) {
    * 
    * @param {PlayController} controller
    *    The Play mode controller object.
+   * @param {GameState} gameState
+   *    The state of the game.
    */
-  function CheckingMyTurnState(controller) {
+  function CheckingMyTurnState(controller, gameState) {
     // private attributes
     this._controller = controller;
+    this._gameState = gameState;
+    this._useEvents = AjaxUtils.canStreamEvents();
   }
 
   //
@@ -39,9 +47,25 @@ define(function (require) {
    * Method when entering this state.
    */
   CheckingMyTurnState.prototype.onEntry = function onEntry() {
+    if (this._useEvents) {
+      // the player may wait here for the whole of the opponent's turn, so let them resign
+      this._controller.enableButton(PlayModeConstants.RESIGN_BUTTON_ID);
+      const source = AjaxUtils.openEventStream('/game/events',
+          // the handler method should be run in the context of 'this' State object
+          handleEvent, this, ['state', 'turn', 'gameOver']);
+      source.onerror = () => {
+        // the browser reconnects by itself unless the server refused the stream; then fall back to polling
+        if (source.readyState === EventSource.CLOSED) {
+          this._useEvents = false;
+          this._controller.setState(PlayModeConstants.WAITING_TO_CHECK_MY_TURN);
+        }
+      };
+      this._source = source;
+      return;
+    }
     this._controller.disableButton(PlayModeConstants.RESIGN_BUTTON_ID);
-    // query the server if it's my turn
-    AjaxUtils.callServer('/checkTurn',
+    // query the server if it's my turn; the server holds the request until it is, or until it times out
+    AjaxUtils.callServerIfModified('/checkTurn?longPoll=true',
         // the handler method should be run in the context of 'this' State object
         handleResponse, this);
   };
@@ -50,8 +74,20 @@ define(function (require) {
   // Private methods
   //
 
+  function handleEvent(eventName, game) {
+    if (game.gameOver || game.activePlayer === this._gameState.getCurrentUser()) {
+      this._source.close();
+      // end the State machine by refreshing the Game View (via a browser page request)
+      this._controller.refresh();
+    }
+  }
+
   function handleResponse(message) {
-    if (message.type === 'INFO') {
+    // the game hasn't changed since the last answer, so it still isn't my turn
+    if (message === null) {
+      this._controller.setState(PlayModeConstants.WAITING_TO_CHECK_MY_TURN);
+    }
+    else if (message.type === 'INFO') {
       if (message.text === 'true') {
         // end the State machine by refreshing the Game View (via a browser page request)
         this._controller.refresh();
@@ -39,10 +39,8 @@ define(function(require){
      * Method when entering this state.
      */
     EmptyTurnState.prototype.onEntry = function onEntry() {
-        // beep the first time here
+        // set up the board the first time here
         if (this._first) {
-            // beep to let the player know it's their turn
-            beep();
             // initialize game board
             this._controller.initializePlayMode();
             //
@@ -66,14 +64,6 @@ define(function(require){
         this._controller.setState(PlayModeConstants.WAITING_FOR_MOVE_VALIDATION);
     };
 
-    /**
-     * Beep to alert the player that it's their turn
-     */
-    function beep() {
-        const sound = document.getElementById("audio");
-        sound.play();
-    }
-
     // export class constructor
     return EmptyTurnState;
 
@@ -43,6 +43,8 @@ define(function(require){
     this._controller.hideButton(PlayModeConstants.BACKUP_BUTTON_ID);
     this._controller.hideButton(PlayModeConstants.SUBMIT_BUTTON_ID);
     this._controller.hideButton(PlayModeConstants.RESIGN_BUTTON_ID);
+    // the game may have ended while the page was open, with the Exit button hidden
+    this._controller.showButton(PlayModeConstants.EXIT_BUTTON_ID);
   };
 
   // export class constructor
@@ -13,6 +13,7 @@ define(function(require){
   const StatePatternMixin = require('../../util/StatePatternMixin');
   const ControlsToolbarMixin = require('../../util/ControlsToolbarMixin');
   const AjaxUtils = require('../../util/AjaxUtils');
+  const GameSocket = require('../../util/GameSocket');
   const LangUtils = require('../../util/LangUtils');
   const PlayModeConstants = require('./PlayModeConstants');
 
@@ -50,6 +51,7 @@ define(function(require){
     this._turnTemp = null;
     this._pendingMove = null;
     this.$activePiece = null;
+    this._view = view;
     this._boardController = boardController;
     this._gameState = gameState;
     
@@ -73,7 +75,7 @@ define(function(require){
     this.addStateDefinition(PlayModeConstants.WAITING_TO_CHECK_MY_TURN,
         new WaitingForMyTurnState(this));
     this.addStateDefinition(PlayModeConstants.CHECKING_MY_TURN,
-        new CheckingMyTurnState(this));
+        new CheckingMyTurnState(this, gameState));
     // The "Game Over" singular state
     this.addStateDefinition(PlayModeConstants.GAME_OVER,
         new GameOverState(this, gameState));
@@ -109,6 +111,8 @@ define(function(require){
       boardController.addPieceMoveListener((event) => this.requestMove(event.move));
       // initialize the Board for game play
       boardController.initializeDragAndDrop(gameState);
+      // open the socket the game's actions are sent over
+      GameSocket.connect();
     };
     
     /**
@@ -173,7 +177,7 @@ define(function(require){
     }
     
     // if confirmed, then send the resignation command to the server
-    AjaxUtils.callServer('/resignGame',
+    GameSocket.send('resignGame', undefined,
         // the handler method should be run in the context of 'this' Controller object
         handleResponse, this);
 
@@ -198,9 +202,30 @@ define(function(require){
   };
 
   /**
-   * Exit the game by navigating to the Home page.
+   * Bring the Game View up to date with the server and start Play mode over.
+   *
+   * Only the squares that changed since the page's state version are fetched
+   * and patched in; if that fails the whole Game View is reloaded.
    */
   PlayController.prototype.refresh = function refresh() {
+    AjaxUtils.callServerWithData('/game/delta', this._gameState.getStateVersion(),
+        // the handler method should be run in the context of 'this' Controller object
+        handleDelta, this);
+
+    function handleDelta(delta) {
+      if (delta.type === 'INFO') {
+        this._view.applyDelta(delta);
+        this.setState(PlayModeConstants.STARTING_PLAY_MODE);
+      } else {
+        this.reload();
+      }
+    }
+  };
+
+  /**
+   * Reload the Game View (via a browser page request).
+   */
+  PlayController.prototype.reload = function reload() {
     let gameViewURL = '/game';
     const gameID = this._gameState.getGameID();
     if (LangUtils.exists(gameID)) {
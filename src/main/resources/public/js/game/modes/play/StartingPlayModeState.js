@@ -61,9 +61,15 @@ define(function(require){
       // switch to an active Play state
       if (this._gameState.isMyTurn()) {
         console.debug("It's your turn.");
+        // beep to let the player know it's their turn
+        beep();
         this._controller.setState(PlayModeConstants.EMPTY_TURN);
       } else {
         console.debug("It's not your turn.");
+        // the page may have just submitted a turn, so nothing is left to move or send
+        this._controller.disableButton(PlayModeConstants.BACKUP_BUTTON_ID);
+        this._controller.disableButton(PlayModeConstants.SUBMIT_BUTTON_ID);
+        this._controller.disableAllMyPieces();
         this._controller.setState(PlayModeConstants.WAITING_TO_CHECK_MY_TURN);
       }
     }
@@ -87,7 +93,7 @@ define(function(require){
           + "Use the Backup button to remove the most recent move. \n"
           + "Use the Submit button when you are ready to commit your complete turn.";
     } else {
-      helperText += "It's " + opponentPlayer + " turn.  The page will refresh periodically\n";
+      helperText += "It's " + opponentPlayer + " turn.  The board will update when they submit it\n";
       helperText += "and you will be informed when it is your turn.";
     }
     this._view.setHelperText(helperText);
@@ -101,6 +107,16 @@ define(function(require){
     }
   };
   
+  /**
+   * Beep to alert the player that it's their turn
+   */
+  function beep() {
+    const sound = document.getElementById("audio");
+    if (sound !== null) {
+      sound.play();
+    }
+  }
+
   // export class constructor
   return StartingPlayModeState;
   
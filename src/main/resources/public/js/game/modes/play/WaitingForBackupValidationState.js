@@ -12,7 +12,7 @@ define(function(require){
   
   // imports
   const PlayModeConstants = require('./PlayModeConstants');
-  const AjaxUtils = require('../../util/AjaxUtils');
+  const GameSocket = require('../../util/GameSocket');
 
   /**
    * Constructor function.
@@ -49,7 +49,7 @@ define(function(require){
     this._controller.disableAllMyPieces();
     
     // 3) ask the server to backup from the most recent move
-    AjaxUtils.callServer('/backupMove',
+    GameSocket.send('backupMove', undefined,
         // the handler method should be run in the context of 'this' State object
         handleResponse, this);
   };
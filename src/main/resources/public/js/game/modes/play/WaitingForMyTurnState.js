@@ -4,7 +4,8 @@
  * This component is an concrete implementation of a state
  * for the Game view; this state represents the state in which
  * the view is waiting between calls to the server to check whether
- * it's the current player's turn.
+ * it's the current player's turn.  Each check is a long poll, so the
+ * pause between them is short.
  */
 define(function(require){
     'use strict';
@@ -39,8 +40,8 @@ define(function(require){
      */
     WaitingForMyTurnState.prototype.onEntry = function onEntry() {
         this._controller.enableButton(PlayModeConstants.RESIGN_BUTTON_ID);
-        // wait five seconds then check my turn
-        setTimeout(() => { this._controller.setState(PlayModeConstants.CHECKING_MY_TURN); }, 5000);
+        // the check waits on the server for my turn, so only pause long enough to not hammer it after an error
+        setTimeout(() => { this._controller.setState(PlayModeConstants.CHECKING_MY_TURN); }, 1000);
     }
 
     // export class constructor
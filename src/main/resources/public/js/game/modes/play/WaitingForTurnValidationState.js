@@ -11,7 +11,7 @@ define(function(require){
   
   // imports
   const PlayModeConstants = require('./PlayModeConstants');
-  const AjaxUtils = require('../../util/AjaxUtils');
+  const GameSocket = require('../../util/GameSocket');
 
   /**
    * Constructor function.
@@ -42,7 +42,7 @@ define(function(require){
     // clear the turn temporarily (to put back if the SubmitTurn action fails)
     this._controller.clearTurnDuringSubmit();
     // send the action to the server
-    AjaxUtils.callServer('/submitTurn',
+    GameSocket.send('submitTurn', undefined,
         // the handler method should be run in the context of 'this' State object
         handleResponse, this);
   };
@@ -45,7 +45,7 @@ define(function(require){
     this.addStateDefinition(ReplayModeConstants.WAITING_FOR_USER_ACTION,
         new WaitingForUserActionState(this));
     this.addStateDefinition(ReplayModeConstants.WAITING_FOR_SERVER_RESPONSE,
-        new WaitingForServerActionResponseState(this));
+        new WaitingForServerActionResponseState(this, view, gameState));
 
     // Add the ModeControls mixin
     ControlsToolbarMixin.call(this);
@@ -96,10 +96,14 @@ define(function(require){
    */
   ReplayController.prototype.enableAllControls = function enableAllControls() {
     //
-    if (!this.getOption(ReplayModeConstants.HAS_NEXT_OPTION)) {
+    if (this.getOption(ReplayModeConstants.HAS_NEXT_OPTION)) {
+      this.enableButton(ReplayModeConstants.NEXT_BUTTON_ID);
+    } else {
       this.disableButton(ReplayModeConstants.NEXT_BUTTON_ID);
     }
-    if (!this.getOption(ReplayModeConstants.HAS_PREVIOUS_OPTION)) {
+    if (this.getOption(ReplayModeConstants.HAS_PREVIOUS_OPTION)) {
+      this.enableButton(ReplayModeConstants.PREVIOUS_BUTTON_ID);
+    } else {
       this.disableButton(ReplayModeConstants.PREVIOUS_BUTTON_ID);
     }
     this.enableButton(ReplayModeConstants.EXIT_BUTTON_ID);
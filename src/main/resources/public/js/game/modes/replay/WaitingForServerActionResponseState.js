@@ -18,10 +18,16 @@ define(function(require){
    *
    * @param {ReplayController} controller
    *    The Replay mode controller object.
+   * @param {GameView} view
+   *    The Game view, which redraws the board for the new turn.
+   * @param {GameState} gameState
+   *    The state of the game being replayed.
    */
-  function WaitingForServerActionResponseState(controller) {
+  function WaitingForServerActionResponseState(controller, view, gameState) {
     // private attributes
     this._controller = controller;
+    this._view = view;
+    this._gameState = gameState;
   }
 
   //
@@ -58,8 +64,11 @@ define(function(require){
     if (message.type === 'INFO') {
       // check for special case messages
       if (message.text === 'true') {
-        // tell the browser to redisplay the Game View to get the updated board
-        window.location.reload(true);
+        // the answer holds the board for the new turn, so redraw it in place
+        this._gameState.setModeOption(ReplayModeConstants.HAS_NEXT_OPTION, message.hasNext);
+        this._gameState.setModeOption(ReplayModeConstants.HAS_PREVIOUS_OPTION, message.hasPrevious);
+        this._view.applyDelta(message);
+        this._controller.setState(ReplayModeConstants.WAITING_FOR_USER_ACTION);
       }
       // otherwise, check to see if there is a message to display
       else {
@@ -5,6 +5,10 @@
  * for the Game view; this state represents the state in which
  * the view makes the Ajax call to the server to check whether
  * the next turn has been made in the game being spectated.
+ *
+ * When the browser supports it the state listens to the game's event
+ * stream instead, and stays here, showing each move and turn on the
+ * board as the server sends it, until the game is over.
  */
 define(function(require){
   'use strict';
@@ -18,10 +22,14 @@ define(function(require){
    * 
    * @param {SpectatorController} controller
    *    The Spectator mode controller object.
+   * @param {GameState} gameState
+   *    The state of the game.
    */
-  function CheckingForNextTurnState(controller) {
+  function CheckingForNextTurnState(controller, gameState) {
     // private attributes
     this._controller = controller;
+    this._gameState = gameState;
+    this._useEvents = AjaxUtils.canStreamEvents();
   }
 
   //
@@ -39,8 +47,22 @@ define(function(require){
    * Method when entering this state.
    */
   CheckingForNextTurnState.prototype.onEntry = function onEntry() {
-    // query the server if the next turn has been played
-    AjaxUtils.callServer('/spectator/checkTurn',
+    if (this._useEvents) {
+      const source = AjaxUtils.openEventStream('/game/events',
+          // the handler method should be run in the context of 'this' State object
+          handleEvent, this, ['state', 'move', 'turn', 'gameOver']);
+      source.onerror = () => {
+        // the browser reconnects by itself unless the server refused the stream; then fall back to polling
+        if (source.readyState === EventSource.CLOSED) {
+          this._useEvents = false;
+          this._controller.setState(SpectatorModeConstants.WAITING_FOR_NEXT_TURN);
+        }
+      };
+      this._source = source;
+      return;
+    }
+    // query the server if the turn shown on the page has been played
+    AjaxUtils.callServerWithData('/spectator/checkTurn', this._gameState.isRedsTurn() ? 'RED' : 'WHITE',
         // the handler method should be run in the context of 'this' State object
         handleResponse, this);
   };
@@ -49,6 +71,14 @@ define(function(require){
   // Private methods
   //
 
+  function handleEvent(eventName, game) {
+    // every event carries the whole board; the first is the game as it is now, which may already differ from the page
+    this._controller.showGame(game);
+    if (game.gameOver) {
+      this._source.close();
+    }
+  }
+
   function handleResponse(message) {
     // is it successful?
     if (message.type === 'INFO') {
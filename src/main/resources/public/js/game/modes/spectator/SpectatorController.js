@@ -4,7 +4,8 @@
  * This component controls the user experience of the Spectator's Game view.
  * There's a simple State model that largely toggles between waiting to
  * check for a game turn to the state that actually performs the check on
- * the server, via an Ajax call.
+ * the server, via an Ajax call.  Browsers that can receive the game's events
+ * stay in the checking state, and the board is updated from each event.
  *
  * There is also an Exit button that the user may click to formally exit
  * from watching this specific game.
@@ -25,7 +26,7 @@ define(function(require){
   /**
    * Constructor function.
    */
-  function SpectatorController(view, gameState) {
+  function SpectatorController(view, boardController, gameState) {
 
     // expose read-only Game data
     this.getGameID = function () {
@@ -40,7 +41,7 @@ define(function(require){
     this.addStateDefinition(SpectatorModeConstants.WAITING_FOR_NEXT_TURN,
         new WaitingForNextTurnState(this));
     this.addStateDefinition(SpectatorModeConstants.CHECKING_FOR_NEXT_TURN,
-        new CheckingForNextTurnState(this));
+        new CheckingForNextTurnState(this, gameState));
     
     // Add the ModeControls mixin
     ControlsToolbarMixin.call(this);
@@ -58,6 +59,33 @@ define(function(require){
       this.setState(SpectatorModeConstants.STARTING_SPECTATOR_MODE);
     };
 
+    /**
+     * Show the game as the server sent it in a game event, without
+     * reloading the page.
+     *
+     * @param game  the event's data
+     */
+    this.showGame = function showGame(game) {
+      gameState.update(game);
+      boardController.setBoard(game.board);
+      view.setPieceCounts(game.redPieces, game.whitePieces);
+      this.showGameInfo();
+    };
+
+    /**
+     * Show whose turn it is, or why the game ended.
+     */
+    this.showGameInfo = function showGameInfo() {
+      let helperText = `${gameState.getRedPlayer()}, Red, is playing ${gameState.getWhitePlayer()}. <br/><br/>`;
+      if (gameState.isGameOver()) {
+        helperText += `<b> ${gameState.getGameOverMessage()} </b>`;
+      } else {
+        helperText += `It's ${gameState.getActivePlayer()} turn.  The board will update as they play.`;
+      }
+      view.setHelperText(helperText);
+      view.setTurnFlasher();
+    };
+
     /**
      * Display a message to the Game View.
      */
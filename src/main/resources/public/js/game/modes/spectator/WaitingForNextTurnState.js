@@ -41,8 +41,8 @@ define(function(require){
    * Method when entering this state.
    */
   WaitingForNextTurnState.prototype.onEntry = function onEntry() {
-    // wait five seconds then check my turn
-    setTimeout(this._checkNextTurn, 5000);
+    // the check waits on the server until the turn passes, so only pause briefly between checks
+    setTimeout(this._checkNextTurn, 1000);
   };
 
   // export class constructor
@@ -73,6 +73,58 @@ define(function (require) {
     callServerWithData: function (actionURL, actionData, callback, callbackContext) {
       // send the HTTP request and immediately return; the callback will be invoked asynchronously
       jQuery.ajax(makeAjaxOptionsWithActionData(actionURL, actionData, callback, callbackContext));
+    },
+
+    /**
+     * Make an Ajax call to the server that is only answered if the answer has
+     * changed since the last call to the same URL.
+     *
+     * <p>
+     *   The server's last answer is named by its ETag, which jQuery sends back
+     *   in If-None-Match.  When the server replies 304 (Not Modified) the
+     *   callback is given null instead of a message.
+     *
+     * @param actionURL  the URL for a server Ajax action
+     * @param callback  the developer's handler for the successful response (expecting JSON, or null)
+     * @param callbackContext  the object context within which the callback is executed (the 'this' object)
+     */
+    callServerIfModified: function (actionURL, callback, callbackContext) {
+      const options = makeAjaxOptionsWithNoData(actionURL, callback, callbackContext);
+      options.ifModified = true;
+      options.success = function (data, textStatus) {
+        callback.call(callbackContext, (textStatus === 'notmodified') ? null : data);
+      };
+      jQuery.ajax(options);
+    },
+
+    /**
+     * Query whether the browser can receive Server-Sent Events.
+     *
+     * @return {boolean}  true if the browser supports EventSource
+     */
+    canStreamEvents: function () {
+      return typeof window.EventSource !== 'undefined';
+    },
+
+    /**
+     * Open a stream of Server-Sent Events on the game being viewed.
+     *
+     * @param actionURL  the URL of the server's event stream
+     * @param callback  the developer's handler for each event; given the event name and its data (parsed from JSON)
+     * @param callbackContext  the object context within which the callback is executed (the 'this' object)
+     * @param eventNames  the names of the events to listen for
+     *
+     * @return {EventSource}  the open stream, which the developer must close when done with it
+     */
+    openEventStream: function (actionURL, callback, callbackContext, eventNames) {
+      const source = new EventSource(`${actionURL}?gameID=${encodeURIComponent(AjaxUtils.getGameID())}`);
+      eventNames.forEach((eventName) => {
+        source.addEventListener(eventName, (event) => {
+          console.debug(`Event '${eventName}' received from ${actionURL}.`);
+          callback.call(callbackContext, eventName, JSON.parse(event.data));
+        });
+      });
+      return source;
     }
   };
 
@@ -88,7 +140,10 @@ define(function (require) {
    * @throws {Error}  when the response text is XML/HTML
    */
   function myDataFilter(data) {
-    if (data[0] === '<') {
+    if (data.length === 0) {
+      // a reply with no body, such as 304 (Not Modified)
+      return null;
+    } else if (data[0] === '<') {
       throw new Error('HTML content detected in Ajax reponse.'
           + '  Did you accidentally perform a redirect in your Spark Route?'
           + '  Sorry, that\'s a no-no.');
@@ -0,0 +1,147 @@
+/**
+ * This module exports a map of functions that send game actions over a WebSocket.
+ *
+ * <p>
+ *   The validateMove, backupMove, submitTurn and resignGame actions are sent
+ *   over one socket for the whole game instead of one HTTP POST each.  The
+ *   handlers get the same message they would from the Ajax route of the same
+ *   name.  Until the socket is open, or if it can't be opened, the actions are
+ *   sent to those Ajax routes instead.
+ */
+define(function (require) {
+  'use strict';
+
+  // imports
+  const AjaxUtils = require('./AjaxUtils');
+  const LangUtils = require('./LangUtils');
+
+  /**
+   * Utility object with methods for sending game actions to the server.
+   */
+  const GameSocket = {
+
+    /**
+     * The open socket, or null.
+     */
+    _socket: null,
+
+    /**
+     * The id of the next action sent.
+     */
+    _nextId: 1,
+
+    /**
+     * The handlers of the actions waiting for a reply, by id.
+     */
+    _pending: {},
+
+    /**
+     * Whether the server has refused the socket, so actions always use Ajax.
+     */
+    _refused: false,
+
+    /**
+     * Whether a ticket has been asked for and the socket is not open yet.
+     */
+    _connecting: false,
+
+    /**
+     * Open the socket for the game being viewed.  This asks the server for a
+     * ticket first, because the socket is not part of the browser's session.
+     */
+    connect: function () {
+      if (typeof window.WebSocket === 'undefined' || GameSocket._refused || GameSocket._connecting
+          || LangUtils.exists(GameSocket._socket)) {
+        return;
+      }
+      GameSocket._connecting = true;
+      AjaxUtils.callServer('/game/socketTicket', openSocket, GameSocket);
+    },
+
+    /**
+     * Send an action to the server.
+     *
+     * @param action  the name of the action, which is also the path of its Ajax route
+     * @param actionData  the data for the action, or undefined if it has none
+     * @param callback  the developer's handler for the reply (expecting a message)
+     * @param callbackContext  the object context within which the callback is executed (the 'this' object)
+     */
+    send: function (action, actionData, callback, callbackContext) {
+      const socket = GameSocket._socket;
+      if (!LangUtils.exists(socket) || socket.readyState !== WebSocket.OPEN) {
+        // reopen a socket that was closed, for the next action
+        GameSocket.connect();
+        if (LangUtils.exists(actionData)) {
+          AjaxUtils.callServerWithData('/' + action, actionData, callback, callbackContext);
+        } else {
+          AjaxUtils.callServer('/' + action, callback, callbackContext);
+        }
+        return;
+      }
+      const id = GameSocket._nextId++;
+      GameSocket._pending[id] = { callback: callback, callbackContext: callbackContext };
+      const request = { id: id, action: action, gameID: AjaxUtils.getGameID() };
+      if (LangUtils.exists(actionData)) {
+        request.actionData = (typeof actionData === 'object') ? JSON.stringify(actionData) : actionData;
+      }
+      console.debug(`Action '${action}' sent over the game socket.`);
+      socket.send(JSON.stringify(request));
+    }
+  };
+
+  //
+  // Private functions
+  //
+
+  /**
+   * Open the socket with the ticket the server issued.
+   *
+   * @param message  the server's reply, whose text is the ticket
+   */
+  function openSocket(message) {
+    GameSocket._connecting = false;
+    if (message.type !== 'INFO') {
+      return;
+    }
+    const scheme = (window.location.protocol === 'https:') ? 'wss:' : 'ws:';
+    const socket = new WebSocket(`${scheme}//${window.location.host}/game/socket?ticket=${encodeURIComponent(message.text)}`);
+    let opened = false;
+    socket.onopen = () => { opened = true; };
+    socket.onmessage = handleReply;
+    socket.onclose = () => handleClose(opened);
+    GameSocket._socket = socket;
+  }
+
+  /**
+   * Pass a reply to the handler of the action it answers.
+   */
+  function handleReply(event) {
+    const reply = JSON.parse(event.data);
+    const pending = GameSocket._pending[reply.id];
+    if (!LangUtils.exists(pending)) {
+      return;
+    }
+    delete GameSocket._pending[reply.id];
+    delete reply.id;
+    pending.callback.call(pending.callbackContext, reply);
+  }
+
+  /**
+   * Fail the actions still waiting for a reply, and go back to Ajax until the
+   * next connect.  The server may already have run them, so they are not resent.
+   *
+   * @param opened  whether the socket was ever open; if not, the server refused it
+   */
+  function handleClose(opened) {
+    GameSocket._socket = null;
+    GameSocket._refused = GameSocket._refused || !opened;
+    const pending = GameSocket._pending;
+    GameSocket._pending = {};
+    Object.keys(pending).forEach((id) => {
+      pending[id].callback.call(pending[id].callbackContext,
+          { type: 'ERROR', text: 'The connection to the server was lost.  Please try again.' });
+    });
+  }
+
+  return GameSocket;
+});
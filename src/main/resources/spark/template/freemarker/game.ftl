@@ -14,11 +14,15 @@
     "modeOptions" : ${modeOptionsAsJSON!'{}'},
     "redPlayer" : "${redPlayer.name}",
     "whitePlayer" : "${whitePlayer.name}",
-    "activeColor" : "${activeColor}"
+    "activeColor" : "${activeColor}",
+    "stateVersion" : ${(stateVersion!0)?c}
   };
   </script>
+  <#-- the page stays open across turns, so the sound is there to play whenever the player's turn comes -->
   <#if ((activeColor == "WHITE" && whitePlayer.name == currentUser.name) || (activeColor == "RED" && redPlayer.name == currentUser.name))>
-         <audio id="audio" src="/ogg/piano_loop_syncopation.ogg" autoplay = ${((activeColor == "WHITE" && whitePlayer.name == currentUser.name) || (activeColor == "RED" && redPlayer.name == currentUser.name))?c}></audio>
+         <audio id="audio" src="/ogg/piano_loop_syncopation.ogg" autoplay></audio>
+  <#else>
+         <audio id="audio" src="/ogg/piano_loop_syncopation.ogg" preload="auto"></audio>
   </#if>
  </head>
 <body>
@@ -44,12 +48,14 @@
                 <tr>
                   <td><img src="../img/single-piece-red.svg" /></td>
                   <td class="name">Red</td>
+                  <td class="pieces">${redPieces!""}</td>
                 </tr>
               </table>
               <table data-color='WHITE'>
                 <tr>
                   <td><img src="../img/single-piece-white.svg" /></td>
                   <td class="name">White</td>
+                  <td class="pieces">${whitePieces!""}</td>
                 </tr>
               </table>
             </div>
@@ -43,6 +43,29 @@
                 </li>
             </ul>
             <hr>
+            <h2 style="color:#8A2BE2"> Games in Progress </h2>
+            <ul>
+                <#-- iterating through the list of games being played -->
+                <#list gamesList>
+                <#--Part executed once if we have more than 0 items -->
+                    <li> List of games:
+                    <ul>
+                        <#items as game>
+                        <#-- Part repeated for each item -->
+                            <#-- Add a link to watch the game -->
+                            <#assign snapshot = game.getSnapshot()>
+                            <li> <a href="/game?gameID=${game.getGameID()}"> ${game.toString()} </a>
+                                (${snapshot.getRedPieces()} - ${snapshot.getWhitePieces()}) </li>
+                        </#items>
+                        <#--Part executed once if we have more than 0 items -->
+                    </ul>
+                <#else>
+                <#-- Part executed when there are 0 items -->
+                    <li><i>There are no games being played. </i></li>
+                </#list>
+                </li>
+            </ul>
+            <hr>
             <h2 style="color:#8A2BE2"> Replays </h2>
             <ul>
                 <#-- iterating through the list of replays -->
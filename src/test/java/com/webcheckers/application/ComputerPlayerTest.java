@@ -0,0 +1,131 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.Board;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.OpeningBook;
+import com.webcheckers.model.OpeningBookBuilder;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Player;
+import com.webcheckers.model.Position;
+import com.webcheckers.model.TranspositionTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the functionality of ComputerPlayer
+ *
+ * @author Chris Piccoli
+ */
+@Tag("Application-tier")
+public class ComputerPlayerTest {
+    private ExecutorService pool;
+    private ComputerPlayer computer;
+    private PlayerLobby playerLobby;
+
+    @BeforeEach
+    public void setup() {
+        pool = Executors.newSingleThreadExecutor();
+        computer = new ComputerPlayer("Computer", pool, 20, new TranspositionTable(1), 2, null, null);
+        playerLobby = new PlayerLobby();
+        playerLobby.addComputerPlayer(computer);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Tests that the computer is signed in and can play any number of games at once
+     */
+    @Test
+    public void testChallenge() {
+        assertSame(computer, playerLobby.getSingleUser("Computer"));
+        assertFalse(playerLobby.usernameAvailable("Computer"));
+        int first = playerLobby.createGame(new Player("Adam"), computer);
+        int second = playerLobby.createGame(new Player("Evil Adam"), computer);
+        assertNotEquals(PlayerLobby.NO_GAME, first);
+        assertNotEquals(PlayerLobby.NO_GAME, second);
+        assertFalse(playerLobby.userInGame(computer));
+    }
+
+    /**
+     * Tests that the computer answers a turn with a legal turn of its own, off the caller's thread
+     */
+    @Test
+    public void testPlays() {
+        Player human = new Player("Adam");
+        GameLobby game = playerLobby.getGame(playerLobby.createGame(human, computer));
+        game.call(() -> {
+            game.makeMove(new Move(new Position(5, 0), new Position(4, 1)));
+            game.endTurn();
+            return null;
+        });
+        GameSnapshot humanTurn = game.getSnapshot();
+        assertEquals(Piece.COLOR.WHITE, humanTurn.getActiveColor());
+
+        GameSnapshot answered = game.awaitChange(humanTurn, 5, TimeUnit.SECONDS);
+        assertEquals(Piece.COLOR.RED, answered.getActiveColor(), "The computer ended its turn");
+        Board before = humanTurn.getBoard();
+        Board after = answered.getBoard();
+        assertEquals(before.getPieces(Piece.COLOR.RED), after.getPieces(Piece.COLOR.RED));
+        assertEquals(2, Integer.bitCount(before.changedSquares(after)), "White made one step");
+    }
+
+    /**
+     * Tests that the computer moves first when it plays red
+     */
+    @Test
+    public void testMovesFirst() {
+        Player human = new Player("Adam");
+        GameLobby game = playerLobby.getGame(playerLobby.createGame(computer, human));
+        GameSnapshot answered = game.awaitChange(game.getSnapshot(1), 5, TimeUnit.SECONDS);
+        assertEquals(Piece.COLOR.WHITE, answered.getActiveColor());
+        assertEquals(12, answered.getWhitePieces());
+    }
+
+    /**
+     * Tests that the computer plays from its book without searching
+     */
+    @Test
+    public void testBook() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(OpeningBookBuilder.DEFAULT_PLIES);
+        builder.addGame(Arrays.asList("11-15", "23-19"));
+        Path file = Files.createTempFile("book", ".bin");
+        file.toFile().deleteOnExit();
+        builder.write(file);
+        // a search would take far longer than the test waits
+        ComputerPlayer booked = new ComputerPlayer("Booked", pool, 60_000, new TranspositionTable(1), 1,
+                new OpeningBook(file), null);
+        playerLobby.addComputerPlayer(booked);
+
+        GameLobby game = playerLobby.getGame(playerLobby.createGame(new Player("Adam"), booked));
+        game.call(() -> {
+            // PDN 11-15
+            game.makeMove(new Move(new Position(5, 2), new Position(4, 3)));
+            game.endTurn();
+            return null;
+        });
+        GameSnapshot answered = game.awaitChange(game.getSnapshot(), 5, TimeUnit.SECONDS);
+        assertEquals(Piece.COLOR.RED, answered.getActiveColor(), "The computer answered from its book");
+        // PDN 23-19
+        assertFalse(answered.getBoard().isOccupied(Board.square(2, 3)));
+        assertTrue(answered.getBoard().isOccupied(Board.square(3, 2)));
+    }
+}
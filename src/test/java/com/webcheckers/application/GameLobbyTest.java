@@ -2,6 +2,7 @@ package com.webcheckers.application;
 
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
+import com.webcheckers.model.Board;
 import com.webcheckers.model.Move;
 import com.webcheckers.model.MoveValidator;
 import com.webcheckers.model.Piece;
@@ -138,6 +139,26 @@ public class GameLobbyTest {
         assertTrue(game.getRedBoard().pieceAt(2,3));
     }
 
+    /**
+     * Tests that both players see the same board, each from their own side
+     */
+    @Test
+    void sharedBoardTest(){
+        GameLobby game = new GameLobby(42, new Player("Adam"), new Player("Evil Adam"), new MoveValidator());
+        game.makeMove(new Move(new Position(5,0),new Position(4,1)));
+        assertTrue(game.getWhiteBoard().pieceAt(3,6));
+        assertFalse(game.getWhiteBoard().pieceAt(2,7));
+        assertTrue(game.getWhiteBoard().pieceAt(0,1), "An adjacent move does not capture anything");
+        assertEquals(Piece.COLOR.RED, game.getBoard().getColor(Board.square(4,1)));
+
+        game.endTurn();
+        // white moves from its own side of the board
+        game.makeMove(new Move(new Position(5,2),new Position(4,3)));
+        assertEquals(Piece.COLOR.WHITE, game.getRedBoard().getPiece(3,4).getColor());
+        assertFalse(game.getRedBoard().pieceAt(2,5));
+        assertEquals(new Move(new Position(2,5),new Position(3,4)), game.getMoves().get(1));
+    }
+
     /**
      * Tests various game over conditions, including winning or losing the game
      */
@@ -152,6 +173,75 @@ public class GameLobbyTest {
 
         GameLobby game2 = new GameLobby(42, new Player("Adam"), new Player("Evil Adam"),new MoveValidator());
         assertFalse(game2.checkForVictory());
+        assertEquals(12, game2.getSnapshot().getRedPieces());
+        assertEquals(12, game2.getSnapshot().getWhitePieces());
+    }
+
+    /**
+     * Tests that a position coming up three times with the same player to move draws the game
+     */
+    @Test
+    void repetitionTest(){
+        GameLobby game = new GameLobby(42, new Player("Adam"), new Player("Evil Adam"), new MoveValidator());
+        // a king each, in opposite corners
+        game.getBoard().set(new Board(1 << Board.square(7, 0), 1 << Board.square(0, 7), (1 << Board.square(7, 0))
+                | (1 << Board.square(0, 7))));
+        game.endTurn();
+        assertEquals(0, game.getQuietTurns(), "Losing pieces can't be undone");
+
+        for (int shuffle = 1; shuffle <= 2; shuffle++) {
+            // white's moves are from white's side of the board
+            playTurn(game, new Move(new Position(7, 0), new Position(6, 1)));
+            playTurn(game, new Move(new Position(7, 0), new Position(6, 1)));
+            playTurn(game, new Move(new Position(6, 1), new Position(7, 0)));
+            assertFalse(game.checkForVictory());
+            playTurn(game, new Move(new Position(6, 1), new Position(7, 0)));
+            assertEquals(shuffle + 1, game.countRepetitions());
+        }
+        assertEquals(8, game.getQuietTurns());
+        assertTrue(game.checkForVictory());
+        assertEquals("The game is a draw: the same position came up 3 times.", game.getGameOverReason());
+    }
+
+    /**
+     * Tests that only turns without a capture or a single piece moving count toward a draw
+     */
+    @Test
+    void quietTurnsTest(){
+        GameLobby game = new GameLobby(42, new Player("Adam"), new Player("Evil Adam"), new MoveValidator());
+        playTurn(game, new Move(new Position(5, 0), new Position(4, 1)));
+        assertEquals(0, game.getQuietTurns());
+        assertEquals(1, game.countRepetitions());
+        assertFalse(game.checkForVictory());
+    }
+
+    private static void playTurn(GameLobby game, Move move) {
+        game.makeMove(move);
+        game.endTurn();
+    }
+
+    /**
+     * Tests that capturing every piece, or leaving the player to move with no move, wins the game
+     */
+    @Test
+    void victoryTest(){
+        GameLobby captured = new GameLobby(42, new Player("Adam"), new Player("Evil Adam"), new MoveValidator());
+        captured.getBoard().set(new Board(1 << Board.square(7, 0), 0, 0));
+        assertTrue(captured.checkForVictory());
+        assertEquals("Adam has captured all the pieces.", captured.getGameOverReason());
+
+        // red's last piece is walled in by two white pieces, and it is red's turn
+        GameLobby blocked = new GameLobby(42, new Player("Adam"), new Player("Evil Adam"), new MoveValidator());
+        blocked.getBoard().set(new Board(1 << Board.square(7, 0),
+                (1 << Board.square(6, 1)) | (1 << Board.square(5, 2)), 0));
+        assertTrue(blocked.checkForVictory());
+        assertEquals("Evil Adam has blocked all of Adam's pieces.", blocked.getGameOverReason());
+
+        // the same position with white to move is still being played
+        GameLobby moving = new GameLobby(42, new Player("Adam"), new Player("Evil Adam"), new MoveValidator());
+        moving.getBoard().set(blocked.getBoard());
+        moving.endTurn();
+        assertFalse(moving.checkForVictory());
     }
 
     /**
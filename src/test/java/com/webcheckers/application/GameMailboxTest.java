@@ -0,0 +1,176 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.Move;
+import com.webcheckers.model.MoveValidator;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Player;
+import com.webcheckers.model.Position;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that a game's mailbox runs its tasks one at a time and publishes snapshots
+ *
+ * @author Chris Piccoli
+ */
+@Tag("Application-tier")
+public class GameMailboxTest {
+
+    /**
+     * Tests that tasks run in the order they were sent
+     */
+    @Test
+    public void testOrder() throws InterruptedException {
+        GameMailbox mailbox = new GameMailbox();
+        List<Integer> order = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            final int task = i;
+            mailbox.execute(() -> {
+                order.add(task);
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, (int) order.get(i));
+        }
+    }
+
+    /**
+     * Tests that many threads changing one game never run at the same time
+     */
+    @Test
+    public void testSerialized() throws InterruptedException {
+        GameLobby game = new GameLobby(0, new Player("red"), new Player("white"), new MoveValidator());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        int[] count = {0};
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            threads.execute(() -> game.call(() -> {
+                if (running.incrementAndGet() > 1)
+                    overlaps.incrementAndGet();
+                count[0]++;
+                running.decrementAndGet();
+                return null;
+            }));
+        }
+        threads.shutdown();
+        assertTrue(threads.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(0, overlaps.get());
+        assertEquals(1000, (int) game.call(() -> count[0]));
+    }
+
+    /**
+     * Tests calling the mailbox from inside one of its own tasks, and that failures reach the caller
+     */
+    @Test
+    public void testNestedAndFailing() {
+        GameLobby game = new GameLobby(0, new Player("red"), new Player("white"), new MoveValidator());
+        assertEquals("inner", game.call(() -> game.call(() -> "inner")), "A nested call would wait for itself");
+        assertThrows(IllegalStateException.class, () -> game.call(() -> {
+            throw new IllegalStateException("bad move");
+        }));
+        assertEquals(1, (int) game.call(() -> 1), "The mailbox keeps working after a failure");
+    }
+
+    /**
+     * Tests that each call publishes a new snapshot that later changes don't touch
+     */
+    @Test
+    public void testSnapshot() {
+        GameLobby game = new GameLobby(0, new Player("red"), new Player("white"), new MoveValidator());
+        GameSnapshot start = game.getSnapshot();
+        assertEquals(Piece.COLOR.RED, start.getActiveColor());
+        assertFalse(start.isGameDone());
+
+        game.call(() -> {
+            game.makeMove(new Move(new Position(5, 0), new Position(4, 1)));
+            game.endTurn();
+            return null;
+        });
+        GameSnapshot next = game.getSnapshot();
+        assertEquals(Piece.COLOR.WHITE, next.getActiveColor());
+        assertEquals(new Player("white"), next.getActivePlayer());
+        assertEquals(game.getBoard(), next.getBoard());
+        assertFalse(start.getBoard().equals(next.getBoard()), "Published boards are copies");
+
+        game.call(() -> {
+            game.markGameAsDone("red has resigned.");
+            return null;
+        });
+        assertTrue(game.getSnapshot().isGameDone());
+        assertEquals("red has resigned.", game.getSnapshot().getGameOverReason());
+    }
+
+    /**
+     * Tests that waiting for a change returns the next snapshot, or the same one after the timeout
+     */
+    @Test
+    public void testAwaitChange() throws Exception {
+        GameLobby game = new GameLobby(0, new Player("red"), new Player("white"), new MoveValidator());
+        GameSnapshot start = game.getSnapshot();
+        assertSame(start, game.awaitChange(start, 10, TimeUnit.MILLISECONDS));
+
+        CompletableFuture<GameSnapshot> waiting = CompletableFuture.supplyAsync(
+                () -> game.awaitChange(start, 10, TimeUnit.SECONDS));
+        game.call(() -> {
+            game.endTurn();
+            return null;
+        });
+        GameSnapshot next = waiting.get(5, TimeUnit.SECONDS);
+        assertEquals(Piece.COLOR.WHITE, next.getActiveColor());
+        assertSame(next, game.awaitChange(start, 10, TimeUnit.SECONDS), "A stale snapshot returns straight away");
+    }
+
+    /**
+     * Tests that the state version goes up with each change, and only when the game really changes
+     */
+    @Test
+    public void testVersion() {
+        GameLobby game = new GameLobby(0, new Player("red"), new Player("white"), new MoveValidator());
+        GameSnapshot start = game.getSnapshot();
+
+        game.call(() -> game.isPlayerInThisGame(new Player("red")));
+        assertSame(start, game.getSnapshot(), "Reading the game publishes nothing");
+
+        game.call(() -> {
+            game.makeMove(new Move(new Position(5, 0), new Position(4, 1)));
+            return null;
+        });
+        GameSnapshot moved = game.getSnapshot();
+        assertEquals(start.getVersion() + 1, moved.getVersion());
+
+        game.call(() -> {
+            game.endTurn();
+            return null;
+        });
+        assertEquals(moved.getVersion() + 1, game.getSnapshot().getVersion());
+        assertSame(moved, game.getSnapshot(moved.getVersion()), "Recent snapshots are kept by version");
+        assertNull(game.getSnapshot(game.getSnapshot().getVersion() + 1));
+
+        for (int i = 0; i < GameLobby.HISTORY; i++)
+            game.call(() -> {
+                game.endTurn();
+                return null;
+            });
+        assertNull(game.getSnapshot(moved.getVersion()), "Old snapshots are dropped");
+    }
+}
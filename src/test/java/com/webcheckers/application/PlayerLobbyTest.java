@@ -5,10 +5,18 @@ import com.webcheckers.model.Player;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -56,5 +64,64 @@ public class PlayerLobbyTest {
 
 
     }
-}
 
+    /**
+     * Tests that a player can only be in one game, and is free again once it ends
+     */
+    @Test
+    public void testClaim(){
+        PlayerLobby playerLobby = new PlayerLobby();
+        Player red = new Player("Adam");
+        Player white = new Player("Evil Adam");
+        Player other = new Player("Other Adam");
+        int gameID = playerLobby.createGame(red, white);
+        assertEquals(PlayerLobby.NO_GAME, playerLobby.createGame(other, white));
+        assertFalse(playerLobby.userInGame(other), "A failed challenge leaves the challenger free");
+        assertEquals(PlayerLobby.NO_GAME, playerLobby.createGame(other, other));
+        assertEquals(List.of(playerLobby.getGame(gameID)), playerLobby.getGames(), "Failed challenges aren't games");
+
+        playerLobby.endGame(gameID, "done");
+        assertFalse(playerLobby.userInGame(white));
+        assertNull(playerLobby.getGame(white));
+        assertTrue(playerLobby.getGames().isEmpty(), "An ended game can't be watched");
+        assertNotNull(playerLobby.getGame(gameID), "An ended game can still be looked up");
+        assertEquals(gameID + 2, playerLobby.createGame(other, white), "Game IDs are never reused");
+    }
+
+    /**
+     * Tests many challengers racing for the same opponent
+     */
+    @Test
+    public void testConcurrentChallenges() throws InterruptedException {
+        final int challengers = 16;
+        PlayerLobby playerLobby = new PlayerLobby();
+        Player opponent = new Player("Popular");
+        ExecutorService pool = Executors.newFixedThreadPool(challengers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger games = new AtomicInteger();
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < challengers; i++) {
+            Player challenger = new Player("Challenger " + i);
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                int gameID = playerLobby.createGame(challenger, opponent);
+                // every challenger also plays someone nobody else wants
+                ids.add(playerLobby.createGame(new Player(challenger.getName() + " friend"), challenger));
+                if (gameID != PlayerLobby.NO_GAME)
+                    games.incrementAndGet();
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, games.get(), "The opponent was pulled into more than one game");
+        ids.remove(PlayerLobby.NO_GAME);
+        assertEquals(challengers - 1, ids.size(), "Game IDs must be unique");
+        assertTrue(playerLobby.getGame(opponent).isPlayerInThisGame(opponent));
+    }
+}
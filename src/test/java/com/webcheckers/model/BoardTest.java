@@ -0,0 +1,210 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the bitboard behind BoardView
+ *
+ * @author Chris Piccoli
+ */
+@Tag("Model-tier")
+public class BoardTest {
+
+    /**
+     * Tests that squares map to the dark spaces of the board and back
+     */
+    @Test
+    public void testSquares() {
+        int count = 0;
+        for (int row = 0; row < 8; row++) {
+            for (int cell = 0; cell < 8; cell++) {
+                int square = Board.square(row, cell);
+                if ((row + cell) % 2 == 1) {
+                    assertEquals(count++, square);
+                    assertEquals(row, Board.row(square));
+                    assertEquals(cell, Board.cell(square));
+                    // rotating the board is 31 - square
+                    assertEquals(31 - square, Board.square(new Position(row, cell).reflect()));
+                } else {
+                    assertEquals(-1, square, "Light spaces are not playable");
+                }
+            }
+        }
+        assertEquals(Board.NUM_SQUARES, count);
+        assertEquals(-1, Board.square(8, 1));
+        assertEquals(-1, Board.square(-1, 0));
+    }
+
+    /**
+     * Tests that every shift moves each square one step diagonally and drops squares that leave the board
+     */
+    @Test
+    public void testShifts() {
+        for (int square = 0; square < Board.NUM_SQUARES; square++) {
+            int row = Board.row(square), cell = Board.cell(square);
+            assertEquals(bit(row - 1, cell - 1), Board.upLeft(1 << square));
+            assertEquals(bit(row - 1, cell + 1), Board.upRight(1 << square));
+            assertEquals(bit(row + 1, cell - 1), Board.downLeft(1 << square));
+            assertEquals(bit(row + 1, cell + 1), Board.downRight(1 << square));
+        }
+    }
+
+    /**
+     * Tests the starting positions for both orientations
+     */
+    @Test
+    public void testStart() {
+        Board red = new Board(Piece.COLOR.RED);
+        Board white = new Board(Piece.COLOR.WHITE);
+        assertEquals(12, red.countPieces(Piece.COLOR.RED));
+        assertEquals(12, white.countPieces(Piece.COLOR.WHITE));
+        assertEquals(0, red.countKings(Piece.COLOR.RED));
+        assertEquals(Piece.COLOR.RED, red.getColor(Board.square(7, 0)));
+        assertEquals(Piece.COLOR.WHITE, red.getColor(Board.square(0, 1)));
+        assertNull(red.getColor(Board.square(4, 1)));
+        assertEquals(Integer.reverse(red.getPieces(Piece.COLOR.RED)), white.getPieces(Piece.COLOR.RED));
+        assertEquals(0, red.getKings());
+        assertEquals(8, Integer.bitCount(red.getEmpty()));
+    }
+
+    /**
+     * Tests moving, removing and kinging pieces
+     */
+    @Test
+    public void testMoves() {
+        Board board = new Board();
+        int from = Board.square(2, 3), to = Board.square(3, 4);
+        board.place(from, Piece.COLOR.RED, true);
+        board.move(from, to);
+        assertFalse(board.isOccupied(from));
+        assertTrue(board.isKing(to));
+        assertEquals(Piece.COLOR.RED, board.getColor(to));
+
+        assertThrows(IllegalArgumentException.class, () -> board.move(from, to));
+
+        board.place(Board.square(7, 0), Piece.COLOR.WHITE, false);
+        board.place(Board.square(0, 1), Piece.COLOR.WHITE, false);
+        board.crownPieces(Piece.COLOR.RED);
+        assertTrue(board.isKing(Board.square(7, 0)), "White reached red's back row");
+        assertFalse(board.isKing(Board.square(0, 1)), "White moves down from red's point of view");
+
+        assertEquals(1, board.countPieces(Piece.COLOR.RED));
+        assertEquals(2, board.countPieces(Piece.COLOR.WHITE));
+        assertEquals(1, board.countKings(Piece.COLOR.WHITE));
+
+        board.remove(to);
+        assertFalse(board.isOccupied(to));
+        assertFalse(board.isKing(to));
+        assertEquals(0, board.countPieces(Piece.COLOR.RED));
+        assertEquals(0, board.countKings(Piece.COLOR.RED));
+        assertNotEquals(new Board(), board);
+        assertEquals(new Board(board), board);
+        assertEquals(new Board(board).hashCode(), board.hashCode());
+    }
+
+    /**
+     * Tests that the hash kept up to date move by move is the hash of the same pieces placed from scratch
+     */
+    @Test
+    public void testHash() {
+        Board board = new Board(Piece.COLOR.RED);
+        Board start = new Board(board);
+        assertEquals(new Board(Board.BOTTOM_START, Board.TOP_START, 0).getHash(), board.getHash());
+        assertNotEquals(board.getHash(Piece.COLOR.RED), board.getHash(Piece.COLOR.WHITE));
+
+        board.move(Board.square(5, 0), Board.square(4, 1));
+        board.move(Board.square(2, 3), Board.square(3, 2));
+        board.apply(MoveList.encode(Board.square(4, 1), Board.square(2, 3), 1 << Board.square(3, 2), false));
+        board.place(Board.square(0, 1), Piece.COLOR.RED, false);
+        board.crownPieces(Piece.COLOR.RED);
+        assertEquals(new Board(board.getPieces(Piece.COLOR.RED), board.getPieces(Piece.COLOR.WHITE),
+                board.getKings()).getHash(), board.getHash());
+        assertNotEquals(start.getHash(), board.getHash());
+
+        board.set(start);
+        assertEquals(start.getHash(), board.getHash());
+        board.crown(Board.square(7, 0));
+        assertNotEquals(start.getHash(), board.getHash(), "A king hashes differently from a single piece");
+        board.remove(Board.square(7, 0));
+        board.place(Board.square(7, 0), Piece.COLOR.RED, false);
+        assertEquals(start.getHash(), board.getHash());
+        assertEquals(0, new Board().getHash());
+    }
+
+    /**
+     * Tests finding the pieces that can capture
+     */
+    @Test
+    public void testJumpers() {
+        Board board = new Board();
+        int red = Board.square(5, 2), white = Board.square(4, 3);
+        board.place(red, Piece.COLOR.RED, false);
+        board.place(white, Piece.COLOR.WHITE, false);
+        assertEquals(1 << red, board.jumpers(Piece.COLOR.RED, true));
+        assertEquals(0, board.jumpers(Piece.COLOR.RED, false), "Single pieces can't jump backwards");
+        assertEquals(1 << white, board.jumpers(Piece.COLOR.WHITE, false));
+        assertEquals(0, board.jumpers(Piece.COLOR.WHITE, true), "Single pieces can't jump backwards");
+
+        // blocked landing spaces
+        board.place(Board.square(3, 4), Piece.COLOR.WHITE, false);
+        board.place(Board.square(6, 1), Piece.COLOR.RED, false);
+        assertEquals(0, board.jumpers(Piece.COLOR.RED, true));
+        assertEquals(0, board.jumpers(Piece.COLOR.WHITE, false));
+
+        // kings jump both ways
+        board.remove(Board.square(6, 1));
+        board.remove(Board.square(3, 4));
+        board.crown(red);
+        assertEquals(1 << red, board.jumpers(Piece.COLOR.RED, false));
+        assertEquals(1 << red, board.jumpers(Piece.COLOR.RED, true));
+        board.crown(white);
+        assertEquals(1 << white, board.jumpers(Piece.COLOR.WHITE, true));
+    }
+
+    /**
+     * The mask of the single space at row, cell, or 0 if it is off the board
+     */
+    private static int bit(int row, int cell) {
+        int square = Board.square(row, cell);
+        return square < 0 ? 0 : 1 << square;
+    }
+
+    /**
+     * Tests that a board survives being encoded for the browser, and that the encoding is short
+     */
+    @Test
+    public void testEncode() {
+        Board start = new Board(Piece.COLOR.RED);
+        assertEquals("__AAAAAAD_8AAAAA", start.encode());
+        assertEquals(Board.ENCODED_LENGTH, start.encode().length());
+        assertEquals(start, Board.decode(start.encode()));
+
+        Board kings = new Board(0x80000001, 0x00010000, 0x80010000);
+        assertEquals(kings, Board.decode(kings.encode()));
+        assertThrows(IllegalArgumentException.class, () -> Board.decode("short"));
+    }
+
+    /**
+     * Tests that the changed squares between two boards are found
+     */
+    @Test
+    public void testChangedSquares() {
+        Board before = new Board(Piece.COLOR.RED);
+        Board after = new Board(before);
+        after.move(Board.square(5, 0), Board.square(4, 1));
+        assertEquals((1 << Board.square(5, 0)) | (1 << Board.square(4, 1)), before.changedSquares(after));
+        assertEquals(0, after.changedSquares(new Board(after)));
+
+        Board crowned = new Board(after);
+        crowned.crown(Board.square(4, 1));
+        assertEquals(1 << Board.square(4, 1), after.changedSquares(crowned), "Crowning a piece changes its square");
+    }
+}
@@ -6,11 +6,14 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -32,23 +35,73 @@ public class BoardViewTest {
         }
     }
 
-    @SuppressWarnings("ResultOfMethodCallIgnored")
     @Test
     public void TestBoardView() {
         BoardView board1 = new BoardView(Piece.COLOR.RED);
-        for (int i = 0; i < 8; i++) {
-            assertEquals(currentRow.get(i), board1.Rows.get(i));
-        }
-        assertThrows(IndexOutOfBoundsException.class, () -> {
-            board1.Rows.get(9);
-        }, "Board only has 8 rows.");
+        List<Row> rows1 = new ArrayList<>();
+        board1.forEach(rows1::add);
+        assertEquals(currentRow, rows1, "Red board does not match the starting rows.");
+        assertEquals(8, rows1.size(), "Board only has 8 rows.");
+
         BoardView board2 = new BoardView(Piece.COLOR.WHITE);
-        for (int i = 0; i < 8; i++) {
-            assertEquals(currentRow2.get(i), board2.Rows.get(i));
-        }
-        assertThrows(IndexOutOfBoundsException.class, () -> {
-            board2.Rows.get(9);
-        }, "Board only has 8 rows.");
+        List<Row> rows2 = new ArrayList<>();
+        board2.forEach(rows2::add);
+        assertEquals(currentRow2, rows2, "White board does not match the starting rows.");
+        assertEquals(8, rows2.size(), "Board only has 8 rows.");
+    }
+
+    /**
+     * Tests that a board built from rows reads back the same pieces
+     */
+    @Test
+    public void TestRowsConstructor() {
+        BoardView board = new BoardView(currentRow);
+        assertEquals(new BoardView(Piece.COLOR.RED), board);
+        assertTrue(board.pieceAt(5, 0));
+        assertFalse(board.pieceAt(5, 1), "Pieces can only be on dark spaces.");
+        assertEquals(Piece.COLOR.WHITE, board.getPiece(0, 1).getColor());
+        assertNull(board.getPiece(4, 1));
+    }
+
+    /**
+     * Tests reading the color of a piece from either player's side
+     */
+    @Test
+    public void TestGetColor() {
+        BoardView red = new BoardView(Piece.COLOR.RED);
+        assertEquals(Piece.COLOR.RED, red.getColor(5, 0));
+        assertEquals(Piece.COLOR.WHITE, red.getColor(0, 1));
+        assertNull(red.getColor(4, 1), "The middle of the board starts empty.");
+        assertNull(red.getColor(5, 1), "Pieces can only be on dark spaces.");
+
+        BoardView white = new BoardView(Piece.COLOR.WHITE);
+        assertEquals(Piece.COLOR.WHITE, white.getColor(5, 0));
+        assertEquals(Piece.COLOR.RED, white.getColor(0, 1));
+    }
+
+    /**
+     * Tests moving, capturing and kinging pieces through the view
+     */
+    @Test
+    public void TestPieces() {
+        BoardView board = new BoardView(Piece.COLOR.RED);
+        board.makeMove(new Move(new Position(5, 0), new Position(4, 1)));
+        assertFalse(board.pieceAt(5, 0));
+        assertTrue(board.pieceAt(new Position(4, 1)));
+
+        board.removePiece(4, 1);
+        assertFalse(board.pieceAt(4, 1));
+        board.removePiece(4, 0);
+
+        board.placePiece(Piece.COLOR.RED, 0, 1);
+        assertFalse(board.isKing(0, 1));
+        board.kingPieces();
+        assertTrue(board.isKing(0, 1));
+        assertEquals(Piece.TYPE.KING, board.getPiece(0, 1).getType());
+
+        assertThrows(IllegalArgumentException.class, () -> board.placePiece(Piece.COLOR.RED, 0, 0),
+                "Pieces can only be placed on dark spaces.");
+        assertNotEquals(new BoardView(Piece.COLOR.RED), board);
     }
 
     @Test
@@ -0,0 +1,161 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests generating an endgame tablebase and playing from it
+ *
+ * @author Chris Piccoli
+ */
+@Tag("Model-tier")
+public class EndgameTablebaseTest {
+    private static Path dir;
+    private static EndgameTablebase tablebase;
+
+    @BeforeAll
+    public static void generate() throws IOException, InterruptedException {
+        dir = Files.createTempDirectory("tablebase");
+        Path file = dir.resolve("endgame.tb");
+        new TablebaseGenerator(3, dir.resolve("work"), 2).generate(file);
+        tablebase = new EndgameTablebase(file);
+    }
+
+    @AfterAll
+    public static void cleanup() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toArray(Path[]::new))
+                Files.delete(file);
+        }
+    }
+
+    /**
+     * Tests that every position of a slice has its own index
+     */
+    @Test
+    public void testIndex() {
+        Board board = new Board();
+        for (int signature : TablebaseGenerator.signatures(3)) {
+            for (int index = 0; index < EndgameTablebase.size(signature); index++) {
+                Piece.COLOR color = EndgameTablebase.position(signature, index, board);
+                assertEquals(signature, EndgameTablebase.signature(board));
+                assertEquals(index, EndgameTablebase.index(board, color));
+            }
+        }
+        assertEquals(16, TablebaseGenerator.signatures(3).size());
+    }
+
+    /**
+     * Tests positions whose results are known
+     */
+    @Test
+    public void testProbe() {
+        assertEquals(3, tablebase.getMaxPieces());
+        Board board = new Board();
+        board.place(Board.square(6, 7), Piece.COLOR.RED, true);
+        board.place(Board.square(1, 0), Piece.COLOR.WHITE, true);
+        assertEquals(0, tablebase.probe(board, Piece.COLOR.RED), "A king each in the double corners is a draw");
+
+        board.place(Board.square(7, 6), Piece.COLOR.RED, true);
+        assertTrue(EndgameTablebase.isWin(tablebase.probe(board, Piece.COLOR.RED)), "Two kings beat one");
+        assertTrue(EndgameTablebase.isLoss(tablebase.probe(board, Piece.COLOR.WHITE)));
+
+        board = new Board();
+        // a king in a single corner that has to move is taken by a king two squares out
+        board.place(Board.square(7, 0), Piece.COLOR.RED, true);
+        board.place(Board.square(5, 2), Piece.COLOR.WHITE, true);
+        int trapped = tablebase.probe(board, Piece.COLOR.RED);
+        assertTrue(EndgameTablebase.isLoss(trapped));
+        assertEquals(2, EndgameTablebase.plies(trapped));
+
+        board = new Board();
+        board.place(Board.square(6, 1), Piece.COLOR.RED, true);
+        board.place(Board.square(5, 2), Piece.COLOR.WHITE, false);
+        assertEquals(1, EndgameTablebase.plies(tablebase.probe(board, Piece.COLOR.RED)), "Taking the last piece");
+        board.place(Board.square(0, 1), Piece.COLOR.WHITE, false);
+        board.place(Board.square(0, 3), Piece.COLOR.WHITE, false);
+        assertEquals(EndgameTablebase.MISSING, tablebase.probe(board, Piece.COLOR.RED), "Too many pieces");
+    }
+
+    /**
+     * Tests that a won position is won in exactly the plies the tablebase says when both sides play its moves
+     */
+    @Test
+    public void testPerfectPlay() {
+        Board board = new Board();
+        board.place(Board.square(7, 0), Piece.COLOR.RED, true);
+        board.place(Board.square(6, 1), Piece.COLOR.RED, true);
+        board.place(Board.square(0, 7), Piece.COLOR.WHITE, true);
+        Piece.COLOR color = Piece.COLOR.RED;
+        int value = tablebase.probe(board, color);
+        int plies = EndgameTablebase.plies(value);
+        assertTrue(plies > 5, "The win takes some doing");
+        for (int ply = 0; ply < plies; ply++) {
+            long move = tablebase.bestMove(board, color);
+            assertNotEquals(MoveSearch.NO_MOVE, move);
+            board.apply(move);
+            color = color == Piece.COLOR.RED ? Piece.COLOR.WHITE : Piece.COLOR.RED;
+            int next = tablebase.probe(board, color);
+            assertEquals(plies - ply - 1, EndgameTablebase.plies(next));
+            assertEquals(EndgameTablebase.isWin(value), EndgameTablebase.isLoss(next));
+            value = next;
+        }
+        assertEquals(Piece.COLOR.WHITE, color);
+        assertFalse(MoveGenerator.hasMove(board, Piece.COLOR.WHITE, false), "White has lost");
+    }
+
+    /**
+     * Tests that a search with the tablebase finds the win
+     */
+    @Test
+    public void testSearch() {
+        Board board = new Board();
+        board.place(Board.square(7, 0), Piece.COLOR.RED, true);
+        board.place(Board.square(7, 2), Piece.COLOR.RED, true);
+        board.place(Board.square(0, 7), Piece.COLOR.WHITE, true);
+        long move = new MoveSearch(new TranspositionTable(1), tablebase).search(board, Piece.COLOR.RED, true, 100);
+        board.apply(move);
+        assertTrue(EndgameTablebase.isLoss(tablebase.probe(board, Piece.COLOR.WHITE)));
+    }
+
+    /**
+     * Tests that the generator picks up where it stopped, and builds the same tablebase on any number of threads
+     */
+    @Test
+    public void testRestart() throws IOException, InterruptedException {
+        Path work = dir.resolve("restart");
+        Path first = dir.resolve("first.tb");
+        assertEquals(4, new TablebaseGenerator(2, work, 1).generate(first));
+        assertEquals(0, new TablebaseGenerator(2, work, 1).generate(first));
+        Path slice = work.resolve("slice-0101.bin");
+        Files.delete(slice);
+        Path second = dir.resolve("second.tb");
+        assertEquals(1, new TablebaseGenerator(2, work, 3).generate(second));
+        assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second));
+    }
+
+    /**
+     * Tests that a file that isn't a tablebase is refused
+     */
+    @Test
+    public void testNotATablebase() throws IOException {
+        Path file = Files.write(dir.resolve("garbage.tb"), new byte[64]);
+        assertThrows(IOException.class, () -> new EndgameTablebase(file));
+        assertThrows(IllegalArgumentException.class, () -> new TablebaseGenerator(7, dir, 1));
+    }
+}
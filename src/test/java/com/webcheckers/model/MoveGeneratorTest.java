@@ -0,0 +1,126 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the legal move generator and the moves it packs into a MoveList
+ *
+ * @author Chris Piccoli
+ */
+@Tag("Model-tier")
+public class MoveGeneratorTest {
+    private final MoveList moves = new MoveList();
+
+    /**
+     * Tests packing and unpacking moves
+     */
+    @Test
+    public void testEncoding() {
+        long move = MoveList.encode(31, 0, 0x80000001, true);
+        assertEquals(31, MoveList.from(move));
+        assertEquals(0, MoveList.to(move));
+        assertEquals(0x80000001, MoveList.captured(move));
+        assertTrue(MoveList.isJump(move));
+        assertTrue(MoveList.crowns(move));
+        assertFalse(MoveList.isJump(MoveList.encode(22, 17, 0, false)));
+        assertEquals(new Move(new Position(5, 4), new Position(4, 3)),
+                MoveList.toMove(MoveList.encode(Board.square(5, 4), Board.square(4, 3), 0, false)));
+    }
+
+    /**
+     * Tests the moves from the starting position
+     */
+    @Test
+    public void testStart() {
+        Board board = new Board(Piece.COLOR.RED);
+        assertEquals(7, MoveGenerator.generate(board, Piece.COLOR.RED, true, moves));
+        for (int i = 0; i < moves.size(); i++) {
+            assertEquals(5, Board.row(MoveList.from(moves.get(i))));
+            assertEquals(4, Board.row(MoveList.to(moves.get(i))));
+        }
+        assertEquals(7, MoveGenerator.generate(board, Piece.COLOR.WHITE, false, moves));
+        assertTrue(MoveGenerator.hasMove(board, Piece.COLOR.WHITE, false));
+        assertFalse(MoveGenerator.hasMove(board, Piece.COLOR.WHITE, true), "White's pieces are blocked from behind");
+    }
+
+    /**
+     * Tests that a capture must be taken and is followed to the end
+     */
+    @Test
+    public void testMultiJump() {
+        Board board = new Board();
+        board.place(Board.square(7, 0), Piece.COLOR.RED, false);
+        board.place(Board.square(6, 1), Piece.COLOR.WHITE, false);
+        board.place(Board.square(4, 3), Piece.COLOR.WHITE, false);
+        board.place(Board.square(0, 7), Piece.COLOR.WHITE, false);
+        board.place(Board.square(5, 6), Piece.COLOR.RED, false);
+
+        assertEquals(1, MoveGenerator.generate(board, Piece.COLOR.RED, true, moves), "The capture is forced");
+        long move = moves.get(0);
+        assertEquals(Board.square(7, 0), MoveList.from(move));
+        assertEquals(Board.square(3, 4), MoveList.to(move));
+        assertEquals((1 << Board.square(6, 1)) | (1 << Board.square(4, 3)), MoveList.captured(move));
+        assertEquals(List.of(new Move(new Position(7, 0), new Position(5, 2)),
+                new Move(new Position(5, 2), new Position(3, 4))), MoveGenerator.steps(board, move));
+        assertEquals(List.of(new Move(new Position(5, 6), new Position(4, 7))),
+                MoveGenerator.steps(board, MoveList.encode(Board.square(5, 6), Board.square(4, 7), 0, false)));
+
+        board.apply(move);
+        assertEquals(Piece.COLOR.RED, board.getColor(Board.square(3, 4)));
+        assertFalse(board.isOccupied(Board.square(6, 1)));
+        assertFalse(board.isOccupied(Board.square(4, 3)));
+        assertTrue(board.isOccupied(Board.square(0, 7)));
+    }
+
+    /**
+     * Tests that a single piece is crowned on the far row and stops there, while a king keeps going
+     */
+    @Test
+    public void testCrowning() {
+        Board board = new Board();
+        board.place(Board.square(2, 1), Piece.COLOR.RED, false);
+        board.place(Board.square(1, 2), Piece.COLOR.WHITE, false);
+        board.place(Board.square(1, 4), Piece.COLOR.WHITE, false);
+
+        assertEquals(1, MoveGenerator.generate(board, Piece.COLOR.RED, true, moves));
+        long move = moves.get(0);
+        assertEquals(Board.square(0, 3), MoveList.to(move));
+        assertTrue(MoveList.crowns(move));
+        board.apply(move);
+        assertTrue(board.isKing(Board.square(0, 3)));
+
+        // a king jumps on through the far row
+        Board kingBoard = new Board();
+        kingBoard.place(Board.square(2, 1), Piece.COLOR.RED, true);
+        kingBoard.place(Board.square(1, 2), Piece.COLOR.WHITE, false);
+        kingBoard.place(Board.square(1, 4), Piece.COLOR.WHITE, false);
+        assertEquals(1, MoveGenerator.generate(kingBoard, Piece.COLOR.RED, true, moves));
+        assertEquals(Board.square(2, 5), MoveList.to(moves.get(0)));
+        assertFalse(MoveList.crowns(moves.get(0)));
+    }
+
+    /**
+     * Tests that a king taking the same pieces in either order to the same square is one move
+     */
+    @Test
+    public void testKingLoop() {
+        Board board = new Board();
+        board.place(Board.square(4, 3), Piece.COLOR.RED, true);
+        board.place(Board.square(3, 2), Piece.COLOR.WHITE, false);
+        board.place(Board.square(3, 4), Piece.COLOR.WHITE, false);
+        board.place(Board.square(1, 2), Piece.COLOR.WHITE, false);
+        board.place(Board.square(1, 4), Piece.COLOR.WHITE, false);
+
+        // around the ring either way takes all four and lands back where the king started
+        assertEquals(1, MoveGenerator.generate(board, Piece.COLOR.RED, true, moves));
+        assertEquals(Board.square(4, 3), MoveList.to(moves.get(0)));
+        assertEquals(4, Integer.bitCount(MoveList.captured(moves.get(0))));
+    }
+}
@@ -0,0 +1,106 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the alpha-beta search the computer player uses
+ *
+ * @author Chris Piccoli
+ */
+@Tag("Model-tier")
+public class MoveSearchTest {
+    private final MoveSearch search = new MoveSearch();
+
+    /**
+     * Tests that a side with no legal move gets no move, and a single legal move is played straight away
+     */
+    @Test
+    public void testForcedMoves() {
+        Board board = new Board();
+        board.place(Board.square(7, 0), Piece.COLOR.RED, false);
+        board.place(Board.square(6, 1), Piece.COLOR.WHITE, false);
+        board.place(Board.square(5, 2), Piece.COLOR.WHITE, false);
+        assertEquals(MoveSearch.NO_MOVE, search.search(board, Piece.COLOR.RED, true, 100));
+
+        board.remove(Board.square(5, 2));
+        long move = search.search(board, Piece.COLOR.RED, true, 100);
+        assertEquals(Board.square(5, 2), MoveList.to(move), "The capture is the only legal move");
+        assertEquals(0, search.getDepth(), "A forced move needs no search");
+    }
+
+    /**
+     * Tests that the search doesn't step into a capture
+     */
+    @Test
+    public void testLooksAhead() {
+        Board board = new Board();
+        // stepping the piece on row 5 to the left lets white take it
+        board.place(Board.square(5, 2), Piece.COLOR.RED, false);
+        board.place(Board.square(6, 5), Piece.COLOR.RED, false);
+        board.place(Board.square(3, 0), Piece.COLOR.WHITE, false);
+        board.place(Board.square(0, 7), Piece.COLOR.WHITE, false);
+        long move = search.search(board, Piece.COLOR.RED, true, 200);
+        assertTrue(search.getDepth() >= 3, "The search deepens while it has time");
+        assertTrue(search.getNodes() > 0);
+        Board after = new Board(board);
+        after.apply(move);
+        MoveList replies = new MoveList();
+        MoveGenerator.generate(after, Piece.COLOR.WHITE, false, replies);
+        for (int i = 0; i < replies.size(); i++)
+            assertEquals(0, MoveList.captured(replies.get(i)), "No reply captures anything");
+    }
+
+    /**
+     * Tests that the capture taking the most pieces is chosen
+     */
+    @Test
+    public void testBestCapture() {
+        Board board = new Board();
+        board.place(Board.square(7, 0), Piece.COLOR.RED, false);
+        board.place(Board.square(6, 1), Piece.COLOR.WHITE, false);
+        board.place(Board.square(4, 3), Piece.COLOR.WHITE, false);
+        board.place(Board.square(6, 7), Piece.COLOR.RED, false);
+        board.place(Board.square(5, 6), Piece.COLOR.WHITE, false);
+        long move = search.search(board, Piece.COLOR.RED, true, 200);
+        assertEquals(2, Integer.bitCount(MoveList.captured(move)));
+    }
+
+    /**
+     * Tests that what a search finds is kept in its table for the searches after it
+     */
+    @Test
+    public void testSharedTable() {
+        TranspositionTable table = new TranspositionTable(1);
+        Board board = new Board(Piece.COLOR.RED);
+        long move = new MoveSearch(table).search(board, Piece.COLOR.RED, true, 100);
+        Board after = new Board(board);
+        after.apply(move);
+        long entry = table.probe(after.getHash(Piece.COLOR.WHITE));
+        assertNotEquals(TranspositionTable.MISSING, entry, "The position after the chosen move was kept");
+        assertTrue(TranspositionTable.hasMove(entry), "So was white's best reply to it");
+
+        MoveList moves = new MoveList();
+        MoveGenerator.generate(board, Piece.COLOR.RED, true, moves);
+        assertTrue(moves.contains(new MoveSearch(table).search(board, Piece.COLOR.RED, true, 100)));
+    }
+
+    /**
+     * Tests that the score is the same for either side of a mirrored position
+     */
+    @Test
+    public void testEvaluate() {
+        Board board = new Board(Piece.COLOR.RED);
+        assertEquals(0, MoveSearch.evaluate(board, Piece.COLOR.RED, true));
+        board.remove(Board.square(0, 1));
+        board.place(Board.square(3, 2), Piece.COLOR.RED, false);
+        board.remove(Board.square(5, 2));
+        assertEquals(MoveSearch.ADVANCED, MoveSearch.evaluate(board, Piece.COLOR.RED, true) - MoveSearch.SINGLE);
+        assertEquals(-MoveSearch.evaluate(board, Piece.COLOR.RED, true),
+                MoveSearch.evaluate(board, Piece.COLOR.WHITE, false));
+    }
+}
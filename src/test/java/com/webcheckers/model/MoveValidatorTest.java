@@ -1,7 +1,7 @@
 package com.webcheckers.model;
 
-import com.google.gson.JsonObject;
 import com.webcheckers.application.GameLobby;
+import com.webcheckers.util.Message;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
@@ -15,13 +15,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * @author Chris Piccoli, Adam Densman
  */
 public class MoveValidatorTest {
-    private static JsonObject valid = new JsonObject();
-    private static JsonObject invalid = new JsonObject();
-
-    public MoveValidatorTest() {
-        valid.addProperty("type", "INFO");
-        invalid.addProperty("type", "ERROR");
-    }
+    private static final Message.Type valid = Message.Type.INFO;
+    private static final Message.Type invalid = Message.Type.ERROR;
 
     // I should change this implementation of MoveValidator but Ill do that after this is done
     // Sorry snap decision was bad decision also this class is not well defined yet so we should get on that.
@@ -34,7 +29,7 @@ public class MoveValidatorTest {
         Move validMove = new Move(new Position(1, 3), new Position(0, 2));
         MoveValidator moveValidator = new MoveValidator();
 
-        assertEquals(valid.get("type"), (moveValidator.ValidateMove(validMove, Piece.COLOR.RED, new BoardView(Piece.COLOR.RED)).get("type")),
+        assertEquals(valid, (moveValidator.ValidateMove(validMove, Piece.COLOR.RED, new BoardView(Piece.COLOR.RED)).getMessage().getType()),
                 "MoveValidator returned the Error instead of INFO, for valid move");
     }
 
@@ -46,7 +41,7 @@ public class MoveValidatorTest {
         Move invalidMove = new Move(new Position(0, 2), new Position(1, 3));
         MoveValidator moveValidator = new MoveValidator();
 
-        assertEquals(invalid.get("type"), moveValidator.ValidateMove(invalidMove, Piece.COLOR.RED, new BoardView(Piece.COLOR.RED)).get("type"),
+        assertEquals(invalid, moveValidator.ValidateMove(invalidMove, Piece.COLOR.RED, new BoardView(Piece.COLOR.RED)).getMessage().getType(),
                 "MoveValidator returned Info instead of Error, for backward move");
     }
 
@@ -60,24 +55,24 @@ public class MoveValidatorTest {
 
         ArrayList<Position> positions = new ArrayList<>();
 
-        Move invalidMoveOne = new Move(new Position(7, 1), new Position(7, 2));
+        Move invalidMoveOne = new Move(new Position(7, 6), new Position(7, 5));
 
-        Move invalidMoveTwo = new Move(new Position(7, 1), new Position(6, 1));
+        Move invalidMoveTwo = new Move(new Position(7, 6), new Position(6, 6));
 
-        Move validMoveOne = new Move(new Position(7, 1), new Position(6, 2));
+        Move validMoveOne = new Move(new Position(7, 6), new Position(6, 5));
 
-        Move validMoveTwo = new Move(new Position(7, 1), new Position(6, 0));
+        Move validMoveTwo = new Move(new Position(7, 6), new Position(6, 7));
 
-        Move backwardValidMoveOne = new Move(new Position(6, 0), new Position(7, 1));
+        Move backwardValidMoveOne = new Move(new Position(6, 7), new Position(7, 6));
 
-        Move backwardValidMoveTwo = new Move(new Position(6, 2), new Position(7, 1));
+        Move backwardValidMoveTwo = new Move(new Position(6, 5), new Position(7, 6));
         MoveValidator moveValidator = new MoveValidator();
 
-        assertEquals(valid.get("type"), (moveValidator.ValidateMove(validMoveOne, Piece.COLOR.RED, createKingOnlyBoard()).get("type")),
+        assertEquals(valid, (moveValidator.ValidateMove(validMoveOne, Piece.COLOR.RED, createKingOnlyBoard()).getMessage().getType()),
                 "MoveValidator returned Error instead of info, when King moves right back");
         MoveValidator moveValidator2 = new MoveValidator();
 
-        assertEquals(valid.get("type"), (moveValidator2.ValidateMove(validMoveTwo, Piece.COLOR.RED, createKingOnlyBoard()).get("type")),
+        assertEquals(valid, (moveValidator2.ValidateMove(validMoveTwo, Piece.COLOR.RED, createKingOnlyBoard()).getMessage().getType()),
                 "MoveValidator returned Error instead of info, when King moves left back");
     }
 
@@ -88,14 +83,14 @@ public class MoveValidatorTest {
     public void testingSingleJump() {
 
 
-        Move validJumpOne = new Move(new Position(7, 1), new Position(6, 0));
-        Move invalidJumpOne = new Move(new Position(7, 1), new Position(5, 3));
+        Move simpleMove = new Move(new Position(7, 6), new Position(6, 7));
+        Move validJumpOne = new Move(new Position(7, 6), new Position(5, 4));
 
         System.out.print(createJumpOnly());
         MoveValidator moveValidator = new MoveValidator();
-        assertEquals(valid.get("type"), (moveValidator.ValidateMove(validJumpOne, Piece.COLOR.WHITE, createJumpOnly()).get("type")),
-                "MoveValidator returned info instead of Error, jump not mandatory");
-        assertEquals(invalid.get("type"), (moveValidator.ValidateMove(invalidJumpOne, Piece.COLOR.WHITE, createJumpOnly()).get("type")),
+        assertEquals(invalid, (moveValidator.ValidateMove(simpleMove, Piece.COLOR.WHITE, createJumpOnly()).getMessage().getType()),
+                "MoveValidator returned info instead of Error, jump is mandatory");
+        assertEquals(valid, (moveValidator.ValidateMove(validJumpOne, Piece.COLOR.WHITE, createJumpOnly()).getMessage().getType()),
                 "MoveValidator returned Error instead of info, jump is legal");
     }
 
@@ -106,17 +101,17 @@ public class MoveValidatorTest {
     public void testingDoubleJump() {
 
 
-        Move validMoveOne = new Move(new Position(7, 1), new Position(5, 3));
-        Move validMoveTwo = new Move(new Position(5, 3), new Position(3, 1));
+        Move validMoveOne = new Move(new Position(7, 6), new Position(5, 4));
+        Move validMoveTwo = new Move(new Position(5, 4), new Position(3, 6));
 
         BoardView doubleJumpBoard = createDoubleJump();
         System.out.print(doubleJumpBoard);
 
         MoveValidator moveValidator = new MoveValidator();
-        assertEquals(valid.get("type"), (moveValidator.ValidateMove(validMoveOne, Piece.COLOR.WHITE, doubleJumpBoard).get("type")),
+        assertEquals(valid, (moveValidator.ValidateMove(validMoveOne, Piece.COLOR.WHITE, doubleJumpBoard).getMessage().getType()),
                 "MoveValidator returned ERROR instead of INFO, jump is legal");
         doubleJumpBoard.makeMove(validMoveOne);
-        assertEquals(valid.get("type"), (moveValidator.ValidateMove(validMoveTwo, Piece.COLOR.WHITE, createDoubleJump()).get("type")),
+        assertEquals(valid, (moveValidator.ValidateMove(validMoveTwo, Piece.COLOR.WHITE, createDoubleJump()).getMessage().getType()),
                 "MoveValidator returned Error instead of info, double jump should be legal");
     }
 
@@ -136,7 +131,7 @@ public class MoveValidatorTest {
 
         ArrayList<Space> backRank = new ArrayList<>();
         for (int i = 0; i < 8; i++) {
-            if (i != 1)
+            if (i != 6)
                 backRank.add(new Space(i, 0));
             else {
                 backRank.add(new Space(i, Piece.COLOR.RED));
@@ -164,7 +159,7 @@ public class MoveValidatorTest {
 
         ArrayList<Space> secondBack = new ArrayList<>();
         for (int i = 0; i < 8; i++) {
-            if (i != 2)
+            if (i != 5)
                 secondBack.add(new Space(i, 0));
             else {
                 secondBack.add(new Space(i, Piece.COLOR.RED));
@@ -175,7 +170,7 @@ public class MoveValidatorTest {
 
         ArrayList<Space> backRank = new ArrayList<>();
         for (int i = 0; i < 8; i++) {
-            if (i != 1)
+            if (i != 6)
                 backRank.add(new Space(i, 0));
             else {
                 backRank.add(new Space(i, Piece.COLOR.WHITE));
@@ -202,7 +197,7 @@ public class MoveValidatorTest {
 
         ArrayList<Space> secondBack = new ArrayList<>();
         for (int i = 0; i < 8; i++) {
-            if (i != 2)
+            if (i != 5)
                 secondBack.add(new Space(i, 0));
             else {
                 secondBack.add(new Space(i, Piece.COLOR.RED));
@@ -215,7 +210,7 @@ public class MoveValidatorTest {
 
         ArrayList<Space> backRank = new ArrayList<>();
         for (int i = 0; i < 8; i++) {
-            if (i != 1)
+            if (i != 6)
                 backRank.add(new Space(i, 0));
             else {
                 backRank.add(new Space(i, Piece.COLOR.WHITE));
@@ -261,11 +256,11 @@ public class MoveValidatorTest {
         Position end = new Position(4,1);
         Move validMove = new Move(start,end);
         game.makeMove(validMove);
-        JsonObject isMoveValid = validator.ValidateMove(validMove, Piece.COLOR.RED,game.getRedBoard());
+        ValidationResult isMoveValid = validator.ValidateMove(validMove, Piece.COLOR.RED,game.getRedBoard());
         String expectedOutput = "Yay a valid move.";
-        assertEquals(expectedOutput,isMoveValid.get("text").getAsString());
-        JsonObject validTurn = validator.ValidateTurn(game.getRedBoard(),game.getWhiteBoard(), Piece.COLOR.RED);
+        assertEquals(expectedOutput,isMoveValid.getMessage().getText());
+        ValidationResult validTurn = validator.ValidateTurn(game.getRedBoard(),game.getWhiteBoard(), Piece.COLOR.RED);
         expectedOutput = "Valid Turn";
-        assertEquals(expectedOutput,validTurn.get("text").getAsString());
+        assertEquals(expectedOutput,validTurn.getMessage().getText());
     }
 }
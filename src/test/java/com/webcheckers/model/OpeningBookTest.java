@@ -0,0 +1,127 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests building an opening book from PDN and looking moves up in it
+ *
+ * @author Chris Piccoli
+ */
+@Tag("Model-tier")
+public class OpeningBookTest {
+    // the third game is set up from another position, and the last has no result
+    private static final String GAMES = "[Event \"first\"]\n1. 11-15 23-19 2. 8-11 22-17 1-0\n"
+            + "[Event \"second\"]\n1. 11-15 {a comment} 24-20 0-1\n"
+            + "[Event \"third\"]\n[FEN \"B:W21,22:B1,2\"]\n1. 1-5 *\n"
+            + "[Event \"fourth\"]\n1. 10-14!\n";
+
+    private Path dir;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("book");
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toArray(Path[]::new))
+                Files.delete(file);
+        }
+        Files.delete(dir);
+    }
+
+    /**
+     * Tests that a book holds every move its games played, with how often each was played
+     */
+    @Test
+    public void testBuild() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(OpeningBookBuilder.DEFAULT_PLIES);
+        assertEquals(3, builder.addPdn(new StringReader(GAMES)));
+        assertEquals(6, builder.size());
+        OpeningBook book = write(builder);
+        assertEquals(6, book.size());
+
+        Board start = new Board(Piece.COLOR.RED);
+        // PDN 11-15 and 10-14
+        assertEquals(2, book.getWeight(start, Piece.COLOR.RED, MoveList.encode(21, 17, 0, false)));
+        assertEquals(1, book.getWeight(start, Piece.COLOR.RED, MoveList.encode(22, 18, 0, false)));
+        assertEquals(0, book.getWeight(start, Piece.COLOR.RED, MoveList.encode(20, 16, 0, false)));
+
+        Board after = new Board(start);
+        after.apply(MoveList.encode(21, 17, 0, false));
+        // PDN 23-19 and 24-20
+        assertEquals(1, book.getWeight(after, Piece.COLOR.WHITE, MoveList.encode(9, 13, 0, false)));
+        assertEquals(1, book.getWeight(after, Piece.COLOR.WHITE, MoveList.encode(8, 12, 0, false)));
+    }
+
+    /**
+     * Tests that lookups pick among the book's legal moves, and find nothing once the game leaves the book
+     */
+    @Test
+    public void testLookup() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(OpeningBookBuilder.DEFAULT_PLIES);
+        builder.addPdn(new StringReader(GAMES));
+        OpeningBook book = write(builder);
+
+        Board start = new Board(Piece.COLOR.RED);
+        Random random = new Random(1);
+        Set<Long> picked = new HashSet<>();
+        for (int i = 0; i < 50; i++)
+            picked.add(book.lookup(start, Piece.COLOR.RED, true, random));
+        assertEquals(new HashSet<>(Arrays.asList(MoveList.encode(21, 17, 0, false), MoveList.encode(22, 18, 0,
+                false))), picked);
+
+        Board out = new Board(start);
+        out.apply(MoveList.encode(20, 16, 0, false));
+        assertEquals(MoveSearch.NO_MOVE, book.lookup(out, Piece.COLOR.WHITE, false, random));
+    }
+
+    /**
+     * Tests that a game is only added up to its first illegal move, and only for as many plies as asked
+     */
+    @Test
+    public void testAddGame() {
+        OpeningBookBuilder builder = new OpeningBookBuilder(2);
+        assertFalse(builder.addGame(Arrays.asList("11-15", "11-15")));
+        assertEquals(1, builder.size());
+        assertTrue(builder.addGame(Arrays.asList("11-15", "23-19", "8-11")));
+        assertEquals(2, builder.size());
+    }
+
+    /**
+     * Tests that a file that isn't a book is refused
+     */
+    @Test
+    public void testNotABook() throws IOException {
+        Path file = dir.resolve("games.pdn");
+        Files.write(file, GAMES.getBytes());
+        assertThrows(IOException.class, () -> new OpeningBook(file));
+        Path empty = Files.createFile(dir.resolve("empty.bin"));
+        assertThrows(IOException.class, () -> new OpeningBook(empty));
+    }
+
+    private OpeningBook write(OpeningBookBuilder builder) throws IOException {
+        Path file = dir.resolve("book.bin");
+        builder.write(file);
+        return new OpeningBook(file);
+    }
+}
@@ -0,0 +1,97 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the search that shares a position between threads
+ *
+ * @author Chris Piccoli
+ */
+@Tag("Model-tier")
+public class ParallelSearchTest {
+    private ExecutorService pool;
+
+    @BeforeEach
+    public void setup() {
+        pool = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Tests that the helpers find the same best capture a single search does
+     */
+    @Test
+    public void testBestCapture() {
+        ParallelSearch search = new ParallelSearch(new TranspositionTable(1), 4, pool);
+        assertEquals(4, search.getThreads());
+        Board board = new Board();
+        board.place(Board.square(7, 0), Piece.COLOR.RED, false);
+        board.place(Board.square(6, 1), Piece.COLOR.WHITE, false);
+        board.place(Board.square(4, 3), Piece.COLOR.WHITE, false);
+        board.place(Board.square(6, 7), Piece.COLOR.RED, false);
+        board.place(Board.square(5, 6), Piece.COLOR.WHITE, false);
+        long move = search.search(board, Piece.COLOR.RED, true, 200);
+        assertEquals(2, Integer.bitCount(MoveList.captured(move)));
+        assertTrue(search.getNodes() > 0);
+    }
+
+    /**
+     * Tests that a search stops at the depth it is given, and plays a legal move
+     */
+    @Test
+    public void testMaxDepth() {
+        ParallelSearch search = new ParallelSearch(new TranspositionTable(1), 4, pool);
+        Board board = new Board(Piece.COLOR.RED);
+        long move = search.search(board, Piece.COLOR.RED, true, 10_000, 5);
+        assertEquals(5, search.getDepth());
+        MoveList moves = new MoveList();
+        MoveGenerator.generate(board, Piece.COLOR.RED, true, moves);
+        assertTrue(moves.contains(move));
+    }
+
+    /**
+     * Tests that helpers the pool can't start are skipped, so the search still ends on time
+     */
+    @Test
+    public void testBusyPool() {
+        List<Runnable> queued = new ArrayList<>();
+        ParallelSearch search = new ParallelSearch(new TranspositionTable(1), 3, queued::add);
+        Board board = new Board(Piece.COLOR.RED);
+        long start = System.nanoTime();
+        long move = search.search(board, Piece.COLOR.RED, true, 100);
+        assertTrue(System.nanoTime() - start < 2_000_000_000L, "The search didn't wait for its helpers");
+        assertEquals(2, queued.size());
+        long nodes = search.getNodes();
+        // a helper started late does nothing
+        queued.forEach(Runnable::run);
+        assertEquals(nodes, search.getNodes());
+
+        MoveList moves = new MoveList();
+        MoveGenerator.generate(board, Piece.COLOR.RED, true, moves);
+        assertTrue(moves.contains(move));
+    }
+
+    /**
+     * Tests that a search needs a thread
+     */
+    @Test
+    public void testThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSearch(new TranspositionTable(1), 0, pool));
+    }
+}
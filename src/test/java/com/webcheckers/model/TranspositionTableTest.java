@@ -0,0 +1,115 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the table the search keeps what it finds in
+ *
+ * @author Chris Piccoli
+ */
+@Tag("Model-tier")
+public class TranspositionTableTest {
+    private final TranspositionTable table = new TranspositionTable(1);
+
+    /**
+     * Tests that the table fits in the memory it is given
+     */
+    @Test
+    public void testCapacity() {
+        assertEquals(1 << 16, table.getCapacity(), "Sixteen bytes an entry");
+        assertEquals(1 << 16, new TranspositionTable(1).getCapacity());
+        assertEquals(1 << 17, new TranspositionTable(3).getCapacity(), "Rounded down to a power of two");
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+
+    /**
+     * Tests that an entry reads back as it was stored
+     */
+    @Test
+    public void testStore() {
+        long hash = new Board(Piece.COLOR.RED).getHash(Piece.COLOR.RED);
+        assertEquals(TranspositionTable.MISSING, table.probe(hash));
+
+        long move = MoveList.encode(Board.square(5, 0), Board.square(4, 1), 0, false);
+        table.store(hash, 7, TranspositionTable.LOWER, -MoveSearch.WIN + 3, move);
+        long entry = table.probe(hash);
+        assertEquals(7, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(entry));
+        assertEquals(-MoveSearch.WIN + 3, TranspositionTable.score(entry));
+        assertTrue(TranspositionTable.hasMove(entry));
+        assertEquals(Board.square(5, 0), TranspositionTable.from(entry));
+        assertEquals(Board.square(4, 1), TranspositionTable.to(entry));
+
+        table.store(hash, 2, TranspositionTable.EXACT, 15, MoveSearch.NO_MOVE);
+        entry = table.probe(hash);
+        assertEquals(15, TranspositionTable.score(entry));
+        assertFalse(TranspositionTable.hasMove(entry));
+
+        table.clear();
+        assertEquals(TranspositionTable.MISSING, table.probe(hash));
+    }
+
+    /**
+     * Tests that a deep entry is kept over a shallow one in the same place, unless it is from an earlier search
+     */
+    @Test
+    public void testReplacement() {
+        long deep = 0x1234_0000_0000_0000L;
+        long shallow = deep | 1;
+        long later = deep | table.getCapacity();
+        table.store(deep, 9, TranspositionTable.EXACT, 1, MoveSearch.NO_MOVE);
+        table.store(shallow, 1, TranspositionTable.EXACT, 2, MoveSearch.NO_MOVE);
+        assertEquals(9, TranspositionTable.depth(table.probe(deep)));
+        assertEquals(1, TranspositionTable.depth(table.probe(shallow)));
+
+        // a third position in the same pair takes the second place
+        table.store(later, 1, TranspositionTable.EXACT, 3, MoveSearch.NO_MOVE);
+        assertEquals(TranspositionTable.MISSING, table.probe(shallow));
+        assertEquals(9, TranspositionTable.depth(table.probe(deep)));
+
+        table.newSearch();
+        table.store(shallow, 1, TranspositionTable.EXACT, 2, MoveSearch.NO_MOVE);
+        assertEquals(TranspositionTable.MISSING, table.probe(deep), "Entries from earlier searches give way");
+        assertEquals(1, TranspositionTable.depth(table.probe(later)));
+    }
+
+    /**
+     * Tests that searches starting within one tick share a generation, so they keep each other's deep entries
+     */
+    @Test
+    public void testSharedGeneration() {
+        AtomicLong now = new AtomicLong();
+        TranspositionTable shared = new TranspositionTable(1, 50, now::get);
+        long deep = 0x1234_0000_0000_0000L;
+        long shallow = deep | shared.getCapacity();
+        long other = deep | 2L * shared.getCapacity();
+
+        // one game's search stores a deep entry, then other games start searching
+        shared.newSearch();
+        shared.store(deep, 9, TranspositionTable.EXACT, 1, MoveSearch.NO_MOVE);
+        shared.newSearch();
+        shared.newSearch();
+        shared.store(shallow, 1, TranspositionTable.EXACT, 2, MoveSearch.NO_MOVE);
+        shared.store(other, 1, TranspositionTable.EXACT, 3, MoveSearch.NO_MOVE);
+        assertEquals(9, TranspositionTable.depth(shared.probe(deep)), "Searches in one tick keep deep entries");
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(49));
+        shared.newSearch();
+        shared.store(shallow, 1, TranspositionTable.EXACT, 2, MoveSearch.NO_MOVE);
+        assertEquals(9, TranspositionTable.depth(shared.probe(deep)), "The tick isn't up yet");
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        shared.newSearch();
+        shared.store(shallow, 1, TranspositionTable.EXACT, 2, MoveSearch.NO_MOVE);
+        assertEquals(TranspositionTable.MISSING, shared.probe(deep), "Entries from an earlier tick give way");
+    }
+}
@@ -0,0 +1,156 @@
+package com.webcheckers.ui;
+
+import com.google.gson.JsonObject;
+import com.webcheckers.application.GameLobby;
+import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.Board;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Player;
+import org.eclipse.jetty.websocket.api.RemoteEndpoint;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.StatusCode;
+import org.eclipse.jetty.websocket.api.UpgradeRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the functionality of GameSocketHandler
+ *
+ * @author Chris Piccoli
+ */
+@Tag("UI-tier")
+public class GameSocketHandlerTest {
+    private static final String MOVE = "{\\\"start\\\":{\\\"row\\\":5,\\\"cell\\\":0},\\\"end\\\":{\\\"row\\\":4,\\\"cell\\\":1}}";
+
+    private GameSocketHandler handler;
+    private GameLobby game;
+    private Session session;
+    private RemoteEndpoint remote;
+
+    @BeforeEach
+    public void setup() {
+        PlayerLobby playerLobby = new PlayerLobby();
+        playerLobby.addUsername("Fred");
+        playerLobby.addUsername("Scooby");
+        int gameID = playerLobby.createGame(new Player("Fred"), new Player("Scooby"));
+        game = playerLobby.getGame(gameID);
+        handler = new GameSocketHandler(playerLobby);
+        session = mock(Session.class);
+        remote = mock(RemoteEndpoint.class);
+        when(session.getRemote()).thenReturn(remote);
+    }
+
+    private void connect(String ticket) {
+        UpgradeRequest upgrade = mock(UpgradeRequest.class);
+        when(upgrade.getParameterMap()).thenReturn(Map.of(GameSocketHandler.TICKET_PARAM, List.of(ticket)));
+        when(session.getUpgradeRequest()).thenReturn(upgrade);
+        handler.onConnect(session);
+    }
+
+    /**
+     * Tests that moves sent over the socket are validated, made and submitted like the HTTP routes do
+     */
+    @Test
+    public void testActions() throws IOException {
+        connect(handler.issueTicket(new Player("Fred")));
+        verify(session, never()).close(StatusCode.POLICY_VIOLATION, "A valid ticket is required.");
+
+        handler.onMessage(session, "{\"id\":1,\"action\":\"validateMove\",\"gameID\":\"" + game.getGameID()
+                + "\",\"actionData\":\"" + MOVE + "\"}");
+        verify(remote).sendString("{\"type\":\"INFO\",\"text\":\"Yay a valid move.\",\"id\":1}");
+
+        handler.onMessage(session, "{\"id\":2,\"action\":\"submitTurn\",\"gameID\":\"" + game.getGameID() + "\"}");
+        assertEquals(Piece.COLOR.WHITE, game.getSnapshot().getActiveColor());
+
+        handler.onMessage(session, "{\"id\":3,\"action\":\"resignGame\",\"gameID\":\"" + game.getGameID() + "\"}");
+        assertTrue(game.getSnapshot().isGameDone());
+        assertEquals("Fred has resigned.", game.getSnapshot().getGameOverReason());
+    }
+
+    /**
+     * Tests that a socket needs a ticket, and a ticket opens only one socket
+     */
+    @Test
+    public void testTickets() {
+        String ticket = handler.issueTicket(new Player("Fred"));
+        connect(ticket);
+        connect(ticket);
+        verify(session).close(StatusCode.POLICY_VIOLATION, "A valid ticket is required.");
+
+        Session stranger = mock(Session.class);
+        handler.onMessage(stranger, "{\"id\":1,\"action\":\"resignGame\",\"gameID\":\"" + game.getGameID() + "\"}");
+        verify(stranger, never()).getRemote();
+    }
+
+    /**
+     * Tests that a player can't act on someone else's game, and that bad requests are answered with an error
+     */
+    @Test
+    public void testRefused() throws IOException {
+        connect(handler.issueTicket(new Player("Shaggy")));
+        handler.onMessage(session, "{\"id\":1,\"action\":\"resignGame\",\"gameID\":\"" + game.getGameID() + "\"}");
+        verify(remote).sendString("{\"type\":\"ERROR\",\"text\":\"You are not playing in that game.\",\"id\":1}");
+
+        handler.onMessage(session, "not json");
+        handler.onMessage(session, "{\"id\":2}");
+        verify(remote, times(3)).sendString(anyString());
+        assertFalse(game.getSnapshot().isGameDone());
+
+        JsonObject unknown = new JsonObject();
+        unknown.addProperty("action", "jump");
+        unknown.addProperty("gameID", String.valueOf(game.getGameID()));
+        assertEquals("That action is not supported.", handler.handle(new Player("Fred"), unknown).getText());
+    }
+
+    /**
+     * Tests that a well formed message missing what its action needs is answered with an error
+     */
+    @Test
+    public void testMissingFields() throws IOException {
+        connect(handler.issueTicket(new Player("Fred")));
+        handler.onMessage(session, "{\"id\":3,\"action\":\"validateMove\",\"gameID\":\"" + game.getGameID()
+                + "\",\"actionData\":\"{}\"}");
+        handler.onMessage(session, "{\"id\":4,\"action\":\"validateMove\",\"gameID\":\"" + game.getGameID()
+                + "\",\"actionData\":null}");
+        handler.onMessage(session, "{\"id\":5,\"action\":null,\"gameID\":\"" + game.getGameID() + "\"}");
+        verify(remote).sendString("{\"type\":\"ERROR\",\"text\":\"That request could not be read.\",\"id\":3}");
+        verify(remote).sendString("{\"type\":\"ERROR\",\"text\":\"That request could not be read.\",\"id\":4}");
+        verify(remote).sendString("{\"type\":\"ERROR\",\"text\":\"That request could not be read.\",\"id\":5}");
+
+        assertEquals(new Board(Piece.COLOR.RED), game.getSnapshot().getBoard());
+    }
+
+    /**
+     * Tests that only the active player can move, back up or submit, while either player can resign
+     */
+    @Test
+    public void testNotYourTurn() throws IOException {
+        connect(handler.issueTicket(new Player("Scooby")));
+        handler.onMessage(session, "{\"id\":1,\"action\":\"validateMove\",\"gameID\":\"" + game.getGameID()
+                + "\",\"actionData\":\"" + MOVE + "\"}");
+        handler.onMessage(session, "{\"id\":2,\"action\":\"backupMove\",\"gameID\":\"" + game.getGameID() + "\"}");
+        handler.onMessage(session, "{\"id\":3,\"action\":\"submitTurn\",\"gameID\":\"" + game.getGameID() + "\"}");
+        for (int id = 1; id <= 3; id++)
+            verify(remote).sendString("{\"type\":\"ERROR\",\"text\":\"It is not your turn.\",\"id\":" + id + "}");
+        assertEquals(new Board(Piece.COLOR.RED), game.getSnapshot().getBoard());
+        assertEquals(Piece.COLOR.RED, game.getSnapshot().getActiveColor());
+
+        handler.onMessage(session, "{\"id\":4,\"action\":\"resignGame\",\"gameID\":\"" + game.getGameID() + "\"}");
+        assertEquals("Scooby has resigned.", game.getSnapshot().getGameOverReason());
+    }
+}
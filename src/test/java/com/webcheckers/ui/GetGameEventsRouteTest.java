@@ -0,0 +1,288 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.webcheckers.application.GameLobby;
+import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.Board;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.MoveValidator;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Player;
+import com.webcheckers.model.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import spark.Request;
+import spark.Response;
+import spark.Session;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the functionality of GetGameEventsRoute
+ *
+ * @author Chris Piccoli
+ */
+@Tag("UI-tier")
+public class GetGameEventsRouteTest {
+    private Request request;
+    private Response response;
+    private Session session;
+    private PlayerLobby playerLobby;
+    private AsyncContext async;
+    private HttpServletResponse raw;
+    private ByteArrayOutputStream sent;
+    private GameLobby game;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        request = mock(Request.class);
+        response = mock(Response.class);
+        session = mock(Session.class);
+        playerLobby = mock(PlayerLobby.class);
+        async = mock(AsyncContext.class);
+        raw = mock(HttpServletResponse.class);
+        sent = new ByteArrayOutputStream();
+        game = new GameLobby(0, new Player("Fred"), new Player("Scooby"), new MoveValidator());
+
+        HttpServletRequest rawRequest = mock(HttpServletRequest.class);
+        when(rawRequest.startAsync()).thenReturn(async);
+        when(request.raw()).thenReturn(rawRequest);
+        when(request.session()).thenReturn(session);
+        when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
+        when(session.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(new Player("Scooby"));
+        when(response.raw()).thenReturn(raw);
+        when(raw.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                sent.write(b);
+            }
+        });
+        when(playerLobby.getGame(0)).thenReturn(game);
+    }
+
+    private String sent() {
+        return sent.toString(StandardCharsets.UTF_8);
+    }
+
+    private ByteArrayOutputStream openAnotherStream() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        HttpServletResponse other = mock(HttpServletResponse.class);
+        when(other.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                bytes.write(b);
+            }
+        });
+        when(response.raw()).thenReturn(other);
+        when(request.raw().startAsync()).thenReturn(mock(AsyncContext.class));
+        return bytes;
+    }
+
+    /**
+     * Tests that the stream starts with the game's state and follows moves, turns and the end of the game
+     */
+    @Test
+    public void testEvents() {
+        GetGameEventsRoute route = new GetGameEventsRoute(playerLobby, new Gson(), Runnable::run);
+        assertEquals("", route.handle(request, response));
+        assertTrue(sent().startsWith("event: state\ndata: {\"activeColor\":\"RED\",\"activePlayer\":\"Fred\""));
+        assertEquals(1, route.getStreamCount());
+
+        game.call(() -> {
+            game.makeMove(new Move(new Position(5, 0), new Position(4, 1)));
+            return null;
+        });
+        assertTrue(sent().contains("event: move\n"));
+
+        game.call(() -> {
+            game.endTurn();
+            return null;
+        });
+        assertTrue(sent().contains("event: turn\ndata: {\"activeColor\":\"WHITE\",\"activePlayer\":\"Scooby\""));
+
+        route.heartbeat();
+        assertTrue(sent().endsWith(": ping\n\n"));
+
+        game.call(() -> {
+            game.markGameAsDone("Fred has resigned.");
+            return null;
+        });
+        assertTrue(sent().contains("event: gameOver\n"));
+        assertTrue(sent().contains("\"gameOverReason\":\"Fred has resigned.\""));
+        verify(async).complete();
+        assertEquals(0, route.getStreamCount(), "The stream ends with the game");
+        assertFalse(route.isHeartbeating(), "Heartbeats stop with the last stream");
+    }
+
+    /**
+     * Tests that the response is committed before the route returns, when the state event is written after
+     */
+    @Test
+    public void testCommittedBeforeFirstEvent() throws Exception {
+        CountDownLatch returned = new CountDownLatch(1);
+        ExecutorService fanOut = Executors.newSingleThreadExecutor();
+        try {
+            // the outbox can't write the state event until the route has returned
+            fanOut.execute(() -> {
+                try {
+                    returned.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            GetGameEventsRoute route = new GetGameEventsRoute(playerLobby, new Gson(), fanOut);
+            assertEquals("", route.handle(request, response));
+            verify(raw).flushBuffer();
+            assertEquals("", sent(), "Nothing is written on the request thread");
+            assertTrue(route.isHeartbeating());
+            returned.countDown();
+
+            fanOut.submit(() -> null).get(5, TimeUnit.SECONDS);
+            assertTrue(sent().startsWith("event: state\n"));
+        } finally {
+            fanOut.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that a browser that has gone away is dropped
+     */
+    @Test
+    public void testClosedByBrowser() throws IOException {
+        GetGameEventsRoute route = new GetGameEventsRoute(playerLobby, new Gson(), Runnable::run);
+        route.handle(request, response);
+        when(raw.getOutputStream()).thenThrow(new IOException("Broken pipe"));
+
+        route.heartbeat();
+        verify(async).complete();
+        assertEquals(0, route.getStreamCount());
+    }
+
+    /**
+     * Tests that no stream is opened for an unknown game or a user who isn't signed in
+     */
+    @Test
+    public void testRefused() {
+        GetGameEventsRoute route = new GetGameEventsRoute(playerLobby, new Gson(), Runnable::run);
+        when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("7");
+        route.handle(request, response);
+        verify(response).status(HttpServletResponse.SC_NOT_FOUND);
+
+        when(session.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(null);
+        route.handle(request, response);
+        verify(response).status(HttpServletResponse.SC_UNAUTHORIZED);
+
+        verify(request.raw(), never()).startAsync();
+        assertEquals(0, route.getStreamCount());
+    }
+
+    /**
+     * Tests that every watcher of a game shares one channel and is sent the same events
+     */
+    @Test
+    public void testSharedChannel() throws IOException {
+        GetGameEventsRoute route = new GetGameEventsRoute(playerLobby, new Gson(), Runnable::run);
+        route.handle(request, response);
+        ByteArrayOutputStream spectator = openAnotherStream();
+        route.handle(request, response);
+        assertEquals(2, route.getStreamCount());
+        assertEquals(1, route.getChannelCount(), "Watchers of one game share its channel");
+        assertEquals(sent(), spectator.toString(StandardCharsets.UTF_8));
+        assertTrue(sent().contains("\"board\":\"" + new Board(Piece.COLOR.RED).encode() + "\""));
+
+        game.call(() -> {
+            game.makeMove(new Move(new Position(5, 0), new Position(4, 1)));
+            game.endTurn();
+            return null;
+        });
+        assertEquals(sent(), spectator.toString(StandardCharsets.UTF_8));
+        assertTrue(sent().contains("\"board\":\"" + game.getSnapshot().getBoard().encode() + "\""));
+    }
+
+    /**
+     * Tests that a stream joining a game gets its state event before any event already on its way to the others
+     */
+    @Test
+    public void testStateBeforeEvents() throws IOException {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        GetGameEventsRoute route = new GetGameEventsRoute(playerLobby, new Gson(), tasks::add);
+        route.handle(request, response);
+        while (!tasks.isEmpty())
+            tasks.remove().run();
+
+        // the move event is queued for the channel before the spectator joins
+        game.call(() -> {
+            game.makeMove(new Move(new Position(5, 0), new Position(4, 1)));
+            return null;
+        });
+        ByteArrayOutputStream spectator = openAnotherStream();
+        route.handle(request, response);
+        while (!tasks.isEmpty())
+            tasks.remove().run();
+
+        assertTrue(sent().contains("event: move\n"));
+        String watched = spectator.toString(StandardCharsets.UTF_8);
+        assertTrue(watched.startsWith("event: state\n"));
+        assertFalse(watched.contains("event: move\n"), "The state event already holds the move");
+        assertEquals(2, route.getStreamCount());
+    }
+
+    /**
+     * Tests that heartbeats are written by the channel's outbox, not by the timer
+     */
+    @Test
+    public void testHeartbeatInOutbox() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        GetGameEventsRoute route = new GetGameEventsRoute(playerLobby, new Gson(), tasks::add);
+        route.handle(request, response);
+        while (!tasks.isEmpty())
+            tasks.remove().run();
+        String state = sent();
+
+        route.heartbeat();
+        assertEquals(state, sent(), "The timer writes nothing itself");
+        while (!tasks.isEmpty())
+            tasks.remove().run();
+        assertEquals(state + ": ping\n\n", sent());
+    }
+}
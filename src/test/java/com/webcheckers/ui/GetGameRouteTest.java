@@ -1,7 +1,11 @@
 package com.webcheckers.ui;
 
 import com.google.gson.Gson;
+import com.webcheckers.application.GameLobby;
+import com.webcheckers.application.GameSnapshot;
 import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.Board;
+import com.webcheckers.model.Piece;
 import com.webcheckers.model.Player;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,10 +17,14 @@ import spark.Session;
 import spark.TemplateEngine;
 import spark.template.freemarker.FreeMarkerEngine;
 
+import javax.servlet.http.HttpServletResponse;
+
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -219,4 +227,76 @@ public class GetGameRouteTest {
 
     }
 
+    /**
+     * Test that someone who isn't playing a game watches it
+     */
+    @Test
+    public void test_spectator() {
+        when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
+
+        playerLobby.addUsername("Billy");
+        playerLobby.addUsername("Ugandan Knuckles");
+        playerLobby.addUsername("Shaggy");
+        playerLobby.createGame(new Player("Billy"), new Player("Ugandan Knuckles"));
+        when(session.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(new Player("Shaggy"));
+
+        final TemplateEngineTester testHelper = new TemplateEngineTester();
+        when(engine.render(any(ModelAndView.class))).thenAnswer(testHelper.makeAnswer());
+
+        CuT.handle(request, response);
+
+        testHelper.assertViewModelAttribute(ATTRIBUTES.VIEW_MODE_ATR.getAtr(), GetGameRoute.VIEW_MODES.SPECTATOR);
+        testHelper.assertViewModelAttribute(ATTRIBUTES.TITLE_ATR.getAtr(), "Spectating");
+        testHelper.assertViewName(GetGameRoute.VIEW_NAME);
+    }
+
+    /**
+     * Test that a game that hasn't changed is not rendered again
+     */
+    @Test
+    public void test_not_modified() {
+        when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
+
+        playerLobby.addUsername("Billy");
+        playerLobby.addUsername("Ugandan Knuckles");
+        playerLobby.createGame(new Player("Billy"), new Player("Ugandan Knuckles"));
+        Player billy = new Player("Billy");
+        when(session.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(billy);
+        when(request.headers(GameETag.IF_NONE_MATCH_HEADER)).thenReturn(
+                GameETag.of(GetGameRoute.VIEW_MODES.PLAY.name(), playerLobby.getGame(0),
+                        playerLobby.getGame(0).getSnapshot(), billy));
+
+        assertEquals("", CuT.handle(request, response));
+        verify(response).status(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(engine, never()).render(any(ModelAndView.class));
+    }
+
+    /**
+     * Test that the page shows one state of the game even if it changes while the page is rendered
+     */
+    @Test
+    public void test_one_snapshot() {
+        when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
+        Player billy = new Player("Billy");
+        when(session.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(billy);
+
+        GameLobby game = mock(GameLobby.class);
+        when(game.getRedPlayer()).thenReturn(billy);
+        when(game.getWhitePlayer()).thenReturn(new Player("Ugandan Knuckles"));
+        when(game.isPlayerInThisGame(billy)).thenReturn(true);
+        GameSnapshot first = new GameSnapshot(Piece.COLOR.RED, billy, false, null, new Board(), 1);
+        GameSnapshot next = new GameSnapshot(Piece.COLOR.WHITE, new Player("Ugandan Knuckles"), false, null,
+                new Board(), 2);
+        when(game.getSnapshot()).thenReturn(first, next);
+        PlayerLobby lobby = mock(PlayerLobby.class);
+        when(lobby.getGame(0)).thenReturn(game);
+
+        final TemplateEngineTester testHelper = new TemplateEngineTester();
+        when(engine.render(any(ModelAndView.class))).thenAnswer(testHelper.makeAnswer());
+
+        new GetGameRoute(engine, new Gson(), lobby).handle(request, response);
+
+        testHelper.assertViewModelAttribute(ATTRIBUTES.ACTIVE_COLOR_ATR.getAtr(), Piece.COLOR.RED);
+        testHelper.assertViewModelAttribute(GetGameRoute.STATE_VERSION_ATR, 1L);
+    }
 }
@@ -0,0 +1,29 @@
+package com.webcheckers.ui;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import spark.HaltException;
+import spark.Request;
+import spark.Response;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests the functionality of GetSpectatorStopWatchingRoute
+ *
+ * @author Chris Piccoli
+ */
+@Tag("UI-tier")
+public class GetSpectatorStopWatchingRouteTest {
+    /**
+     * Tests that the spectator is sent home
+     */
+    @Test
+    public void testHandle() {
+        Response response = mock(Response.class);
+        assertThrows(HaltException.class, () -> new GetSpectatorStopWatchingRoute().handle(mock(Request.class), response));
+        verify(response).redirect(URLS.HOME_URL.getURL());
+    }
+}
@@ -0,0 +1,59 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.webcheckers.model.ValidationResult;
+import com.webcheckers.util.Message;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests the functionality of JsonTransformer
+ *
+ * @author Chris Piccoli
+ */
+@Tag("UI-tier")
+public class JsonTransformerTest {
+    private final Gson gson = new Gson();
+    private final JsonTransformer transformer = new JsonTransformer(gson);
+
+    /**
+     * Tests that messages are written the way the browser reads them, and read back the same
+     */
+    @Test
+    public void testMessage() {
+        String json = transformer.render(Message.error("You can only move diagonally!"));
+        assertEquals("{\"type\":\"ERROR\",\"text\":\"You can only move diagonally!\"}", json);
+        assertEquals(Message.error("You can only move diagonally!"), gson.fromJson(json, Message.class));
+        assertEquals("{\"type\":\"INFO\",\"text\":\"true\"}", transformer.render(Message.info("true")));
+    }
+
+    /**
+     * Tests that other answers are written as JSON, and that bodies the route has made are left alone
+     */
+    @Test
+    public void testOtherAnswers() {
+        JsonObject delta = new JsonObject();
+        delta.addProperty("version", 3);
+        assertEquals("{\"version\":3}", transformer.render(delta));
+        assertEquals("", transformer.render(""));
+        assertNull(transformer.render(null));
+    }
+
+    /**
+     * Tests that the validator's answers are sent as the JSON made for them once
+     */
+    @Test
+    public void testValidationResult() {
+        for (ValidationResult result : ValidationResult.values()) {
+            assertSame(result.getJson(), transformer.render(result.getMessage()));
+            assertEquals(result.getMessage(), gson.fromJson(result.getJson(), Message.class));
+        }
+        assertSame(ValidationResult.VALID_TURN, ValidationResult.of(ValidationResult.VALID_TURN.getMessage()));
+        assertNull(ValidationResult.of(Message.info("Valid Turn")), "Only the outcomes' own messages are cached");
+    }
+}
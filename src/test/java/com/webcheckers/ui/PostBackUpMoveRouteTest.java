@@ -1,17 +1,23 @@
 package com.webcheckers.ui;
 
-import com.google.gson.JsonObject;
 import com.webcheckers.application.GameLobby;
 import com.webcheckers.application.PlayerLobby;
 import com.webcheckers.model.MoveValidator;
 import com.webcheckers.model.Player;
+import com.webcheckers.model.ValidationResult;
+import com.webcheckers.util.Message;
 import org.junit.jupiter.api.Test;
 import spark.Request;
 import spark.Response;
 import spark.Session;
 
+import java.util.function.Supplier;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -31,7 +37,7 @@ public class PostBackUpMoveRouteTest {
         PlayerLobby playerLobby = mock(PlayerLobby.class);
         MoveValidator validator = mock(MoveValidator.class);
 
-        when(mockSess.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(new Player("Billy Brown"));
+        when(mockSess.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(new Player("Fred"));
 
         when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
         when(request.session()).thenReturn(mockSess);
@@ -40,11 +46,11 @@ public class PostBackUpMoveRouteTest {
 
         when(playerLobby.getGame(0)).thenReturn(game);
 
-        when(validator.undoMove(game)).thenReturn(new JsonObject());
+        when(validator.undoMove(game)).thenReturn(ValidationResult.BACKED_UP);
 
         PostBackUpMoveRoute route = new PostBackUpMoveRoute(playerLobby);
 
-        assertEquals(new JsonObject(), route.handle(request, response));
+        assertEquals(ValidationResult.BACKED_UP.getMessage(), route.handle(request, response));
 
     }
 
@@ -64,17 +70,41 @@ public class PostBackUpMoveRouteTest {
         when(request.session()).thenReturn(mockSess);
 
         GameLobby game = mock(GameLobby.class);
+
+        // run the game\'s mailbox actions straight away
+
+        when(game.call(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
         when(game.isGameDone()).thenReturn(true);
         when(playerLobby.getGame(0)).thenReturn(game);
 
         PostBackUpMoveRoute route = new PostBackUpMoveRoute(playerLobby);
 
-        JsonObject handleResponse = (JsonObject) route.handle(request, response);
+        Object handleResponse = route.handle(request, response);
 
-        JsonObject jsonObject = new JsonObject();
-        jsonObject.addProperty("type", "ERROR");
-        jsonObject.addProperty("text", " You can't backup a move because your opponent resigned. Click my home to enter a game.");
+        Message jsonObject = Message.error(" You can't backup a move because your opponent resigned. Click my home to enter a game.");
 
         assertEquals(jsonObject, handleResponse);
     }
+
+    /**
+     * Tests that a backup by anyone but the active player is refused
+     */
+    @Test
+    public void testNotYourTurn() {
+        Request request = mock(Request.class);
+        Session mockSess = mock(Session.class);
+        PlayerLobby playerLobby = mock(PlayerLobby.class);
+        MoveValidator validator = mock(MoveValidator.class);
+
+        when(mockSess.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(new Player("Scooby"));
+        when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
+        when(request.session()).thenReturn(mockSess);
+        GameLobby game = new GameLobby(0, new Player("Fred"), new Player("Scooby"), validator);
+        when(playerLobby.getGame(0)).thenReturn(game);
+        when(validator.undoMove(game)).thenReturn(ValidationResult.BACKED_UP);
+
+        assertEquals(PostValidateMoveRoute.NOT_YOUR_TURN, new PostBackUpMoveRoute(playerLobby).handle(request,
+                mock(Response.class)));
+        verify(validator, never()).undoMove(game);
+    }
 }
@@ -1,17 +1,36 @@
 package com.webcheckers.ui;
 
-import com.google.gson.JsonObject;
+import com.google.gson.Gson;
 import com.webcheckers.application.GameLobby;
+import com.webcheckers.application.GameSnapshot;
 import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.Board;
 import com.webcheckers.model.MoveValidator;
+import com.webcheckers.model.Piece;
 import com.webcheckers.model.Player;
+import com.webcheckers.model.ValidationResult;
+import com.webcheckers.util.Message;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import spark.Request;
 import spark.Response;
 import spark.Session;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -19,6 +38,9 @@ import static org.mockito.Mockito.when;
  * @author Chris Piccoli
  */
 public class PostCheckTurnRouteTest {
+    private AsyncContext async;
+    private ByteArrayOutputStream sent;
+
     /**
      * tests the handle function
      */
@@ -39,14 +61,12 @@ public class PostCheckTurnRouteTest {
 
         when(playerLobby.getGame(0)).thenReturn(game);
 
-        when(validator.undoMove(game)).thenReturn(new JsonObject());
+        when(validator.undoMove(game)).thenReturn(ValidationResult.BACKED_UP);
 
         PostCheckTurnRoute route = new PostCheckTurnRoute(playerLobby);
 
 
-        JsonObject expected = new JsonObject();
-        expected.addProperty("type", "INFO");
-        expected.addProperty("text", "true");
+        Message expected = Message.info("true");
 
         assertEquals(expected, route.handle(request, response));
     }
@@ -68,13 +88,138 @@ public class PostCheckTurnRouteTest {
         when(mockSess.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(new Player("Billy Brown"));
         when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
 
-        JsonObject expected = new JsonObject();
-        expected.addProperty("type", "INFO");
-        expected.addProperty("text", "true");
+        Message expected = Message.info("true");
+
+        when(game.getSnapshot()).thenReturn(new GameSnapshot(Piece.COLOR.RED, new Player("Someone Else"), true,
+                "Billy Brown has resigned.", new Board(), 1));
+        when(playerLobby.getGame(0)).thenReturn(game);
+
+        assertEquals(expected, new PostCheckTurnRoute(playerLobby).handle(request, response));
+    }
+
+    /**
+     * Makes a long-poll request from Scooby, who waits while it is Fred's turn
+     */
+    private Request longPoll(GameLobby game, PlayerLobby playerLobby) {
+        Request request = mock(Request.class);
+        Session mockSess = mock(Session.class);
+        when(request.session()).thenReturn(mockSess);
+        when(mockSess.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(new Player("Scooby"));
+        when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
+        when(request.queryParams(PostCheckTurnRoute.LONG_POLL_PARAM)).thenReturn("true");
+        when(playerLobby.getGame(0)).thenReturn(game);
+        HttpServletRequest raw = mock(HttpServletRequest.class);
+        when(raw.startAsync()).thenReturn(async);
+        when(request.raw()).thenReturn(raw);
+        return request;
+    }
+
+    /**
+     * Makes a response whose body is kept in sent
+     */
+    private Response heldResponse() throws IOException {
+        Response response = mock(Response.class);
+        HttpServletResponse raw = mock(HttpServletResponse.class);
+        sent = new ByteArrayOutputStream();
+        when(raw.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                sent.write(b);
+            }
+        });
+        when(response.raw()).thenReturn(raw);
+        return response;
+    }
+
+    /**
+     * Tests that a long poll is held without its thread and answered as soon as the opponent ends their turn
+     */
+    @Test
+    public void testLongPollWakesOnEndTurn() throws Exception {
+        async = mock(AsyncContext.class);
+        PlayerLobby playerLobby = mock(PlayerLobby.class);
+        GameLobby game = new GameLobby(0, new Player("Fred"), new Player("Scooby"), new MoveValidator());
+        Request request = longPoll(game, playerLobby);
+        Response response = heldResponse();
+
+        PostCheckTurnRoute route = new PostCheckTurnRoute(playerLobby, new JsonTransformer(new Gson()),
+                TimeUnit.SECONDS.toMillis(10));
+        assertEquals("", route.handle(request, response), "The route returns while the request is held");
+        verify(async).setTimeout(TimeUnit.SECONDS.toMillis(10));
+        verify(response.raw()).flushBuffer();
+        verify(async, never()).complete();
+
+        game.call(() -> {
+            game.endTurn();
+            return null;
+        });
+
+        verify(async).complete();
+        assertEquals("{\"type\":\"INFO\",\"text\":\"true\"}", sent.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests that a long poll gives up after its timeout
+     */
+    @Test
+    public void testLongPollTimeout() throws Exception {
+        async = mock(AsyncContext.class);
+        PlayerLobby playerLobby = mock(PlayerLobby.class);
+        GameLobby game = new GameLobby(0, new Player("Fred"), new Player("Scooby"), new MoveValidator());
+        Response response = heldResponse();
+
+        new PostCheckTurnRoute(playerLobby, new JsonTransformer(new Gson()), 50)
+                .handle(longPoll(game, playerLobby), response);
+        ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(async).addListener(listener.capture());
+        listener.getValue().onTimeout(null);
+
+        verify(async).complete();
+        assertEquals("{\"type\":\"INFO\",\"text\":\"false\"}", sent.toString(StandardCharsets.UTF_8));
+
+        // the answered poll no longer listens to the game
+        game.call(() -> {
+            game.endTurn();
+            return null;
+        });
+        verify(async).complete();
+    }
 
-        when(game.isGameDone()).thenReturn(true);
+    /**
+     * Tests that an answer the browser already has is not sent again
+     */
+    @Test
+    public void testNotModified() {
+        Request request = mock(Request.class);
+        Response response = mock(Response.class);
+        Session mockSess = mock(Session.class);
+        PlayerLobby playerLobby = mock(PlayerLobby.class);
+        GameLobby game = new GameLobby(0, new Player("Fred"), new Player("Scooby"), new MoveValidator());
+
+        when(request.session()).thenReturn(mockSess);
+        when(mockSess.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(new Player("Scooby"));
+        when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
         when(playerLobby.getGame(0)).thenReturn(game);
+        String eTag = GameETag.of("checkTurn", game, game.getSnapshot(), new Player("Scooby"));
+
+        when(request.headers(GameETag.IF_NONE_MATCH_HEADER)).thenReturn(eTag);
+        assertEquals("", new PostCheckTurnRoute(playerLobby).handle(request, response));
+        verify(response).status(HttpServletResponse.SC_NOT_MODIFIED);
 
+        game.call(() -> {
+            game.endTurn();
+            return null;
+        });
+        Message expected = Message.info("true");
         assertEquals(expected, new PostCheckTurnRoute(playerLobby).handle(request, response));
     }
 }
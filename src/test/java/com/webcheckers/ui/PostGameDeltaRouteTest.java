@@ -0,0 +1,107 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.webcheckers.application.GameLobby;
+import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.Board;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.MoveValidator;
+import com.webcheckers.model.Player;
+import com.webcheckers.model.Position;
+import com.webcheckers.util.Message;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import spark.Request;
+import spark.Session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the functionality of PostGameDeltaRoute
+ *
+ * @author Chris Piccoli
+ */
+@Tag("UI-tier")
+public class PostGameDeltaRouteTest {
+    private Request request;
+    private Session session;
+    private PlayerLobby playerLobby;
+    private GameLobby game;
+    private long startVersion;
+    private final Gson gson = new Gson();
+    private final JsonTransformer json = new JsonTransformer(gson);
+
+    @BeforeEach
+    public void setup() {
+        request = mock(Request.class);
+        session = mock(Session.class);
+        playerLobby = mock(PlayerLobby.class);
+        game = new GameLobby(0, new Player("Fred"), new Player("Scooby"), new MoveValidator());
+        startVersion = game.getSnapshot().getVersion();
+        when(request.session()).thenReturn(session);
+        when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
+        when(playerLobby.getGame(0)).thenReturn(game);
+
+        game.call(() -> {
+            game.makeMove(new Move(new Position(5, 0), new Position(4, 1)));
+            game.endTurn();
+            return null;
+        });
+    }
+
+    private JsonObject delta(String player, long version) {
+        when(session.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(new Player(player));
+        when(request.queryParams(PostGameDeltaRoute.ACTION_DATA_PARAM)).thenReturn(String.valueOf(version));
+        return answer();
+    }
+
+    /**
+     * @return the route's answer, as the browser reads it
+     */
+    private JsonObject answer() {
+        return gson.fromJson(json.render(new PostGameDeltaRoute(playerLobby).handle(request, null)), JsonObject.class);
+    }
+
+    /**
+     * Tests that the page is sent the board and the squares that changed since the version it has
+     */
+    @Test
+    public void testChanges() {
+        JsonObject delta = delta("Fred", startVersion);
+        assertEquals("INFO", delta.get("type").getAsString());
+        assertEquals(game.getSnapshot().getVersion(), delta.get("version").getAsLong());
+        assertEquals("WHITE", delta.get("activeColor").getAsString());
+        assertEquals(game.getSnapshot().getBoard(), Board.decode(delta.get("board").getAsString()));
+        assertEquals((1 << Board.square(5, 0)) | (1 << Board.square(4, 1)), delta.get("changed").getAsInt());
+        assertEquals(12, delta.get("redPieces").getAsInt());
+        assertEquals(12, delta.get("whitePieces").getAsInt());
+
+        assertEquals(0, delta("Scooby", game.getSnapshot().getVersion()).get("changed").getAsInt());
+    }
+
+    /**
+     * Tests that a version that isn't known has every square changed
+     */
+    @Test
+    public void testUnknownVersion() {
+        assertEquals(-1, delta("Fred", 999).get("changed").getAsInt());
+    }
+
+    /**
+     * Tests that bad requests get an error
+     */
+    @Test
+    public void testRefused() {
+        when(session.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(null);
+        assertEquals(Message.error("You must be signed in to view a game."),
+                new PostGameDeltaRoute(playerLobby).handle(request, null));
+        assertEquals("ERROR", answer().get("type").getAsString());
+
+        when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("7");
+        assertEquals("ERROR", delta("Fred", startVersion).get("type").getAsString());
+    }
+}
@@ -3,6 +3,7 @@ package com.webcheckers.ui;
 import com.google.gson.JsonObject;
 import com.webcheckers.application.GameLobby;
 import com.webcheckers.application.GameReplayManager;
+import com.webcheckers.model.Board;
 import com.webcheckers.model.Move;
 import com.webcheckers.model.MoveValidator;
 import com.webcheckers.model.Player;
@@ -13,7 +14,9 @@ import spark.Response;
 import spark.Session;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -83,6 +86,10 @@ public class PostReplayNextRouteTest {
 
         assertEquals(handleResponse.get("type").getAsString(), "INFO", "Incorrect type Json Returned");
         assertEquals(handleResponse.get("text").getAsString(), "true", "Incorrect type Json Returned");
+        assertEquals(GameReplayManager.getReplay(0, new Player("Billy Brown")).getBoard(),
+                Board.decode(handleResponse.get("board").getAsString()), "The board is sent with the move");
+        assertFalse(handleResponse.get("hasNext").getAsBoolean());
+        assertTrue(handleResponse.get("hasPrevious").getAsBoolean());
 
         GameReplayManager.endReplay(0, new Player("Billy Brown"));
 
@@ -1,17 +1,20 @@
 package com.webcheckers.ui;
 
-import com.google.gson.JsonObject;
 import com.webcheckers.application.GameLobby;
 import com.webcheckers.application.PlayerLobby;
 import com.webcheckers.model.MoveValidator;
 import com.webcheckers.model.Player;
+import com.webcheckers.util.Message;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import spark.Request;
 import spark.Response;
 import spark.Session;
 
+import java.util.function.Supplier;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -47,9 +50,7 @@ public class PostResignGameRouteTest {
      */
     @Test
     public void testResigned() {
-        JsonObject jsonObject = new JsonObject();
-        jsonObject.addProperty("type", "INFO");
-        jsonObject.addProperty("text", "false");
+        Message jsonObject = Message.info("false");
         GameLobby game = new GameLobby(0, new Player("Billy Eilish"), new Player("Joke here"), moveValidator);
         when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
         when(playerLobby.getGame(0)).thenReturn(game);
@@ -64,10 +65,10 @@ public class PostResignGameRouteTest {
      */
     @Test
     public void testOpponentResigned() {
-        JsonObject jsonObject = new JsonObject();
-        jsonObject.addProperty("type", "ERROR");
-        jsonObject.addProperty("text", "This game is already over, because your opponent resigned.Click my home to enter a game. Click my home to enter a game.");
+        Message jsonObject = Message.error("This game is already over, because your opponent resigned.Click my home to enter a game. Click my home to enter a game.");
         GameLobby game = mock(GameLobby.class);
+        // run the game\'s mailbox actions straight away
+        when(game.call(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
         when(game.isGameDone()).thenReturn(true);
         when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
         when(playerLobby.getGame(0)).thenReturn(game);
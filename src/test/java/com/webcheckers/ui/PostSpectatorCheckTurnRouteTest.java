@@ -0,0 +1,159 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.webcheckers.application.GameLobby;
+import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.MoveValidator;
+import com.webcheckers.model.Player;
+import com.webcheckers.util.Message;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import spark.Request;
+import spark.Response;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the functionality of PostSpectatorCheckTurnRoute
+ *
+ * @author Chris Piccoli
+ */
+@Tag("UI-tier")
+public class PostSpectatorCheckTurnRouteTest {
+    private Request request;
+    private PlayerLobby playerLobby;
+    private GameLobby game;
+
+    private PostSpectatorCheckTurnRoute route;
+
+    @BeforeEach
+    public void setup() {
+        request = mock(Request.class);
+        playerLobby = mock(PlayerLobby.class);
+        game = new GameLobby(0, new Player("Fred"), new Player("Scooby"), new MoveValidator());
+        when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
+        when(playerLobby.getGame(0)).thenReturn(game);
+        route = new PostSpectatorCheckTurnRoute(playerLobby, new JsonTransformer(new Gson()), 50);
+    }
+
+    /**
+     * Holds a request watching red's turn
+     *
+     * @param sent where the answer is written
+     * @return the request's async context
+     */
+    private AsyncContext hold(ByteArrayOutputStream sent) throws IOException {
+        AsyncContext async = mock(AsyncContext.class);
+        HttpServletRequest rawRequest = mock(HttpServletRequest.class);
+        when(rawRequest.startAsync()).thenReturn(async);
+        when(request.raw()).thenReturn(rawRequest);
+        Response response = mock(Response.class);
+        HttpServletResponse raw = mock(HttpServletResponse.class);
+        when(raw.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                sent.write(b);
+            }
+        });
+        when(response.raw()).thenReturn(raw);
+        when(request.queryParams(PostSpectatorCheckTurnRoute.ACTION_DATA_PARAM)).thenReturn("RED");
+        assertEquals("", route.handle(request, response), "The route returns while the request is held");
+        verify(raw).flushBuffer();
+        return async;
+    }
+
+    /**
+     * Tests that the spectator is told straight away when the turn on their page has passed
+     */
+    @Test
+    public void testTurnPassed() {
+        when(request.queryParams(PostSpectatorCheckTurnRoute.ACTION_DATA_PARAM)).thenReturn("WHITE");
+        assertEquals(Message.info("true"), route.handle(request, null));
+    }
+
+    /**
+     * Tests that every held spectator is answered when the turn passes, and none holds a thread meanwhile
+     */
+    @Test
+    public void testHeldSpectators() throws IOException {
+        ByteArrayOutputStream[] sent = new ByteArrayOutputStream[3];
+        AsyncContext[] held = new AsyncContext[sent.length];
+        for (int i = 0; i < sent.length; i++) {
+            sent[i] = new ByteArrayOutputStream();
+            held[i] = hold(sent[i]);
+            verify(held[i], never()).complete();
+        }
+
+        game.call(() -> {
+            game.endTurn();
+            return null;
+        });
+        for (int i = 0; i < sent.length; i++) {
+            verify(held[i]).complete();
+            assertEquals("{\"type\":\"INFO\",\"text\":\"true\"}", sent[i].toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Tests that a held spectator is told the turn hasn't passed once the timeout elapses
+     */
+    @Test
+    public void testTimeout() throws IOException {
+        ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        AsyncContext async = hold(sent);
+        verify(async).setTimeout(50);
+        ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(async).addListener(listener.capture());
+
+        listener.getValue().onTimeout(null);
+        verify(async).complete();
+        assertEquals("{\"type\":\"INFO\",\"text\":\"false\"}", sent.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests that the spectator is told when the game is over
+     */
+    @Test
+    public void testGameOver() {
+        game.call(() -> {
+            game.markGameAsDone("Fred has resigned.");
+            return null;
+        });
+        assertEquals(Message.info("true"), route.handle(request, null));
+    }
+
+    /**
+     * Tests that an unknown game is an error
+     */
+    @Test
+    public void testNoGame() {
+        when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("7");
+        Message reply = (Message) route.handle(request, null);
+        assertEquals(Message.Type.ERROR, reply.getType());
+    }
+}
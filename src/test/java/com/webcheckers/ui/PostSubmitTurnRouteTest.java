@@ -1,17 +1,22 @@
 package com.webcheckers.ui;
 
-import com.google.gson.JsonObject;
 import com.webcheckers.application.GameLobby;
 import com.webcheckers.application.PlayerLobby;
 import com.webcheckers.model.MoveValidator;
+import com.webcheckers.model.Piece;
 import com.webcheckers.model.Player;
+import com.webcheckers.model.ValidationResult;
+import com.webcheckers.util.Message;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import spark.Request;
 import spark.Response;
 import spark.Session;
 
+import java.util.function.Supplier;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -25,6 +30,7 @@ public class PostSubmitTurnRouteTest {
     private Request request;
     private Response response;
     private PlayerLobby playerLobby;
+    private Session session;
     private MoveValidator moveValidator = mock(MoveValidator.class);
 
     /**
@@ -33,8 +39,9 @@ public class PostSubmitTurnRouteTest {
     @BeforeEach
     public void setUp() {
         request = mock(Request.class);
-        Session session = mock(Session.class);
+        session = mock(Session.class);
         when(request.session()).thenReturn(session);
+        when(session.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(new Player("Billy Eilish"));
         response = mock(Response.class);
         playerLobby = mock(PlayerLobby.class);
 
@@ -45,14 +52,13 @@ public class PostSubmitTurnRouteTest {
      */
     @Test
     public void testHandMoveTrue() {
-        JsonObject jsonObject = new JsonObject();
-        jsonObject.addProperty("type", "INFO");
+        ValidationResult jsonObject = ValidationResult.VALID_TURN;
         GameLobby game = new GameLobby(0, new Player("Billy Eilish"), new Player("Joke here"), moveValidator);
         when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
         when(playerLobby.getGame(0)).thenReturn(game);
         when(moveValidator.ValidateTurn(game.getRedBoard(), game.getWhiteBoard(), game.getActiveColor())).thenReturn(jsonObject);
 
-        assertEquals(jsonObject, new PostSubmitTurnRoute(playerLobby).handle(request, response));
+        assertEquals(jsonObject.getMessage(), new PostSubmitTurnRoute(playerLobby).handle(request, response));
     }
 
     /**
@@ -60,14 +66,13 @@ public class PostSubmitTurnRouteTest {
      */
     @Test
     public void testHandMoveFalse() {
-        JsonObject jsonObject = new JsonObject();
-        jsonObject.addProperty("type", "ERROR");
+        ValidationResult jsonObject = ValidationResult.CAPTURE_AVAILABLE;
         GameLobby game = new GameLobby(0, new Player("Billy Eilish"), new Player("Joke here"), moveValidator);
         when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
         when(playerLobby.getGame(0)).thenReturn(game);
         when(moveValidator.ValidateTurn(game.getRedBoard(), game.getWhiteBoard(), game.getActiveColor())).thenReturn(jsonObject);
 
-        assertEquals(jsonObject, new PostSubmitTurnRoute(playerLobby).handle(request, response));
+        assertEquals(jsonObject.getMessage(), new PostSubmitTurnRoute(playerLobby).handle(request, response));
     }
 
     /**
@@ -75,15 +80,30 @@ public class PostSubmitTurnRouteTest {
      */
     @Test
     public void testGameOver() {
-        JsonObject jsonObject = new JsonObject();
-        jsonObject.addProperty("type", "INFO");
-        jsonObject.addProperty("text", "The game is already over.");
+        Message jsonObject = Message.info("The game is already over.");
         GameLobby game = mock(GameLobby.class);
+        // run the game\'s mailbox actions straight away
+        when(game.call(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
         when(game.isGameDone()).thenReturn(true);
         when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
         when(playerLobby.getGame(0)).thenReturn(game);
-        when(moveValidator.ValidateTurn(game.getRedBoard(), game.getWhiteBoard(), game.getActiveColor())).thenReturn(jsonObject);
+        when(moveValidator.ValidateTurn(game.getRedBoard(), game.getWhiteBoard(), game.getActiveColor())).thenReturn(ValidationResult.VALID_TURN);
 
         assertEquals(jsonObject, new PostSubmitTurnRoute(playerLobby).handle(request, response));
     }
+
+    /**
+     * Tests that a turn submitted by anyone but the active player is refused
+     */
+    @Test
+    public void testNotYourTurn() {
+        GameLobby game = new GameLobby(0, new Player("Billy Eilish"), new Player("Joke here"), moveValidator);
+        when(session.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(new Player("Joke here"));
+        when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
+        when(playerLobby.getGame(0)).thenReturn(game);
+        when(moveValidator.ValidateTurn(game.getRedBoard(), game.getWhiteBoard(), game.getActiveColor())).thenReturn(ValidationResult.VALID_TURN);
+
+        assertEquals(PostValidateMoveRoute.NOT_YOUR_TURN, new PostSubmitTurnRoute(playerLobby).handle(request, response));
+        assertEquals(Piece.COLOR.RED, game.getSnapshot().getActiveColor());
+    }
 }
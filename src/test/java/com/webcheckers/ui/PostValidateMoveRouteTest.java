@@ -1,19 +1,27 @@
 package com.webcheckers.ui;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import com.webcheckers.application.GameLobby;
 import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.Board;
 import com.webcheckers.model.BoardView;
 import com.webcheckers.model.Move;
 import com.webcheckers.model.MoveValidator;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Player;
 import com.webcheckers.model.Position;
+import com.webcheckers.model.ValidationResult;
+import com.webcheckers.util.Message;
 import org.junit.jupiter.api.Test;
 import spark.Request;
 import spark.Response;
+import spark.Session;
+
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -41,20 +49,26 @@ public class PostValidateMoveRouteTest {
 
 
         when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("21");
+        Session session = mock(Session.class);
+        when(request.session()).thenReturn(session);
+        when(session.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(new Player("Fred"));
 
         PlayerLobby lobby = mock(PlayerLobby.class);
 
         GameLobby game = mock(GameLobby.class);
 
+        // run the game\'s mailbox actions straight away
+
+        when(game.call(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+
         when(game.isGameDone()).thenReturn(false);
+        when(game.getActivePlayer()).thenReturn(new Player("Fred"));
         when(request.queryParams("actionData")).thenReturn(gson.toJson(move));
 
         when(game.getActiveBoard()).thenReturn(mock(BoardView.class));
         MoveValidator validator = mock(MoveValidator.class);
 
-        JsonObject json = new JsonObject();
-        json.addProperty("type", "INFO");
-        json.addProperty("text", "true");
+        ValidationResult json = ValidationResult.VALID_MOVE;
 
         when(validator.ValidateMove(move, game.getActiveColor(), game.getActiveBoard())).thenReturn(json);
 
@@ -63,7 +77,7 @@ public class PostValidateMoveRouteTest {
         when(lobby.getGame(21)).thenReturn(game);
 
 
-        assertEquals(json, new PostValidateMoveRoute(lobby).handle(request, response));
+        assertEquals(json.getMessage(), new PostValidateMoveRoute(lobby).handle(request, response));
     }
 
     /**
@@ -79,20 +93,26 @@ public class PostValidateMoveRouteTest {
 
 
         when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("21");
+        Session session = mock(Session.class);
+        when(request.session()).thenReturn(session);
+        when(session.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(new Player("Fred"));
 
         PlayerLobby lobby = mock(PlayerLobby.class);
 
         GameLobby game = mock(GameLobby.class);
 
+        // run the game\'s mailbox actions straight away
+
+        when(game.call(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+
         when(game.isGameDone()).thenReturn(false);
+        when(game.getActivePlayer()).thenReturn(new Player("Fred"));
         when(request.queryParams("actionData")).thenReturn(gson.toJson(move));
 
         when(game.getActiveBoard()).thenReturn(mock(BoardView.class));
         MoveValidator validator = mock(MoveValidator.class);
 
-        JsonObject json = new JsonObject();
-        json.addProperty("type", "INFO");
-        json.addProperty("text", "false");
+        ValidationResult json = ValidationResult.CAPTURE_REQUIRED;
 
         when(validator.ValidateMove(move, game.getActiveColor(), game.getActiveBoard())).thenReturn(json);
 
@@ -101,7 +121,7 @@ public class PostValidateMoveRouteTest {
         when(lobby.getGame(21)).thenReturn(game);
 
 
-        assertEquals(json, new PostValidateMoveRoute(lobby).handle(request, response));
+        assertEquals(json.getMessage(), new PostValidateMoveRoute(lobby).handle(request, response));
     }
 
     /**
@@ -117,22 +137,27 @@ public class PostValidateMoveRouteTest {
 
 
         when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("21");
+        Session session = mock(Session.class);
+        when(request.session()).thenReturn(session);
+        when(session.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(new Player("Fred"));
 
         PlayerLobby lobby = mock(PlayerLobby.class);
 
         GameLobby game = mock(GameLobby.class);
 
+        // run the game\'s mailbox actions straight away
+
+        when(game.call(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+
         when(game.isGameDone()).thenReturn(true);
         when(request.queryParams("actionData")).thenReturn(gson.toJson(move));
 
         when(game.getActiveBoard()).thenReturn(mock(BoardView.class));
         MoveValidator validator = mock(MoveValidator.class);
 
-        JsonObject json = new JsonObject();
-        json.addProperty("type", "ERROR");
-        json.addProperty("text", " You can't make a move because your opponent already resigned. Click my home to enter a game.");
+        Message json = Message.error(" You can't make a move because your opponent already resigned. Click my home to enter a game.");
 
-        when(validator.ValidateMove(move, game.getActiveColor(), game.getActiveBoard())).thenReturn(json);
+        when(validator.ValidateMove(move, game.getActiveColor(), game.getActiveBoard())).thenReturn(ValidationResult.VALID_MOVE);
 
         when(game.getValidator()).thenReturn(validator);
 
@@ -141,4 +166,24 @@ public class PostValidateMoveRouteTest {
 
         assertEquals(json, new PostValidateMoveRoute(lobby).handle(request, response));
     }
+
+    /**
+     * Tests that a move from anyone but the active player is refused and leaves the board alone
+     */
+    @Test
+    public void NotYourTurnTest() {
+        Request request = mock(Request.class);
+        Session session = mock(Session.class);
+        when(request.session()).thenReturn(session);
+        when(session.attribute(ATTRIBUTES.CURRENT_USER_ATR.getAtr())).thenReturn(new Player("Scooby"));
+        when(request.queryParams(ATTRIBUTES.GAME_ID_ATR.getAtr())).thenReturn("0");
+        when(request.queryParams("actionData")).thenReturn(gson.toJson(new Move(new Position(5, 0),
+                new Position(4, 1))));
+        PlayerLobby lobby = mock(PlayerLobby.class);
+        GameLobby game = new GameLobby(0, new Player("Fred"), new Player("Scooby"), new MoveValidator());
+        when(lobby.getGame(0)).thenReturn(game);
+
+        assertEquals(PostValidateMoveRoute.NOT_YOUR_TURN, new PostValidateMoveRoute(lobby).handle(request, null));
+        assertEquals(new Board(Piece.COLOR.RED), game.getSnapshot().getBoard());
+    }
 }
@@ -0,0 +1,95 @@
+package com.webcheckers.ui;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import spark.ModelAndView;
+import spark.Response;
+import spark.TemplateEngine;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the functionality of WebCheckersTemplateEngine
+ *
+ * @author Chris Piccoli
+ */
+@Tag("UI-tier")
+public class WebCheckersTemplateEngineTest {
+    private WebCheckersTemplateEngine engine;
+    private ModelAndView signIn;
+
+    @BeforeEach
+    public void setup() {
+        engine = new WebCheckersTemplateEngine();
+        Map<String, Object> vm = new HashMap<>();
+        vm.put(ATTRIBUTES.TITLE_ATR.getAtr(), "Sign In");
+        signIn = new ModelAndView(vm, VIEWS.SIGNIN_VIEW.getView());
+    }
+
+    /**
+     * Tests that a page renders into a String, the same way every time
+     */
+    @Test
+    public void testRender() {
+        String page = engine.render(signIn);
+        assertTrue(page.contains("<title>Web Checkers | Sign In</title>"));
+        assertEquals(page, engine.render(signIn));
+    }
+
+    /**
+     * Tests that a page written to the response is the same page the String holds
+     */
+    @Test
+    public void testRenderToResponse() throws IOException {
+        ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        HttpServletResponse raw = mock(HttpServletResponse.class);
+        when(raw.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                sent.write(b);
+            }
+        });
+        Response response = mock(Response.class);
+        when(response.raw()).thenReturn(raw);
+
+        assertEquals("", WebCheckersTemplateEngine.render(engine, signIn, response));
+        verify(response).type("text/html;charset=utf-8");
+        assertEquals(engine.render(signIn), sent.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests that other engines still render into a String, and that an unknown page is an error
+     */
+    @Test
+    public void testOtherEngines() {
+        TemplateEngine other = mock(TemplateEngine.class);
+        when(other.render(signIn)).thenReturn("page");
+        assertEquals("page", WebCheckersTemplateEngine.render(other, signIn, mock(Response.class)));
+
+        assertThrows(IllegalArgumentException.class, () -> engine.render(new ModelAndView(new HashMap<>(), "nope.ftl")));
+    }
+}
@@ -0,0 +1,55 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.Board;
+import com.webcheckers.model.Piece;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the move generator against the perft reference counts, to a depth that keeps the test fast
+ *
+ * @author Chris Piccoli
+ */
+@Tag("Model-tier")
+public class PerftTest {
+    private static final int DEPTH = 7;
+
+    private final Perft perft = new Perft(DEPTH);
+
+    /**
+     * Tests the counts from the starting position
+     */
+    @Test
+    public void testStart() {
+        Board start = new Board(Piece.COLOR.RED);
+        for (int depth = 1; depth <= DEPTH; depth++) {
+            assertEquals(Perft.START_COUNTS[depth - 1], perft.count(start, Piece.COLOR.RED, depth), "depth " + depth);
+        }
+        assertEquals(new Board(Piece.COLOR.RED), start, "Counting does not change the board");
+    }
+
+    /**
+     * Tests the counts from the canned positions
+     */
+    @Test
+    public void testCases() {
+        for (Perft.Case c : Perft.CASES) {
+            for (int depth = 1; depth <= DEPTH; depth++) {
+                assertEquals(c.counts[depth - 1], perft.count(c.board, c.color, depth), c.name + " depth " + depth);
+            }
+        }
+    }
+
+    /**
+     * Tests that depths outside the buffers are rejected
+     */
+    @Test
+    public void testDepth() {
+        Board start = new Board(Piece.COLOR.RED);
+        assertThrows(IllegalArgumentException.class, () -> perft.count(start, Piece.COLOR.RED, 0));
+        assertThrows(IllegalArgumentException.class, () -> perft.count(start, Piece.COLOR.RED, DEPTH + 1));
+    }
+}